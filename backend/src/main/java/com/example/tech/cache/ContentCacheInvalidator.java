@@ -0,0 +1,142 @@
+package com.example.tech.cache;
+
+import com.example.tech.config.CacheConfig;
+import com.example.tech.dto.ArticleDTO;
+import com.example.tech.dto.ArticleListItemDto;
+import com.example.tech.dto.ProcedureDTO;
+import com.example.tech.dto.SyntaxDTO;
+import com.example.tech.dto.response.CursorPageResponse;
+import com.example.tech.enums.TargetType;
+import com.example.tech.event.ContentChangedEvent;
+import com.example.tech.service.ContentBundleService;
+import com.example.tech.service.PrecompressedBodyService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 書き込み後のキャッシュ破棄。対象種別のキャッシュだけを触り、他の種別には手を出さない。
+ * - 単体: その id のエントリ（と gzip 済みの応答・ページ用バンドル）だけ捨てる
+ * - 一覧: 並び/件数が変わる変更なら全ページ、中身だけの変更ならその id を含むページだけ捨てる
+ * コミット後に走るので、破棄と再読込の間に古い行を読み直して詰め直すことはない。
+ * 明示破棄の件数は content.cache.invalidations として出す（Caffeine の evictions は容量/期限切れのみ数える）。
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentCacheInvalidator implements MeterBinder {
+
+    private final CacheManager cacheManager;
+    private final Map<TargetType, LongAdder> itemInvalidations = counters();
+    private final Map<TargetType, LongAdder> listInvalidations = counters();
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        Cache item = cacheManager.getCache(itemCache(event.type()));
+        if (item != null && item.evictIfPresent(event.id())) {
+            itemInvalidations.get(event.type()).increment();
+        }
+        Cache compressed = cacheManager.getCache(CacheConfig.COMPRESSED_BODY);
+        if (compressed != null) {
+            compressed.evict(PrecompressedBodyService.key(event.type(), event.id(), false));
+            compressed.evict(PrecompressedBodyService.key(event.type(), event.id(), true));
+        }
+        Cache bundle = cacheManager.getCache(CacheConfig.CONTENT_BUNDLE);
+        if (bundle != null) bundle.evict(ContentBundleService.key(event.type(), event.id()));
+
+        Cache list = cacheManager.getCache(listCache(event.type()));
+        if (list == null) return;
+        if (event.listingChanged()) {
+            list.invalidate();
+            listInvalidations.get(event.type()).increment();
+            return;
+        }
+        if (list.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            if (nativeCache.asMap().values().removeIf(page -> containsId(page, event.id()))) {
+                listInvalidations.get(event.type()).increment();
+            }
+        } else {
+            list.invalidate();
+            listInvalidations.get(event.type()).increment();
+        }
+    }
+
+    public long itemInvalidations(TargetType type) {
+        return itemInvalidations.get(type).sum();
+    }
+
+    public long listInvalidations(TargetType type) {
+        return listInvalidations.get(type).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (TargetType type : TargetType.values()) {
+            FunctionCounter.builder("content.cache.invalidations", itemInvalidations.get(type), LongAdder::sum)
+                    .tag("cache", itemCache(type))
+                    .register(registry);
+            FunctionCounter.builder("content.cache.invalidations", listInvalidations.get(type), LongAdder::sum)
+                    .tag("cache", listCache(type))
+                    .register(registry);
+        }
+    }
+
+    public static String itemCache(TargetType type) {
+        return switch (type) {
+            case ARTICLE -> CacheConfig.ARTICLE_ITEM;
+            case SYNTAX -> CacheConfig.SYNTAX_ITEM;
+            case PROCEDURE -> CacheConfig.PROCEDURE_ITEM;
+        };
+    }
+
+    public static String listCache(TargetType type) {
+        return switch (type) {
+            case ARTICLE -> CacheConfig.ARTICLE_LIST;
+            case SYNTAX -> CacheConfig.SYNTAX_LIST;
+            case PROCEDURE -> CacheConfig.PROCEDURE_LIST;
+        };
+    }
+
+    /** 一覧キャッシュの値（Page / CursorPageResponse）にその id の行が含まれるか */
+    private static boolean containsId(Object page, Long id) {
+        Collection<?> rows;
+        if (page instanceof Page<?> p) {
+            rows = p.getContent();
+        } else if (page instanceof CursorPageResponse<?> c) {
+            rows = c.content();
+        } else {
+            return true; // 形が分からないものは安全側に倒して捨てる
+        }
+        for (Object row : rows) {
+            Long rowId = idOf(row);
+            if (rowId == null || rowId.equals(id)) return true;
+        }
+        return false;
+    }
+
+    private static Long idOf(Object row) {
+        if (row instanceof ArticleDTO a) return a.getId();
+        if (row instanceof ArticleListItemDto a) return a.id();
+        if (row instanceof SyntaxDTO s) return s.getId();
+        if (row instanceof ProcedureDTO p) return p.getId();
+        return null;
+    }
+
+    private static Map<TargetType, LongAdder> counters() {
+        Map<TargetType, LongAdder> m = new EnumMap<>(TargetType.class);
+        for (TargetType type : TargetType.values()) m.put(type, new LongAdder());
+        return m;
+    }
+}
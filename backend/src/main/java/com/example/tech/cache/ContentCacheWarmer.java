@@ -0,0 +1,62 @@
+package com.example.tech.cache;
+
+import com.example.tech.dto.ArticleDTO;
+import com.example.tech.dto.ProcedureDTO;
+import com.example.tech.dto.SyntaxDTO;
+import com.example.tech.enums.ListView;
+import com.example.tech.service.ArticleService;
+import com.example.tech.service.MarkdownRenderService;
+import com.example.tech.service.ProcedureService;
+import com.example.tech.service.SyntaxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 起動直後にコンテンツキャッシュを温める。
+ * 各種別の先頭ページ（カーソル一覧の初回・summary 表示）と、そこに載っている単体をサービス経由で読み、本文の HTML も描画しておく。
+ * DB に繋がらない等で失敗しても起動は止めない。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentCacheWarmer {
+
+    private final ArticleService articleService;
+    private final SyntaxService syntaxService;
+    private final ProcedureService procedureService;
+    private final MarkdownRenderService markdownRenderService;
+
+    @Value("${app.cache.warm-up.enabled:true}")
+    boolean enabled;
+
+    @Value("${app.cache.warm-up.size:20}")
+    int size;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) return;
+        long started = System.nanoTime();
+        int items = 0;
+        try {
+            for (ArticleDTO a : articleService.getArticlesByCursor(null, size, false, ListView.SUMMARY).content()) {
+                markdownRenderService.render(articleService.getArticleById(a.getId()).getContent());
+                items++;
+            }
+            for (SyntaxDTO s : syntaxService.getSyntaxesByCursor(null, size, false, ListView.SUMMARY).content()) {
+                markdownRenderService.render(syntaxService.findById(s.getId()).getContent());
+                items++;
+            }
+            for (ProcedureDTO p : procedureService.findProceduresByCursor(null, size, false, ListView.SUMMARY).content()) {
+                markdownRenderService.render(procedureService.getProcedureById(p.getId()).getContent());
+                items++;
+            }
+            log.info("content cache warmed: 3 lists, {} items in {} ms", items, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("content cache warm-up failed after {} items: {}", items, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.tech.cache;
+
+import com.example.tech.event.ContentChangedEvent;
+import com.example.tech.service.ArticleService;
+import com.example.tech.service.MarkdownRenderService;
+import com.example.tech.service.ProcedureService;
+import com.example.tech.service.SyntaxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 管理画面で保存された本文を、その場で HTML にレンダリングしてキャッシュしておく。
+ * 閲覧側（format=html）は内容ハッシュで引くだけになるので、重い手順書も編集 1 回につき 1 回しか描画しない。
+ * ContentCacheInvalidator の後に走らせ、単体キャッシュを捨てた後の最新の本文を読む。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentPreRenderer {
+
+    private final ArticleService articleService;
+    private final SyntaxService syntaxService;
+    private final ProcedureService procedureService;
+    private final MarkdownRenderService markdownRenderService;
+
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.action() == ContentChangedEvent.Action.DELETED) return;
+        try {
+            String content = switch (event.type()) {
+                case ARTICLE -> articleService.getArticleById(event.id()).getContent();
+                case SYNTAX -> syntaxService.findById(event.id()).getContent();
+                case PROCEDURE -> procedureService.getProcedureById(event.id()).getContent();
+            };
+            markdownRenderService.render(content);
+        } catch (RuntimeException e) {
+            // 事前描画に失敗しても保存は成功扱い（閲覧時に改めて描画される）
+            log.warn("pre-render failed for {} {}: {}", event.type(), event.id(), e.getMessage());
+        }
+    }
+}
@@ -1,20 +1,98 @@
 package com.example.tech.config;
 
+import com.example.tech.dto.CompressedBody;
+import com.example.tech.dto.RenderedContent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.List;
+
 // CacheConfig.java
+/**
+ * コンテンツ（記事/構文/手順）のキャッシュ。種別ごとに「一覧」と「単体」の 2 つを持つ。
+ * - 一覧: ページ/カーソル/軽量一覧をキーの接頭辞で区別して同じキャッシュに入れる
+ * - 単体: id をキーにする
+ * 書き込み時の破棄は ContentCacheInvalidator が該当エントリだけを行う。
+ * recordStats() を付けているので actuator の cache.gets / cache.evictions 等にそのまま出る。
+ */
 @Configuration
 public class CacheConfig {
+
+    public static final String ARTICLE_LIST = "articles:list";
+    public static final String ARTICLE_ITEM = "articles:item";
+    public static final String SYNTAX_LIST = "syntaxes:list";
+    public static final String SYNTAX_ITEM = "syntaxes:item";
+    public static final String PROCEDURE_LIST = "procedures:list";
+    public static final String PROCEDURE_ITEM = "procedures:item";
+    /** Markdown のレンダリング結果。キーは本文の内容ハッシュなので書き込み時の破棄は要らない */
+    public static final String RENDERED_HTML = "content:html";
+    /** 単体レスポンスの gzip 済み JSON。キーは PrecompressedBodyService.key、書き込み時に単体と一緒に捨てる */
+    public static final String COMPRESSED_BODY = "content:gzip";
+    /** ページ用バンドルのうち匿名で共有できる部分。キーは ContentBundleService.key、書き込み時に単体と一緒に捨てる */
+    public static final String CONTENT_BUNDLE = "content:bundle";
+    /** ユーザー×種別の既読 id 集合（RoaringBitmap）。キーは ReadStatusService.key、既読/取り消しで書き込みと同時に直す */
+    public static final String READ_SETS = "read:sets";
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager m = new CaffeineCacheManager("articles:list");
-        m.setCaffeine(com.github.benmanes.caffeine.cache.Caffeine.newBuilder()
-                .maximumSize(1000)
-                .expireAfterWrite(java.time.Duration.ofSeconds(120)));
+    public CacheManager cacheManager(
+            @Value("${app.cache.content.list-ttl-seconds:120}") long listTtlSeconds,
+            @Value("${app.cache.content.item-ttl-seconds:600}") long itemTtlSeconds,
+            @Value("${app.cache.content.list-max-size:1000}") long listMaxSize,
+            @Value("${app.cache.content.item-max-size:5000}") long itemMaxSize,
+            @Value("${app.cache.html.max-chars:16000000}") long htmlMaxChars,
+            @Value("${app.cache.compressed.max-bytes:32000000}") long compressedMaxBytes,
+            @Value("${app.cache.bundle.ttl-seconds:15}") long bundleTtlSeconds,
+            @Value("${app.cache.read-sets.max-bytes:64000000}") long readSetsMaxBytes,
+            @Value("${app.cache.read-sets.idle-minutes:30}") long readSetsIdleMinutes) {
+        CaffeineCacheManager m = new CaffeineCacheManager();
+        // 未登録の名前で動的にキャッシュが増えないようにする（メトリクスは起動時に登録済みのものだけ出るため）
+        m.setCacheNames(List.of());
+        for (String name : new String[]{ARTICLE_LIST, SYNTAX_LIST, PROCEDURE_LIST}) {
+            m.registerCustomCache(name, build(listMaxSize, listTtlSeconds));
+        }
+        for (String name : new String[]{ARTICLE_ITEM, SYNTAX_ITEM, PROCEDURE_ITEM}) {
+            m.registerCustomCache(name, build(itemMaxSize, itemTtlSeconds));
+        }
+        // 長い手順書もあるので件数ではなく HTML の文字数で上限をかける
+        m.registerCustomCache(RENDERED_HTML, Caffeine.newBuilder()
+                .maximumWeight(htmlMaxChars)
+                .weigher((Object key, Object value) ->
+                        value instanceof RenderedContent r ? Math.max(1, r.html().length()) : 1)
+                .expireAfterAccess(Duration.ofDays(1))
+                .recordStats()
+                .build());
+        m.registerCustomCache(COMPRESSED_BODY, Caffeine.newBuilder()
+                .maximumWeight(compressedMaxBytes)
+                .weigher((Object key, Object value) ->
+                        value instanceof CompressedBody c && c.compressed() ? Math.max(1, c.gzip().length) : 1)
+                .expireAfterWrite(Duration.ofSeconds(itemTtlSeconds))
+                .recordStats()
+                .build());
+        // いいね数・コメントも含むので単体より短くする
+        m.registerCustomCache(CONTENT_BUNDLE, build(itemMaxSize, bundleTtlSeconds));
+        // 既読数はユーザーによって数件〜数千件と幅があるので、ビットマップの大きさ（バイト）で上限をかける
+        m.registerCustomCache(READ_SETS, Caffeine.newBuilder()
+                .maximumWeight(readSetsMaxBytes)
+                .weigher((Object key, Object value) ->
+                        value instanceof RoaringBitmap b ? Math.max(1, (int) Math.min(Integer.MAX_VALUE, b.getLongSizeInBytes())) : 1)
+                .expireAfterAccess(Duration.ofMinutes(readSetsIdleMinutes))
+                .recordStats()
+                .build());
         return m;
     }
-}
 
+    private static Cache<Object, Object> build(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+}
@@ -35,7 +35,7 @@ public class CorsConfig {
         cfg.setAllowedHeaders(List.of("*"));
 
         // ブラウザから見せたいレスポンスヘッダ（必要に応じて追加）
-        cfg.setExposedHeaders(List.of("Location", "Content-Disposition"));
+        cfg.setExposedHeaders(List.of("Location", "Content-Disposition", "ETag"));
 
         cfg.setAllowCredentials(true);
         cfg.setMaxAge(3600L);
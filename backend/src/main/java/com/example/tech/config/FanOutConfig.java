@@ -0,0 +1,36 @@
+package com.example.tech.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 1 リクエスト内で複数の読み取りを並行に走らせるためのスレッドプール（ContentBundleService 等）。
+ * ThreadPoolExecutor は待ち行列が満杯になるまで core を超えてスレッドを増やさないので、
+ * 並行に走らせたい数をそのまま core（= max）にし、使っていないスレッドは keep-alive で畳む。
+ * 待ち行列があふれたら呼び出し元では実行せずに捨てる（その部分は「取れなかった」として返す）。
+ */
+@Configuration
+public class FanOutConfig {
+
+    public static final String FAN_OUT_EXECUTOR = "fanOutExecutor";
+
+    @Bean(name = FAN_OUT_EXECUTOR)
+    public ThreadPoolTaskExecutor fanOutExecutor(
+            @Value("${app.fan-out.pool-size:32}") int poolSize,
+            @Value("${app.fan-out.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setKeepAliveSeconds(60);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("fan-out-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.tech.config;
+
+import com.example.tech.security.IdTokenVerifier;
+import com.example.tech.security.JwkSigningKeySource;
+import com.example.tech.security.LocalIdTokenVerifier;
+import com.example.tech.security.SdkIdTokenVerifier;
+import com.example.tech.security.SigningKeyCache;
+import com.example.tech.security.SigningKeySource;
+import com.google.firebase.FirebaseApp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * ID トークン検証方式の切り替え。
+ * - app.auth.verifier=sdk（既定）: Firebase Admin SDK
+ * - app.auth.verifier=local     : メモリ上の署名鍵でローカル検証（リクエスト中にリモート呼び出しなし）
+ */
+@Configuration
+public class IdTokenVerifierConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.auth.verifier", havingValue = "sdk", matchIfMissing = true)
+    public IdTokenVerifier sdkIdTokenVerifier() {
+        return new SdkIdTokenVerifier();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.auth.verifier", havingValue = "local")
+    static class LocalVerifierConfig {
+
+        /** テスト等で差し替えたい場合は SigningKeySource の Bean を別途定義する */
+        @Bean
+        @ConditionalOnMissingBean
+        public SigningKeySource signingKeySource(
+                @Value("${app.auth.local.jwks-uri:" + JwkSigningKeySource.FIREBASE_JWKS_URI + "}") String jwksUri) {
+            return new JwkSigningKeySource(jwksUri);
+        }
+
+        @Bean(initMethod = "start", destroyMethod = "close")
+        public SigningKeyCache signingKeyCache(SigningKeySource signingKeySource) {
+            return new SigningKeyCache(signingKeySource);
+        }
+
+        @Bean
+        public IdTokenVerifier localIdTokenVerifier(SigningKeyCache signingKeyCache,
+                                                    FirebaseApp firebaseApp,
+                                                    @Value("${app.auth.project-id:}") String projectId) {
+            String resolved = !projectId.isBlank() ? projectId : firebaseApp.getOptions().getProjectId();
+            if (resolved == null || resolved.isBlank()) {
+                throw new IllegalStateException("app.auth.project-id is required when app.auth.verifier=local");
+            }
+            return new LocalIdTokenVerifier(signingKeyCache, resolved, Clock.systemUTC());
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package com.example.tech.config;
 
 import com.example.tech.security.FirebaseTokenFilter;
+import com.example.tech.security.RouteAccess;
+import com.example.tech.security.RouteTable;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
@@ -21,6 +22,7 @@ public class SecurityConfig {
 
     private final FirebaseTokenFilter firebaseTokenFilter;         // @Component 付き
     private final CorsConfigurationSource corsConfigurationSource; // CorsConfig から注入
+    private final RouteTable routeTable;                           // 公開/保護ルート表
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -42,35 +44,12 @@ public class SecurityConfig {
                             res.getWriter().write("{\"error\":\"forbidden\"}");
                         })
                 )
+                // ルート表は RouteTable に集約（フィルタと同じコンパイル済みトライで判定）
                 .authorizeHttpRequests(auth -> auth
-                        // プリフライト/HEAD は常に許可
-                        .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                        .requestMatchers(HttpMethod.HEAD, "/api/**").permitAll()
+                        .requestMatchers(routeTable.matcher(RouteAccess.ADMIN)).hasRole("ADMIN")
+                        .requestMatchers(routeTable.matcher(RouteAccess.AUTHENTICATED)).authenticated()
 
-                        // 公開 API（認証不要）
-                        .requestMatchers("/api/articles/**").permitAll()
-                        .requestMatchers("/api/syntaxes/**").permitAll()
-                        .requestMatchers("/api/procedures/**").permitAll()
-                        .requestMatchers(HttpMethod.GET,
-                                "/api/*/*/*/messages",        // 末尾が /messages
-                                "/api/*/*/*/messages/**"      // さらにその配下
-                        ).permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/review-scores/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/review-comments/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/likes/count").permitAll()
-                        .requestMatchers("/api/register").permitAll()
-
-                        // 認証が必要
-                        .requestMatchers("/api/admin/**", "/api/messages/admin/**").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.GET, "/api/*/read/all").authenticated()
-                        .requestMatchers(HttpMethod.GET, "/api/*/read/status").authenticated()
-                        .requestMatchers(HttpMethod.POST, "/api/*/*/read").authenticated()
-                        .requestMatchers(HttpMethod.GET, "/api/likes/status").authenticated()
-
-                        // それ以外の /api/** は認証必須
-                        .requestMatchers("/api/**").authenticated()
-
-                        // 静的等は許可
+                        // 公開 API / プリフライト / 静的等は許可
                         .anyRequest().permitAll()
                 )
                 // 自前の Firebase フィルタを適用
@@ -1,16 +1,30 @@
 package com.example.tech.config;
 
+import com.example.tech.security.AuthUserArgumentResolver;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * ここでは CORS を定義しない（Security + CorsConfig に集約）。
  * 静的リソース等の MVC 設定だけ残す。
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final AuthUserArgumentResolver authUserArgumentResolver;
+
+    /** コントローラは AuthUser 引数で検証済みユーザーを受け取る（ヘッダの再検証はしない） */
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(authUserArgumentResolver);
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // 必要ならそのまま（本番パスは環境に合わせて）
@@ -6,7 +6,8 @@ import com.example.tech.dto.SyntaxDTO;
 import com.example.tech.dto.request.ArticleRequest;
 import com.example.tech.dto.request.ProcedureRequest;
 import com.example.tech.dto.request.SyntaxRequest;
-import com.example.tech.service.FirebaseAuthService;
+import com.example.tech.enums.ListView;
+import com.example.tech.security.AuthUser;
 import com.example.tech.service.AdminService;
 import com.example.tech.service.ProcedureService;
 import lombok.RequiredArgsConstructor;
@@ -28,35 +29,38 @@ import java.io.IOException;
 public class AdminController {
 
     private final AdminService adminService;
-    private final FirebaseAuthService firebaseAuthService;
     private final ProcedureService procedureService;
 
     @GetMapping("/articles")
-    public ResponseEntity<Page<ArticleDTO>> getAllArticle(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<Page<ArticleDTO>> getAllArticle(AuthUser user,
                                                           @RequestParam int page,
-                                                          @RequestParam int size)
+                                                          @RequestParam int size,
+                                                          @RequestParam(required = false) String view)
     {
+        user.requireAdmin();
         Pageable pageable = PageRequest.of(page,size);
-        Page<ArticleDTO> articles = adminService.getAllArticles(pageable);
+        Page<ArticleDTO> articles = adminService.getAllArticles(pageable, ListView.fromParam(view, ListView.FULL));
         return ResponseEntity.ok(articles);
     }
 
     @GetMapping("/syntaxes")
-    public ResponseEntity<Page<SyntaxDTO>> getAllSyntax(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<Page<SyntaxDTO>> getAllSyntax(AuthUser user,
                                                         @RequestParam int page,
-                                                        @RequestParam int size)
+                                                        @RequestParam int size,
+                                                        @RequestParam(required = false) String view)
     {
+        user.requireAdmin();
         Pageable pageable = PageRequest.of(page,size);
-        Page<SyntaxDTO> articles = adminService.getAllSyntax(pageable);
+        Page<SyntaxDTO> articles = adminService.getAllSyntax(pageable, ListView.fromParam(view, ListView.FULL));
         return ResponseEntity.ok(articles);
     }
 
     @PostMapping("/add-article")
-    public ResponseEntity<?> postArticle(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> postArticle(AuthUser user,
                                          @RequestParam(value = "image", required = false) MultipartFile imageFile,
                                          @ModelAttribute ArticleRequest request)
     {
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        String adminEmail = user.requireAdmin().email();
 
         // 2. 保存ディレクトリの準備（プロジェクト直下のuploads）
         // 画像URLをnullで初期化（デフォは「画像なし」）
@@ -92,11 +96,11 @@ public class AdminController {
 
     @PostMapping("/add-procedure")
     public ResponseEntity<?> postProcedure(
-            @RequestHeader(name = "Authorization") String token,
+            AuthUser user,
             @RequestParam(value = "image", required = false) MultipartFile imageFile,
             @ModelAttribute ProcedureRequest request
     ) {
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        String adminEmail = user.requireAdmin().email();
 
         // 画像URLをnullで初期化（デフォは「画像なし」）
         String imageUrl = null;
@@ -130,57 +134,57 @@ public class AdminController {
     }
 
     @PostMapping("/add-syntax")
-    public ResponseEntity<?> postArticle(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> postArticle(AuthUser user,
                                          @RequestBody SyntaxRequest request)
     {
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        String adminEmail = user.requireAdmin().email();
         adminService.postSyntax(request, adminEmail);
         return ResponseEntity.ok("投稿完了");
     }
     @PutMapping("/articles/toggle/{id}")
-    public ResponseEntity<?> toggleArticlePublished(@RequestHeader(name = "Authorization")String token,
+    public ResponseEntity<?> toggleArticlePublished(AuthUser user,
                                              @PathVariable Long id)
     {
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        user.requireAdmin();
         adminService.togglePublished(id);
         return ResponseEntity.ok("公開非公開反転しました。");
     }
 
     @PutMapping("/syntaxes/{id}/toggle")
-    public ResponseEntity<?> toggleSyntaxesPublished(@RequestHeader(name = "Authorization")String token,
+    public ResponseEntity<?> toggleSyntaxesPublished(AuthUser user,
                                                     @PathVariable Long id)
     {
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        user.requireAdmin();
         adminService.toggleSyntaxPublished(id);
         return ResponseEntity.ok("公開非公開反転");
     }
 
     @GetMapping("/articles/{id}")
-    public ResponseEntity<ArticleDTO> getArticleById(@RequestHeader(name = "Authorization")String token,
+    public ResponseEntity<ArticleDTO> getArticleById(AuthUser user,
                                                      @PathVariable Long id)
     {
-        firebaseAuthService.verifyAdminAndGetEmail(token);
+        user.requireAdmin();
         ArticleDTO article = adminService.getArticleById(id);
 
         return ResponseEntity.ok(article);
     }
     @GetMapping("/syntaxes/{id}")
-    public ResponseEntity<SyntaxDTO> getSyntaxById(@RequestHeader(name = "Authorization")String token,
+    public ResponseEntity<SyntaxDTO> getSyntaxById(AuthUser user,
                                                      @PathVariable Long id)
     {
-        firebaseAuthService.verifyAdminAndGetEmail(token);
+        user.requireAdmin();
         SyntaxDTO syntax = adminService.getSyntaxById(id);
 
         return ResponseEntity.ok(syntax);
     }
 
     @PutMapping("/articles/{id}")
-    public ResponseEntity<?> putArticle(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> putArticle(AuthUser user,
                                         @RequestParam(value = "image", required = false) MultipartFile imageFile,
                                          @PathVariable Long id,
                                          @ModelAttribute ArticleRequest request)
     {
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        String adminEmail = user.requireAdmin().email();
 
         String imageUrl = null;
         // imageFileがnullでなく、かつ空でなければ画像保存
@@ -212,49 +216,51 @@ public class AdminController {
     }
 
     @PutMapping("/syntaxes/{id}")
-    public ResponseEntity<?> putSyntax(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> putSyntax(AuthUser user,
                                        @RequestBody SyntaxRequest request,
                                        @PathVariable Long id) {
 
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        String adminEmail = user.requireAdmin().email();
         adminService.putSyntax(id, request, adminEmail);
 
         return ResponseEntity.ok("更新完了");
     }
     @DeleteMapping("/articles/{id}")
-    public ResponseEntity<?> deleteArticle(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> deleteArticle(AuthUser user,
                                            @PathVariable Long id)
     {
+        user.requireAdmin();
         adminService.deleteById(id);
      return ResponseEntity.ok("削除しました。");
     }
 
     @GetMapping("/procedure")
-    public ResponseEntity<Page<ProcedureDTO>> getAllProcedure(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<Page<ProcedureDTO>> getAllProcedure(AuthUser user,
                                                               @RequestParam int page,
-                                                              @RequestParam int size)
+                                                              @RequestParam int size,
+                                                              @RequestParam(required = false) String view)
     {
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        String adminEmail = user.requireAdmin().email();
         Pageable pageable = PageRequest.of(page, size, Sort.by("stepMajor","stepMinor"));
-        Page<ProcedureDTO> procedureDTOS = procedureService.getAllProcedure(adminEmail,pageable);
+        Page<ProcedureDTO> procedureDTOS = procedureService.getAllProcedure(adminEmail, pageable, ListView.fromParam(view, ListView.FULL));
         return ResponseEntity.ok(procedureDTOS);
     }
     @GetMapping("/procedure/{id}")
-    public ProcedureDTO gerProcedureById(@RequestHeader(name = "Authorization") String token,
+    public ProcedureDTO gerProcedureById(AuthUser user,
                                          @PathVariable Long id)
     {
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        String adminEmail = user.requireAdmin().email();
         return procedureService.findById(adminEmail, id);
     }
 
     @PutMapping("/procedure/{id}")
     public ResponseEntity<?> postProcedure(
-            @RequestHeader(name = "Authorization") String token,
+            AuthUser user,
             @RequestParam(value = "image", required = false) MultipartFile imageFile,
             @PathVariable Long id,
             @ModelAttribute ProcedureRequest request
     ) {
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        String adminEmail = user.requireAdmin().email();
 
         // 画像URLをnullで初期化（デフォは「画像なし」）
         String imageUrl = null;
@@ -289,29 +295,29 @@ public class AdminController {
     }
 
     @PutMapping("/procedure/toggle/{id}")
-    public ResponseEntity<?> putToggle(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> putToggle(AuthUser user,
                                         @PathVariable Long id)
     {
-        firebaseAuthService.verifyAdminAndGetEmail(token);
+        user.requireAdmin();
         procedureService.putToggle(id);
         return ResponseEntity.ok("公開非公開変更");
     }
 
     @DeleteMapping("/procedure/{id}")
-    public ResponseEntity<?> deleteProcedure(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> deleteProcedure(AuthUser user,
                                              @PathVariable Long id)
     {
 
-        firebaseAuthService.verifyAdminAndGetEmail(token);
+        user.requireAdmin();
         procedureService.deleteById(id);
         return ResponseEntity.ok("削除完了");
     }
 
     @DeleteMapping("syntaxes/{id}")
-    public ResponseEntity<?> deleteSyntax(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> deleteSyntax(AuthUser user,
                                                  @PathVariable Long id)
     {
-        firebaseAuthService.verifyAdminAndGetEmail(token);
+        user.requireAdmin();
         adminService.deleteSyntaxById(id);
         return ResponseEntity.ok("削除完了");
     }
@@ -2,18 +2,36 @@ package com.example.tech.controller;
 
 import com.example.tech.dto.ArticleDTO;
 import com.example.tech.dto.request.ArticleReadRequest;
+import com.example.tech.dto.response.ContentBundleResponse;
+import com.example.tech.dto.response.CursorPageResponse;
+import com.example.tech.dto.response.HtmlDetailResponse;
+import com.example.tech.enums.ListView;
+import com.example.tech.enums.TargetType;
 import com.example.tech.repository.UserRepository;
+import com.example.tech.security.AuthUser;
 import com.example.tech.service.ArticleReadService;
 import com.example.tech.service.ArticleService;
-import com.example.tech.service.FirebaseAuthService;
+import com.example.tech.service.ContentBatchService;
+import com.example.tech.service.ContentBundleService;
+import com.example.tech.service.ContentVersionService;
+import com.example.tech.service.MarkdownRenderService;
+import com.example.tech.service.PrecompressedBodyService;
+import com.example.tech.service.SlugIndexService;
+import com.example.tech.utils.ContentETags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @CrossOrigin("http://localhost:3000")
@@ -22,42 +40,115 @@ import java.util.List;
 public class ArticleController {
 
     private final ArticleService articleService;
-    private final FirebaseAuthService firebaseAuthService;
     private final ArticleReadService articleReadService;
+    private final ContentVersionService contentVersionService;
+    private final MarkdownRenderService markdownRenderService;
+    private final SlugIndexService slugIndexService;
+    private final PrecompressedBodyService precompressedBodyService;
+    private final ContentBatchService contentBatchService;
+    private final ContentBundleService contentBundleService;
     @GetMapping
     public ResponseEntity<Page<ArticleDTO>> getAllArticles(@RequestParam int page,
-                                                           @RequestParam int size) {
+                                                           @RequestParam int size,
+                                                           @RequestParam(required = false) String view) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<ArticleDTO> articleDTOS = articleService.getAllArticles(pageable);
-        return ResponseEntity.ok(articleDTOS);
+        ListView listView = ListView.fromParam(view);
+        Page<ArticleDTO> articleDTOS = articleService.getAllArticles(pageable, listView);
+        return ResponseEntity.ok()
+                .eTag(ContentETags.ofPage(TargetType.ARTICLE, articleDTOS, ArticleDTO::getId, ArticleDTO::getUpdatedAt, listView))
+                .cacheControl(ContentETags.LIST)
+                .body(articleDTOS);
     }
 
+    /** id を並べて一括取得（?ids=1,2,3、最大 {@value ContentBatchService#MAX_IDS} 件）。summary 表示でリクエスト順、公開中のものだけ */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ArticleDTO>> getArticlesByIds(@RequestParam List<Long> ids) {
+        List<ArticleDTO> rows = contentBatchService.articles(ids);
+        return ResponseEntity.ok()
+                .eTag(ContentETags.ofRows(TargetType.ARTICLE, rows, ArticleDTO::getId, ArticleDTO::getUpdatedAt, "ids"))
+                .cacheControl(ContentETags.LIST)
+                .body(rows);
+    }
+
+    /** キーセット一覧。次ページは nextCursor をそのまま cursor に渡す。総件数は withTotal=true のときだけ数える */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<ArticleDTO>> getArticlesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam(required = false) String view) {
+        ListView listView = ListView.fromParam(view);
+        CursorPageResponse<ArticleDTO> page = articleService.getArticlesByCursor(cursor, CursorPageResponse.clampSize(size), withTotal, listView);
+        return ResponseEntity.ok()
+                .eTag(ContentETags.ofCursorPage(TargetType.ARTICLE, page, ArticleDTO::getId, ArticleDTO::getUpdatedAt, listView))
+                .cacheControl(ContentETags.LIST)
+                .body(page);
+    }
+
+    /** If-None-Match が現在の版と一致すれば本文を読まずに 304。format=html なら描画済み HTML と目次を返す */
     @GetMapping("/{id}")
-    public ResponseEntity<ArticleDTO> getArticleById(@PathVariable Long id) {
-        ArticleDTO article = articleService.getArticleById(id);
+    public ResponseEntity<?> getArticleById(@PathVariable Long id,
+                                            @RequestParam(defaultValue = "markdown") String format,
+                                            WebRequest request) {
+        boolean html = "html".equalsIgnoreCase(format);
+        Optional<String> etag = contentVersionService.etag(TargetType.ARTICLE, id, html);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return ContentETags.notModified(etag.get());
+        }
+        return detail(id, html, request);
+    }
 
-        return ResponseEntity.ok(article);
+    /**
+     * ページ表示に要るものを 1 回で返す（本体・いいね数・レビュー・コメント・Q&A、ログイン中なら既読/いいね状態）。
+     * 間に合わなかった部分は null で unavailable に名前が入る
+     */
+    @GetMapping("/{id}/bundle")
+    public ResponseEntity<ContentBundleResponse> getArticleBundle(@PathVariable Long id, @Nullable AuthUser user) {
+        Long userId = user != null ? user.userId() : null;
+        return ResponseEntity.ok()
+                .cacheControl(userId != null ? ContentETags.PERSONAL : ContentETags.BUNDLE)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(contentBundleService.bundle(TargetType.ARTICLE, id, userId));
     }
+
+    /** slug から引く。slug → id と版はメモリの索引で解決するので、304 なら DB に行かない */
+    @GetMapping("/by-slug/{slug}")
+    public ResponseEntity<?> getArticleBySlug(@PathVariable String slug,
+                                              @RequestParam(defaultValue = "markdown") String format,
+                                              WebRequest request) {
+        SlugIndexService.SlugEntry entry = slugIndexService.findPublished(TargetType.ARTICLE, slug)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "記事が見つかりません。"));
+        boolean html = "html".equalsIgnoreCase(format);
+        String etag = ContentETags.of(TargetType.ARTICLE, entry.id(), entry.updatedAt(), html);
+        if (request.checkNotModified(etag)) {
+            return ContentETags.notModified(etag);
+        }
+        return detail(entry.id(), html, request);
+    }
+
+    private ResponseEntity<?> detail(Long id, boolean html, WebRequest request) {
+        ArticleDTO article = articleService.getArticleById(id);
+        Object body = html ? HtmlDetailResponse.of(article, markdownRenderService.render(article.getContent())) : article;
+        return precompressedBodyService.detail(TargetType.ARTICLE, id, html,
+                ContentETags.of(TargetType.ARTICLE, id, article.getUpdatedAt(), html), body, request);
+    }
+    // 受け付けて返す（書き込みはまとめて後で）。直後の /read/status は既読を返す。記事が無ければ 404
     @PostMapping("/read")
-    public ResponseEntity<?> registerArticleRead(@RequestHeader("Authorization") String token,
+    public ResponseEntity<?> registerArticleRead(AuthUser user,
                                                  @RequestBody ArticleReadRequest request)
     {
-        String userEmail = firebaseAuthService.verifyAndGetEmail(token);
-        articleReadService.postArticleRead(userEmail,request);
+        articleReadService.postArticleRead(user.requireUserId(), request);
         return ResponseEntity.ok("読了しました。");
     }
     @DeleteMapping("/read/{articleId}")
     public ResponseEntity<?> unregisterArticleRead(
-            @RequestHeader("Authorization") String token,
+            AuthUser user,
             @PathVariable Long articleId
     ) {
-        // 1) ユーザー特定
-        String userEmail = firebaseAuthService.verifyAndGetEmail(token);
-
-        // 2) 削除（存在しなくてもOK）
-        boolean removed = articleReadService.deleteArticleRead(userEmail, articleId);
+        // 1) 削除（存在しなくてもOK）。ユーザーはフィルタで特定済み
+        boolean removed = articleReadService.deleteArticleRead(user.requireUserId(), articleId);
 
-        // 3) 成功レスポンス
+        // 2) 成功レスポンス
         //    - 返り値で分岐するなら 200/204 を使い分け
         //    - 一律 200 OK + メッセージ でも可（クライアント実装が簡単）
         if (removed) {
@@ -68,30 +159,27 @@ public class ArticleController {
     }
 
     @GetMapping("/read")
-    public ResponseEntity<Page<Long>> getReadArticleIds(@RequestHeader (name = "Authorization") String token,
+    public ResponseEntity<Page<Long>> getReadArticleIds(AuthUser user,
                                                         @RequestParam int page,
                                                         @RequestParam int size)
     {
         Pageable pageable = PageRequest.of(page, size);
-        String userEmail = firebaseAuthService.verifyAndGetEmail(token);
-        Page<Long> readArticleIds = articleService.getReadArticleIds(userEmail, pageable);
+        Page<Long> readArticleIds = articleService.getReadArticleIds(user.userId(), pageable);
 
         return ResponseEntity.ok(readArticleIds);
     }
 //    @GetMapping("/liked")
-//    public ResponseEntity<List<ArticleDTO>> geLikedArticles(@RequestHeader(name = "Authorization") String token)
+//    public ResponseEntity<List<ArticleDTO>> geLikedArticles(AuthUser user)
 //    {
-//        String userEmail = firebaseAuthService.verifyAndGetEmail(token);
-//        List<ArticleDTO> likeArticles = articleService.findLikedArticlesByUser(userEmail);
+//        List<ArticleDTO> likeArticles = articleService.findLikedArticlesByUser(user.requireUserId());
 //        return ResponseEntity.ok(likeArticles);
 //    }
     @GetMapping("/read/status")
-    public Boolean isReadArticle(@RequestHeader(name = "Authorization") String token,
+    public Boolean isReadArticle(AuthUser user,
                                  @RequestParam Long articleId)
 
     {
-        String userEmail = firebaseAuthService.verifyAndGetEmail(token);
-        return articleService.isReadArticleById(userEmail, articleId);
+        return articleService.isReadArticleById(user.requireUserId(), articleId);
     }
 
 }
@@ -0,0 +1,39 @@
+package com.example.tech.controller;
+
+import com.example.tech.dto.response.ContentStatusResponse;
+import com.example.tech.entity.ReadStatus;
+import com.example.tech.security.AuthUser;
+import com.example.tech.service.ContentBatchService;
+import com.example.tech.service.ContentStatusService;
+import com.example.tech.utils.ContentETags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@CrossOrigin("http://localhost:3000")
+@RequiredArgsConstructor
+@RequestMapping("/api")
+public class ContentStatusController {
+
+    private final ContentStatusService contentStatusService;
+
+    /**
+     * 一覧ページの行ごとのいいね/既読/平均点をまとめて（?ids=1,2,3、最大 {@value ContentBatchService#MAX_IDS} 件）。
+     * 例: GET /api/articles/status/bulk?ids=1,2,3。未ログインなら liked / read は null
+     */
+    @GetMapping("/{target}/status/bulk")
+    public ResponseEntity<List<ContentStatusResponse>> getStatuses(@PathVariable ReadStatus.Target target,
+                                                                   @RequestParam List<Long> ids,
+                                                                   @Nullable AuthUser user) {
+        Long userId = user != null ? user.userId() : null;
+        return ResponseEntity.ok()
+                .cacheControl(userId != null ? ContentETags.PERSONAL : ContentETags.BUNDLE)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(contentStatusService.statuses(target, ids, userId));
+    }
+}
@@ -2,7 +2,7 @@ package com.example.tech.controller;
 
 import com.example.tech.dto.request.LikeRequest;
 import com.example.tech.dto.response.LikeStatusDTO;
-import com.example.tech.service.FirebaseAuthService;
+import com.example.tech.security.AuthUser;
 import com.example.tech.service.LikeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -15,30 +15,26 @@ import org.springframework.web.bind.annotation.*;
 public class LikeController {
 
     private final LikeService likeService;
-    private final FirebaseAuthService firebaseAuthService;
     @PostMapping
-    public ResponseEntity<?> registerLike(@RequestHeader(name = "Authorization")String token,
+    public ResponseEntity<?> registerLike(AuthUser user,
                                           @RequestBody LikeRequest request)
     {
-        String userEmail = firebaseAuthService.verifyAndGetEmail(token);
-        likeService.registerLike(userEmail, request.getArticleId());
+        likeService.registerLike(user.requireUserId(), request.getArticleId());
         return ResponseEntity.ok("いいね!");
     }
     @DeleteMapping("/{articleId}")
-    public ResponseEntity<?> deleteLike(@RequestHeader(name = "Authorization")String token,
+    public ResponseEntity<?> deleteLike(AuthUser user,
                                         @PathVariable Long articleId)
     {
-        String userEmail = firebaseAuthService.verifyAndGetEmail(token);
-        likeService.deleteLike(userEmail, articleId);
+        likeService.deleteLike(user.requireUserId(), articleId);
         return ResponseEntity.ok("解除。");
     }
 
     @GetMapping("/status")
-    public LikeStatusDTO getStatusResponse(@RequestHeader(name = "Authorization")String token,
+    public LikeStatusDTO getStatusResponse(AuthUser user,
                                                 @RequestParam Long articleId)
     {
-        String userEmail = firebaseAuthService.verifyAndGetEmail(token);
-        boolean liked = likeService.findByUserIdAndArticleId(userEmail, articleId);
+        boolean liked = likeService.findByUserIdAndArticleId(user.requireUserId(), articleId);
         Long count = likeService.countByArticleId(articleId);
         return new LikeStatusDTO(liked,count);
     }
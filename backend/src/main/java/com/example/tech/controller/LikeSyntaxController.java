@@ -2,11 +2,12 @@
 package com.example.tech.controller;
 
 import com.example.tech.dto.LikeStatusDTO;
-import com.example.tech.service.FirebaseAuthService;
+import com.example.tech.security.AuthUser;
 import com.example.tech.service.LikeSyntaxService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -17,26 +18,16 @@ import java.util.Map;
 public class LikeSyntaxController {
 
     private final LikeSyntaxService likeSyntaxService;
-    private final FirebaseAuthService firebaseAuthService;
 
-    private String stripBearer(String token) {
-        return token == null ? "" : token.replaceFirst("^Bearer\\s+", "");
-    }
-
-    /** Firebase検証を行い、失敗時はUnauthorizedExceptionを投げる（→ GlobalExceptionHandlerで401） */
-    private String verifyOrThrow401(String token) {
-        try {
-            String email = firebaseAuthService.verifyAndGetEmail(stripBearer(token));
-            if (email == null || email.isBlank()) throw new UnauthorizedException();
-            return email;
-        } catch (Exception e) {
-            throw new UnauthorizedException();
-        }
+    /** 未ログインは UnauthorizedException（→ 401）。アプリ側未登録なら null（サービス側で no-op 扱い） */
+    private Long userIdOrThrow401(AuthUser user) {
+        if (user == null) throw new UnauthorizedException();
+        return user.userId();
     }
 
     @PostMapping
     public ResponseEntity<Void> likeSyntax(
-            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @Nullable AuthUser user,
             @RequestParam(name = "syntaxId", required = false) Long syntaxId,
             @RequestBody(required = false) Map<String, Object> body) {
 
@@ -50,11 +41,11 @@ public class LikeSyntaxController {
         }
         if (syntaxId == null) return ResponseEntity.badRequest().build();
 
-        final String email = verifyOrThrow401(authorization);
+        final Long userId = userIdOrThrow401(user);
 
         try {
             // 既にLIKE済みならno-opになる実装（冪等）
-            likeSyntaxService.likeSyntax(email, syntaxId);
+            likeSyntaxService.likeSyntax(userId, syntaxId);
             return ResponseEntity.ok().build();
         } catch (DataIntegrityViolationException ex) {
             // 一意制約/外部キー制約など
@@ -67,12 +58,12 @@ public class LikeSyntaxController {
 
     @DeleteMapping("/{syntaxId}")
     public ResponseEntity<Void> unlikePath(
-            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @Nullable AuthUser user,
             @PathVariable Long syntaxId) {
 
-        final String email = verifyOrThrow401(authorization);
+        final Long userId = userIdOrThrow401(user);
         try {
-            likeSyntaxService.unlikeSyntax(email, syntaxId); // 無ければno-op想定
+            likeSyntaxService.unlikeSyntax(userId, syntaxId); // 無ければno-op想定
             return ResponseEntity.noContent().build();
         } catch (Exception ex) {
             return ResponseEntity.status(500).build();
@@ -81,12 +72,12 @@ public class LikeSyntaxController {
 
     @DeleteMapping
     public ResponseEntity<Void> unlikeQuery(
-            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @Nullable AuthUser user,
             @RequestParam Long syntaxId) {
 
-        final String email = verifyOrThrow401(authorization);
+        final Long userId = userIdOrThrow401(user);
         try {
-            likeSyntaxService.unlikeSyntax(email, syntaxId);
+            likeSyntaxService.unlikeSyntax(userId, syntaxId);
             return ResponseEntity.noContent().build();
         } catch (Exception ex) {
             return ResponseEntity.status(500).build();
@@ -95,13 +86,13 @@ public class LikeSyntaxController {
 
     @GetMapping("/status")
     public ResponseEntity<LikeStatusDTO> getStatus(
-            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @Nullable AuthUser user,
             @RequestParam Long syntaxId) {
 
         // 未ログインでも count は返したいなら ↓を分岐させてもOK
-        final String email = verifyOrThrow401(authorization);
+        final Long userId = userIdOrThrow401(user);
 
-        boolean liked = likeSyntaxService.isLiked(email, syntaxId);
+        boolean liked = likeSyntaxService.isLiked(userId, syntaxId);
         long count = likeSyntaxService.countLikes(syntaxId);
         return ResponseEntity.ok(new LikeStatusDTO(liked, count));
     }
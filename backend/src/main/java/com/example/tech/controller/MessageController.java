@@ -5,7 +5,7 @@ import com.example.tech.dto.request.AnswerRequest;
 import com.example.tech.dto.request.MessageRequest;
 import com.example.tech.dto.response.MessagePageResponse;
 import com.example.tech.enums.TargetType;
-import com.example.tech.service.FirebaseAuthService;
+import com.example.tech.security.AuthUser;
 import com.example.tech.service.MessageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -22,7 +22,6 @@ import java.util.List;
 @RequestMapping("/api/messages")
 public class MessageController {
     private final MessageService messageService;
-    private final FirebaseAuthService firebaseAuthService;
 
     @GetMapping("/{type}/{refId}")
     public ResponseEntity<MessagePageResponse> list(
@@ -37,19 +36,18 @@ public class MessageController {
 
     @PostMapping("/{type}/{refId}")
     public ResponseEntity<?> add(
-            @RequestHeader("Authorization") String token,
+            AuthUser user,
             @PathVariable String type,
             @PathVariable Long refId,
             @RequestBody MessageRequest req
     ) {
-        String email = firebaseAuthService.verifyAndGetEmail(token);
         TargetType t = TargetType.valueOf(type.toUpperCase());
-        messageService.add(t, refId, req, email);
+        messageService.add(t, refId, req, user.userId());
         return ResponseEntity.ok().build();
     }
 
 //    @PostMapping("/add")
-//    public ResponseEntity<?> addMessage(@RequestHeader(name = "Authorization") String token,
+//    public ResponseEntity<?> addMessage(AuthUser user,
 //                                        @RequestBody MessageRequest request)
 //    {
 //        String userEmail = firebaseAuthService.verifyAndGetEmail(token);
@@ -66,21 +64,21 @@ public class MessageController {
 //
 //    }
     @GetMapping("/admin/questions")
-    public ResponseEntity<Page<MessageResponseDTO>> getAllMessages(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<Page<MessageResponseDTO>> getAllMessages(AuthUser user,
                                                                    @RequestParam(defaultValue = "0") int page,
                                                                    @RequestParam(defaultValue = "10")int size)
     {
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        String adminEmail = user.requireAdmin().email();
         Pageable pageable = PageRequest.of(page,size);
         Page<MessageResponseDTO> messages = messageService.getAllMessages(adminEmail, pageable);
         return ResponseEntity.ok(messages);
     }
     @PostMapping("admin/questions/{id}/answer")
-    public ResponseEntity<?> postMessage(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> postMessage(AuthUser user,
                                          @PathVariable Long id,
                                          @RequestBody AnswerRequest request)
     {
-        String adminEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        String adminEmail = user.requireAdmin().email();
         messageService.answerMessage(id,adminEmail, request);
 
         return ResponseEntity.ok("返答完了");
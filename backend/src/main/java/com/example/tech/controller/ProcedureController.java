@@ -1,15 +1,36 @@
 package com.example.tech.controller;
 
 import com.example.tech.dto.ProcedureDTO;
+import com.example.tech.dto.response.ContentBundleResponse;
+import com.example.tech.dto.response.CursorPageResponse;
+import com.example.tech.dto.response.HtmlDetailResponse;
+import com.example.tech.dto.response.NextUnreadResponse;
+import com.example.tech.enums.ListView;
+import com.example.tech.enums.TargetType;
+import com.example.tech.security.AuthUser;
+import com.example.tech.service.ContentBatchService;
+import com.example.tech.service.ContentBundleService;
+import com.example.tech.service.ContentVersionService;
+import com.example.tech.service.MarkdownRenderService;
+import com.example.tech.service.PrecompressedBodyService;
+import com.example.tech.service.ProcedureSequenceService;
+import com.example.tech.service.SlugIndexService;
 import com.example.tech.service.ProcedureService;
+import com.example.tech.utils.ContentETags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @CrossOrigin("http://localhost:3000")
@@ -18,20 +39,108 @@ import java.util.List;
 public class ProcedureController {
 
     private final ProcedureService procedureService;
+    private final ContentVersionService contentVersionService;
+    private final MarkdownRenderService markdownRenderService;
+    private final SlugIndexService slugIndexService;
+    private final PrecompressedBodyService precompressedBodyService;
+    private final ContentBatchService contentBatchService;
+    private final ContentBundleService contentBundleService;
+    private final ProcedureSequenceService procedureSequenceService;
 
     @GetMapping
     public ResponseEntity<Page<ProcedureDTO>> getAllProcedures(@RequestParam int page,
-                                                               @RequestParam int size)
+                                                               @RequestParam int size,
+                                                               @RequestParam(required = false) String view)
 
     {
         Pageable pageable = PageRequest.of(page,size);
-        return ResponseEntity.ok(procedureService.findAllProcedures(pageable));
+        ListView listView = ListView.fromParam(view);
+        Page<ProcedureDTO> procedures = procedureService.findAllProcedures(pageable, listView);
+        return ResponseEntity.ok()
+                .eTag(ContentETags.ofPage(TargetType.PROCEDURE, procedures, ProcedureDTO::getId, ProcedureDTO::getUpdatedAt, listView))
+                .cacheControl(ContentETags.LIST)
+                .body(procedures);
     }
+
+    /** id を並べて一括取得（?ids=1,2,3、最大 {@value ContentBatchService#MAX_IDS} 件）。summary 表示でリクエスト順、公開中のものだけ */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ProcedureDTO>> getProceduresByIds(@RequestParam List<Long> ids) {
+        List<ProcedureDTO> rows = contentBatchService.procedures(ids);
+        return ResponseEntity.ok()
+                .eTag(ContentETags.ofRows(TargetType.PROCEDURE, rows, ProcedureDTO::getId, ProcedureDTO::getUpdatedAt, "ids"))
+                .cacheControl(ContentETags.LIST)
+                .body(rows);
+    }
+
+    /** キーセット一覧。次ページは nextCursor をそのまま cursor に渡す。総件数は withTotal=true のときだけ数える */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<ProcedureDTO>> getProceduresByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam(required = false) String view) {
+        ListView listView = ListView.fromParam(view);
+        CursorPageResponse<ProcedureDTO> page = procedureService.findProceduresByCursor(cursor, CursorPageResponse.clampSize(size), withTotal, listView);
+        return ResponseEntity.ok()
+                .eTag(ContentETags.ofCursorPage(TargetType.PROCEDURE, page, ProcedureDTO::getId, ProcedureDTO::getUpdatedAt, listView))
+                .cacheControl(ContentETags.LIST)
+                .body(page);
+    }
+    /** 「続きから学ぶ」。学習順で最初の未読の手順（全部読んでいれば next は null） */
+    @GetMapping("/next-unread")
+    public ResponseEntity<NextUnreadResponse> getNextUnread(AuthUser user) {
+        return ResponseEntity.ok()
+                .cacheControl(ContentETags.PERSONAL)
+                .body(procedureSequenceService.nextUnread(user.requireUserId()));
+    }
+
+    /** If-None-Match が現在の版と一致すれば本文を読まずに 304。format=html なら描画済み HTML と目次を返す */
     @GetMapping("/{id}")
-    public ResponseEntity<ProcedureDTO> getProcedureById(@PathVariable Long id)
+    public ResponseEntity<?> getProcedureById(@PathVariable Long id,
+                                              @RequestParam(defaultValue = "markdown") String format,
+                                              WebRequest request)
     {
+        boolean html = "html".equalsIgnoreCase(format);
+        Optional<String> etag = contentVersionService.etag(TargetType.PROCEDURE, id, html);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return ContentETags.notModified(etag.get());
+        }
+        return detail(id, html, request);
+    }
+
+    /**
+     * ページ表示に要るものを 1 回で返す（本体・いいね数・レビュー・コメント・Q&A、ログイン中なら既読/いいね状態）。
+     * 間に合わなかった部分は null で unavailable に名前が入る
+     */
+    @GetMapping("/{id}/bundle")
+    public ResponseEntity<ContentBundleResponse> getProcedureBundle(@PathVariable Long id, @Nullable AuthUser user) {
+        Long userId = user != null ? user.userId() : null;
+        return ResponseEntity.ok()
+                .cacheControl(userId != null ? ContentETags.PERSONAL : ContentETags.BUNDLE)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(contentBundleService.bundle(TargetType.PROCEDURE, id, userId));
+    }
+
+    /** slug から引く。slug → id と版はメモリの索引で解決するので、304 なら DB に行かない */
+    @GetMapping("/by-slug/{slug}")
+    public ResponseEntity<?> getProcedureBySlug(@PathVariable String slug,
+                                                @RequestParam(defaultValue = "markdown") String format,
+                                                WebRequest request) {
+        SlugIndexService.SlugEntry entry = slugIndexService.findPublished(TargetType.PROCEDURE, slug)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "手順が見つかりません。"));
+        boolean html = "html".equalsIgnoreCase(format);
+        String etag = ContentETags.of(TargetType.PROCEDURE, entry.id(), entry.updatedAt(), html);
+        if (request.checkNotModified(etag)) {
+            return ContentETags.notModified(etag);
+        }
+        return detail(entry.id(), html, request);
+    }
+
+    private ResponseEntity<?> detail(Long id, boolean html, WebRequest request) {
         ProcedureDTO procedure = procedureService.getProcedureById(id);
-        return ResponseEntity.ok(procedure);
+        Object body = html ? HtmlDetailResponse.of(procedure, markdownRenderService.render(procedure.getContent())) : procedure;
+        return precompressedBodyService.detail(TargetType.PROCEDURE, id, html,
+                ContentETags.of(TargetType.PROCEDURE, id, procedure.getUpdatedAt(), html), body, request);
     }
 
 
@@ -0,0 +1,54 @@
+package com.example.tech.controller;
+
+import com.example.tech.dto.LikeStatusDTO;
+import com.example.tech.enums.TargetType;
+import com.example.tech.repository.ProcedureRepository;
+import com.example.tech.security.AuthUser;
+import com.example.tech.service.ReactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/** 手順のいいね。構文のいいね（/api/syntaxes/likes）と同じ形で、保存先は reactions */
+@RestController
+@CrossOrigin("http://localhost:3000")
+@RequiredArgsConstructor
+@RequestMapping("/api/procedures/likes")
+public class ProcedureLikeController {
+
+    private final ReactionService reactionService;
+    private final ProcedureRepository procedureRepository;
+
+    /** 冪等：既にいいね済みでも 200 */
+    @PostMapping("/{procedureId}")
+    public ResponseEntity<Void> like(@Nullable AuthUser user, @PathVariable Long procedureId) {
+        Long userId = requireUserId(user);
+        if (!procedureRepository.existsById(procedureId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "手順が見つかりません。");
+        }
+        reactionService.like(userId, TargetType.PROCEDURE, procedureId);
+        return ResponseEntity.ok().build();
+    }
+
+    /** 冪等：いいねしていなくても 204 */
+    @DeleteMapping("/{procedureId}")
+    public ResponseEntity<Void> unlike(@Nullable AuthUser user, @PathVariable Long procedureId) {
+        reactionService.unlike(requireUserId(user), TargetType.PROCEDURE, procedureId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/status")
+    public LikeStatusDTO status(@Nullable AuthUser user, @RequestParam Long procedureId) {
+        boolean liked = reactionService.isLiked(requireUserId(user), TargetType.PROCEDURE, procedureId);
+        return new LikeStatusDTO(liked, reactionService.count(TargetType.PROCEDURE, procedureId));
+    }
+
+    /** /api/procedures/** は公開ルートなので、未ログインはここで 401 */
+    private static Long requireUserId(@Nullable AuthUser user) {
+        if (user == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "ログインが必要です。");
+        return user.requireUserId();
+    }
+}
@@ -1,13 +1,15 @@
 package com.example.tech.controller;
 
+import com.example.tech.dto.request.ReadBulkRequest;
+import com.example.tech.dto.response.ReadBulkResponse;
+import com.example.tech.dto.response.ReadSetResponse;
 import com.example.tech.entity.ReadStatus;
-import com.example.tech.repository.UserRepository;
-import com.example.tech.service.FirebaseAuthService;
+import com.example.tech.security.AuthUser;
+import com.example.tech.service.ReadBulkService;
 import com.example.tech.service.ReadStatusService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -19,30 +21,28 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ReadStatusController {
     private final ReadStatusService readStatusService;
-    private final FirebaseAuthService firebaseAuthService; // verifyAndGetEmail を持つ
-    private final UserRepository userRepository;
-    // 認証ユーザーID取得（例：JWTのsub→DBユーザーIDに解決）
-    private Long currentUserId(String authHeader){
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        String token = authHeader.substring("Bearer ".length());
-        String email = firebaseAuthService.verifyAndGetEmail(token);
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED))
-                .getId();
-    }
+    private final ReadBulkService readBulkService;
 
     // 一括取得（フロントの /api/{target}/read/all に対応）
     @GetMapping("/{target}/read/all")
     public List<Long> getAll(
             @PathVariable ReadStatus.Target target,
-            @RequestHeader(name="Authorization") String authHeader) {
-        return readStatusService.getAll(currentUserId(authHeader), target);
+            AuthUser user) {
+        return readStatusService.getAll(user.requireUserId(), target);
+    }
+
+    // 既読が数千件あるユーザー向けの圧縮版（?format=roaring）。既定の id 配列はそのまま
+    @GetMapping(value = "/{target}/read/all", params = "format=roaring")
+    public ReadSetResponse getAllEncoded(
+            @PathVariable ReadStatus.Target target,
+            AuthUser user) {
+        return ReadSetResponse.roaring(readStatusService.getAllEncoded(user.requireUserId(), target));
     }
 
     @PostMapping("/{target}/read") // 例: /api/procedures/read
     public ResponseEntity<Void> markReadBody(
             @PathVariable ReadStatus.Target target,
-            @RequestHeader("Authorization") String authHeader,
+            AuthUser user,
             @RequestBody Map<String, Long> body
     ){
         Long id = body.getOrDefault("contentId",
@@ -50,16 +50,26 @@ public class ReadStatusController {
                         body.getOrDefault("articleId",
                                 body.get("syntaxId"))));
         if (id == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST,"missing id");
-        readStatusService.mark(currentUserId(authHeader), target, id);
+        readStatusService.mark(user.requireUserId(), target, id);
         return ResponseEntity.noContent().build();
     }
+    // 章ごとのまとめて既読/未読（例: /api/procedures/read/bulk）
+    // {"ids":[1,2,3]} または {"fromStep":"3-1","toStep":"3-12"}、未読に戻すなら "read": false
+    @PostMapping("/{target}/read/bulk")
+    public ReadBulkResponse markReadBulk(
+            @PathVariable ReadStatus.Target target,
+            AuthUser user,
+            @RequestBody ReadBulkRequest body
+    ){
+        return readBulkService.apply(user.requireUserId(), target, body);
+    }
     // ★ 追加: 単体ステータス
     // GET /api/{target}/read/status?contentId=123
     // 互換のため procedureId/articleId/syntaxId も受け入れます
     @GetMapping("/{target}/read/status")
     public Map<String, Boolean> getStatus(
             @PathVariable ReadStatus.Target target,
-            @RequestHeader(name="Authorization") String authHeader,
+            AuthUser user,
             @RequestParam(name="contentId", required=false) Long contentId,
             @RequestParam(name="procedureId", required=false) Long procedureId,
             @RequestParam(name="articleId", required=false) Long articleId,
@@ -74,7 +84,7 @@ public class ReadStatusController {
         if (resolved == null)
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "missing content id");
 
-        boolean read = readStatusService.isRead(currentUserId(authHeader), target, resolved);
+        boolean read = readStatusService.isRead(user.requireUserId(), target, resolved);
         return Map.of("read", read);
     }
 
@@ -82,8 +92,8 @@ public class ReadStatusController {
     public ResponseEntity<Void> unmarkRead(
             @PathVariable ReadStatus.Target target,
             @PathVariable Long contentId,
-            @RequestHeader("Authorization") String authHeader) {
-        readStatusService.unmark(currentUserId(authHeader), target, contentId);
+            AuthUser user) {
+        readStatusService.unmark(user.requireUserId(), target, contentId);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,52 @@
+package com.example.tech.controller;
+
+import com.example.tech.dto.request.ReadingProgressRequest;
+import com.example.tech.dto.response.ReadingProgressResponse;
+import com.example.tech.entity.ReadStatus;
+import com.example.tech.security.AuthUser;
+import com.example.tech.service.ReadingProgressService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ReadingProgressController {
+    private final ReadingProgressService readingProgressService;
+
+    // 数秒ごとの報告を受ける。書き込みはまとめて後で行うので 202
+    // 例: PUT /api/articles/progress/12  {"percent": 40, "heading": "インストール"}
+    @PutMapping("/{target}/progress/{contentId}")
+    public ResponseEntity<Void> report(
+            @PathVariable ReadStatus.Target target,
+            @PathVariable Long contentId,
+            AuthUser user,
+            @RequestBody ReadingProgressRequest request) {
+        readingProgressService.report(user.requireUserId(), target, contentId, request.getPercent(), request.getHeading());
+        return ResponseEntity.accepted().build();
+    }
+
+    // まだ読み始めていなければ 204
+    @GetMapping("/{target}/progress/{contentId}")
+    public ResponseEntity<ReadingProgressResponse> get(
+            @PathVariable ReadStatus.Target target,
+            @PathVariable Long contentId,
+            AuthUser user) {
+        return readingProgressService.get(user.requireUserId(), target, contentId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    // 続きから読む一覧（新しい順）。/api/articles/{id} などと同じ形にならないよう種別を後ろに置く
+    // 例: GET /api/progress/articles?limit=10
+    @GetMapping("/progress/{target}")
+    public List<ReadingProgressResponse> recent(
+            @PathVariable ReadStatus.Target target,
+            AuthUser user,
+            @RequestParam(defaultValue = "20") int limit) {
+        return readingProgressService.recent(user.requireUserId(), target, Math.max(1, Math.min(limit, 100)));
+    }
+}
@@ -2,8 +2,7 @@ package com.example.tech.controller;
 
 import com.example.tech.dto.ReviewCommentDTO;
 import com.example.tech.dto.request.ReviewCommentRequest;
-import com.example.tech.repository.UserRepository;
-import com.example.tech.service.FirebaseAuthService;
+import com.example.tech.security.AuthUser;
 import com.example.tech.service.ReviewCommentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,9 +16,7 @@ import java.util.List;
 @RequestMapping("/api/review-comments")
 public class ReviewCommentController {
 
-    private final FirebaseAuthService firebaseAuthService;
     private final ReviewCommentService reviewCommentService;
-    private final UserRepository userRepository;
 
     @GetMapping
     public ResponseEntity<List<ReviewCommentDTO>> getAllComments(@RequestParam Long articleId)
@@ -29,17 +26,16 @@ public class ReviewCommentController {
     }
 
     @PostMapping
-    public ResponseEntity<?> postComment(@RequestHeader(name = "Authorization") String token,
+    public ResponseEntity<?> postComment(AuthUser user,
                                          @RequestBody ReviewCommentRequest request
                                          )
     {
-        String userEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
-        reviewCommentService.postComment(request,userEmail);
+        Long userId = user.requireAdmin().requireUserId();
+        reviewCommentService.postComment(request, userId);
         return ResponseEntity.ok("コメントしました。");
     }
     @PutMapping("/{id}")
-    public ResponseEntity<?> putComment(@RequestHeader(name = "Authorization") String token,
-                                        @RequestBody ReviewCommentRequest request,
+    public ResponseEntity<?> putComment(@RequestBody ReviewCommentRequest request,
                                         @PathVariable Long id)
     {
         reviewCommentService.putComment(id, request);
@@ -47,8 +43,7 @@ public class ReviewCommentController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteComment(@RequestHeader(name = "Authorization") String token,
-                                        @PathVariable Long id)
+    public ResponseEntity<?> deleteComment(@PathVariable Long id)
     {
 
         reviewCommentService.deleteComment(id);
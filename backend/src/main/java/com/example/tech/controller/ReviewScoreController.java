@@ -5,8 +5,7 @@ import com.example.tech.dto.request.ReviewScoreRequest;
 import com.example.tech.entity.ReviewScoreEntity;
 import com.example.tech.entity.UserEntity;
 import com.example.tech.enums.TargetType;
-import com.example.tech.repository.UserRepository;
-import com.example.tech.service.FirebaseAuthService;
+import com.example.tech.security.AuthUser;
 import com.example.tech.service.ReviewScoreService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -25,20 +24,18 @@ import java.util.Map;
 @RequestMapping("/api/review-scores")
 public class ReviewScoreController {
 
-    private final FirebaseAuthService firebaseAuthService;
     private final ReviewScoreService reviewScoreService;
-    private final UserRepository userRepository;
 
     @PostMapping("/{type}/{refId}")
     public ResponseEntity<?> postReviewScoreByType(
-            @RequestHeader(name = "Authorization") String token,
+            AuthUser user,
             @PathVariable String type,
             @PathVariable Long refId,
             @RequestBody ReviewScoreRequest request
     ) {
-        String userEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        Long userId = user.requireAdmin().requireUserId();
         TargetType targetType = TargetType.valueOf(type.toUpperCase());
-        reviewScoreService.postReviewScoreForTarget(targetType, refId, request, userEmail);
+        reviewScoreService.postReviewScoreForTarget(targetType, refId, request, userId);
         return ResponseEntity.ok("レビュー投稿完了");
     }
     @GetMapping("/{type}/{refId}")
@@ -55,27 +52,27 @@ public class ReviewScoreController {
 
     @PutMapping("/{type}/{refId}")
     public ResponseEntity<?> putReviewScoreByType(
-            @RequestHeader(name = "Authorization") String token,
+            AuthUser user,
             @PathVariable String type,
             @PathVariable Long refId,
             @RequestBody ReviewScoreRequest request
     ) {
         TargetType targetType = TargetType.valueOf(type.toUpperCase());
-        String userEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
-        reviewScoreService.updateReviewScoreForTarget(targetType, refId, request, userEmail);
+        Long userId = user.requireAdmin().requireUserId();
+        reviewScoreService.updateReviewScoreForTarget(targetType, refId, request, userId);
         return ResponseEntity.ok("レビュー更新完了");
     }
 
     @GetMapping("/my/{type}/{refId}")
     public ResponseEntity<?> getMyReviewScore(
-            @RequestHeader("Authorization") String token,
+            AuthUser user,
             @PathVariable String type,
             @PathVariable Long refId
     ) {
-        String userEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
+        Long userId = user.requireAdmin().requireUserId();
         TargetType targetType = TargetType.valueOf(type.toUpperCase());
 
-        return reviewScoreService.findMyScore(targetType, refId, userEmail)
+        return reviewScoreService.findMyScore(targetType, refId, userId)
                 .map(entity -> {
                     Map<String, Object> body = new HashMap<>();
                     body.put("score", entity.getScore()); // doubleなのでnullにならない
@@ -97,38 +94,37 @@ public class ReviewScoreController {
 
 
     @PostMapping
-    public ResponseEntity<?> postReviewScore(@RequestHeader(name = "Authorization")String token,
+    public ResponseEntity<?> postReviewScore(AuthUser user,
                                              @RequestBody ReviewScoreRequest request)
     {
-        String userEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
-        reviewScoreService.postReviewScore(request, userEmail);
+        Long userId = user.requireAdmin().requireUserId();
+        reviewScoreService.postReviewScore(request, userId);
         return ResponseEntity.ok("レビュー投稿完了");
 
     }
     @PutMapping
-    public ResponseEntity<?> putReviewScore(@RequestHeader(name = "Authorization")String token,
+    public ResponseEntity<?> putReviewScore(AuthUser user,
                                              @RequestBody ReviewScoreRequest request
                                             )
     {
-        String userEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
-        reviewScoreService.putReviewScore(request, userEmail);
+        Long userId = user.requireAdmin().requireUserId();
+        reviewScoreService.putReviewScore(request, userId);
         return ResponseEntity.ok("レビュー更新完了");
 
     }
 
     @GetMapping
-    public ResponseEntity<ReviewScoreDTO> getMyReviewScore(@RequestHeader(name = "Authorization")String token,
+    public ResponseEntity<ReviewScoreDTO> getMyReviewScore(AuthUser user,
                                                               @RequestParam Long articleId)
     {
-        String userEmail = firebaseAuthService.verifyAdminAndGetEmail(token);
-        ReviewScoreDTO scoreDTO = reviewScoreService.getMyScore(articleId, userEmail);
+        Long userId = user.requireAdmin().requireUserId();
+        ReviewScoreDTO scoreDTO = reviewScoreService.getMyScore(articleId, userId);
 
         return ResponseEntity.ok(scoreDTO);
 
     }
     @GetMapping("/all")
-    public ResponseEntity<List<ReviewScoreDTO>> getAllReviewScore(@RequestHeader(name = "Authorization")String token,
-                                                                  @RequestParam Long articleId)
+    public ResponseEntity<List<ReviewScoreDTO>> getAllReviewScore(@RequestParam Long articleId)
     {
         List<ReviewScoreDTO> scoreDTOList = reviewScoreService.getAllReviewScore(articleId);
         return ResponseEntity.ok(scoreDTOList);
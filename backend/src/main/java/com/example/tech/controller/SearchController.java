@@ -0,0 +1,41 @@
+package com.example.tech.controller;
+
+import com.example.tech.dto.response.SearchResponse;
+import com.example.tech.search.SearchDocType;
+import com.example.tech.search.SearchIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@CrossOrigin("http://localhost:3000")
+@RequiredArgsConstructor
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+
+    /** 全文検索。type は article / syntax / procedure / qa（省略時は全部） */
+    @GetMapping
+    public ResponseEntity<SearchResponse> search(@RequestParam(defaultValue = "") String q,
+                                                 @RequestParam(required = false) String type,
+                                                 @RequestParam(defaultValue = "0") int offset,
+                                                 @RequestParam(defaultValue = "10") int limit) {
+        SearchDocType docType;
+        try {
+            docType = SearchDocType.fromParam(type);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        int size = Math.max(1, Math.min(limit, SearchResponse.MAX_LIMIT));
+        int from = Math.max(0, offset);
+        if (q.isBlank()) {
+            return ResponseEntity.ok(new SearchResponse(q, 0, from, size, List.of()));
+        }
+        return ResponseEntity.ok(searchIndexService.search(q.trim(), docType, from, size));
+    }
+}
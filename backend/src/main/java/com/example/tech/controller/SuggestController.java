@@ -0,0 +1,31 @@
+package com.example.tech.controller;
+
+import com.example.tech.dto.response.SuggestResponse;
+import com.example.tech.search.SuggestIndex;
+import com.example.tech.search.SuggestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@CrossOrigin("http://localhost:3000")
+@RequiredArgsConstructor
+@RequestMapping("/api/suggest")
+public class SuggestController {
+
+    /** 打鍵ごとに同じ接頭辞を何度も引くので、ブラウザ側でも少しだけ持たせる */
+    private static final CacheControl CACHE = CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic();
+
+    private final SuggestService suggestService;
+
+    /** タイトル/slug の前方一致。人気順に最大 limit 件 */
+    @GetMapping
+    public ResponseEntity<SuggestResponse> suggest(@RequestParam(defaultValue = "") String q,
+                                                   @RequestParam(defaultValue = "8") int limit) {
+        int size = Math.max(1, Math.min(limit, SuggestIndex.K));
+        return ResponseEntity.ok().cacheControl(CACHE).body(suggestService.suggest(q, size));
+    }
+}
@@ -1,13 +1,34 @@
 package com.example.tech.controller;
 
 import com.example.tech.dto.SyntaxDTO;
+import com.example.tech.dto.response.ContentBundleResponse;
+import com.example.tech.dto.response.CursorPageResponse;
+import com.example.tech.dto.response.HtmlDetailResponse;
+import com.example.tech.enums.ListView;
+import com.example.tech.enums.TargetType;
+import com.example.tech.security.AuthUser;
+import com.example.tech.service.ContentBatchService;
+import com.example.tech.service.ContentBundleService;
+import com.example.tech.service.ContentVersionService;
+import com.example.tech.service.MarkdownRenderService;
+import com.example.tech.service.PrecompressedBodyService;
+import com.example.tech.service.SlugIndexService;
 import com.example.tech.service.SyntaxService;
+import com.example.tech.utils.ContentETags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @CrossOrigin("http://localhost:3000")
@@ -16,19 +37,97 @@ import org.springframework.web.bind.annotation.*;
 public class SyntaxController {
 
     private final SyntaxService syntaxService;
+    private final ContentVersionService contentVersionService;
+    private final MarkdownRenderService markdownRenderService;
+    private final SlugIndexService slugIndexService;
+    private final PrecompressedBodyService precompressedBodyService;
+    private final ContentBatchService contentBatchService;
+    private final ContentBundleService contentBundleService;
 
     @GetMapping
     public ResponseEntity<Page<SyntaxDTO>> getAllSyntaxes(@RequestParam int page,
-                                                          @RequestParam int size) {
+                                                          @RequestParam int size,
+                                                          @RequestParam(required = false) String view) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<SyntaxDTO> syntaxDTOS = syntaxService.getAllArticles(pageable);
-        return ResponseEntity.ok(syntaxDTOS);
+        ListView listView = ListView.fromParam(view);
+        Page<SyntaxDTO> syntaxDTOS = syntaxService.getAllArticles(pageable, listView);
+        return ResponseEntity.ok()
+                .eTag(ContentETags.ofPage(TargetType.SYNTAX, syntaxDTOS, SyntaxDTO::getId, SyntaxDTO::getUpdatedAt, listView))
+                .cacheControl(ContentETags.LIST)
+                .body(syntaxDTOS);
+    }
+
+    /** id を並べて一括取得（?ids=1,2,3、最大 {@value ContentBatchService#MAX_IDS} 件）。summary 表示でリクエスト順、公開中のものだけ */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<SyntaxDTO>> getSyntaxesByIds(@RequestParam List<Long> ids) {
+        List<SyntaxDTO> rows = contentBatchService.syntaxes(ids);
+        return ResponseEntity.ok()
+                .eTag(ContentETags.ofRows(TargetType.SYNTAX, rows, SyntaxDTO::getId, SyntaxDTO::getUpdatedAt, "ids"))
+                .cacheControl(ContentETags.LIST)
+                .body(rows);
     }
+
+    /** キーセット一覧。次ページは nextCursor をそのまま cursor に渡す。総件数は withTotal=true のときだけ数える */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<SyntaxDTO>> getSyntaxesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam(required = false) String view) {
+        ListView listView = ListView.fromParam(view);
+        CursorPageResponse<SyntaxDTO> page = syntaxService.getSyntaxesByCursor(cursor, CursorPageResponse.clampSize(size), withTotal, listView);
+        return ResponseEntity.ok()
+                .eTag(ContentETags.ofCursorPage(TargetType.SYNTAX, page, SyntaxDTO::getId, SyntaxDTO::getUpdatedAt, listView))
+                .cacheControl(ContentETags.LIST)
+                .body(page);
+    }
+    /** If-None-Match が現在の版と一致すれば本文を読まずに 304。format=html なら描画済み HTML と目次を返す */
     @GetMapping("/{id}")
-    public ResponseEntity<SyntaxDTO> getSyntaxDetail(@PathVariable Long id)
+    public ResponseEntity<?> getSyntaxDetail(@PathVariable Long id,
+                                             @RequestParam(defaultValue = "markdown") String format,
+                                             WebRequest request)
     {
+        boolean html = "html".equalsIgnoreCase(format);
+        Optional<String> etag = contentVersionService.etag(TargetType.SYNTAX, id, html);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return ContentETags.notModified(etag.get());
+        }
+        return detail(id, html, request);
+    }
+
+    /**
+     * ページ表示に要るものを 1 回で返す（本体・いいね数・レビュー・コメント・Q&A、ログイン中なら既読/いいね状態）。
+     * 間に合わなかった部分は null で unavailable に名前が入る
+     */
+    @GetMapping("/{id}/bundle")
+    public ResponseEntity<ContentBundleResponse> getSyntaxBundle(@PathVariable Long id, @Nullable AuthUser user) {
+        Long userId = user != null ? user.userId() : null;
+        return ResponseEntity.ok()
+                .cacheControl(userId != null ? ContentETags.PERSONAL : ContentETags.BUNDLE)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(contentBundleService.bundle(TargetType.SYNTAX, id, userId));
+    }
+
+    /** slug から引く。slug → id と版はメモリの索引で解決するので、304 なら DB に行かない */
+    @GetMapping("/by-slug/{slug}")
+    public ResponseEntity<?> getSyntaxBySlug(@PathVariable String slug,
+                                             @RequestParam(defaultValue = "markdown") String format,
+                                             WebRequest request) {
+        SlugIndexService.SlugEntry entry = slugIndexService.findPublished(TargetType.SYNTAX, slug)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "構文が見つかりません。"));
+        boolean html = "html".equalsIgnoreCase(format);
+        String etag = ContentETags.of(TargetType.SYNTAX, entry.id(), entry.updatedAt(), html);
+        if (request.checkNotModified(etag)) {
+            return ContentETags.notModified(etag);
+        }
+        return detail(entry.id(), html, request);
+    }
+
+    private ResponseEntity<?> detail(Long id, boolean html, WebRequest request) {
         SyntaxDTO syntax = syntaxService.findById(id);
-        return ResponseEntity.ok(syntax);
+        Object body = html ? HtmlDetailResponse.of(syntax, markdownRenderService.render(syntax.getContent())) : syntax;
+        return precompressedBodyService.detail(TargetType.SYNTAX, id, html,
+                ContentETags.of(TargetType.SYNTAX, id, syntax.getUpdatedAt(), html), body, request);
     }
 
 }
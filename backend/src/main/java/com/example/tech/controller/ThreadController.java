@@ -2,15 +2,13 @@
 package com.example.tech.controller;
 
 import com.example.tech.api.MessageDto;
-import com.example.tech.api.ThreadDto;
 import com.example.tech.api.ThreadWithMessagesDto;
 import com.example.tech.domain.Category;
 import com.example.tech.domain.TargetType;
 import com.example.tech.domain.ThreadEntity;
 import com.example.tech.domain.ThreadMessageEntity;
-import com.example.tech.entity.UserEntity;
 import com.example.tech.repository.ThreadMessageRepository;
-import com.example.tech.repository.UserRepository;
+import com.example.tech.security.AuthUser;
 import com.example.tech.service.ThreadService;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
@@ -21,14 +19,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-import java.util.Optional;
 
 /**
  * ThreadController
  * - 対象(type/refId) × カテゴリ(category) のスレッドを find-or-create
  * - スレッド配下のメッセージ CRUD
- * 認証ユーザーIDは SecurityContextHolder（principal=email）から取得。
+ * 認証ユーザーIDは SecurityContextHolder（principal=AuthUser）から取得。
  */
 @RestController
 @RequestMapping("/api")
@@ -37,7 +33,6 @@ public class ThreadController {
 
     private final ThreadService threadService;
     private final ThreadMessageRepository threadMessageRepository;
-    private final UserRepository userRepository;
 
     // ========================= Helpers =========================
     /** "articles" / "syntaxes" / "procedures" / 大文字小文字 を吸収して Enum 化 */
@@ -75,15 +70,15 @@ public class ThreadController {
         }
     }
 
-    /** 現在のログインユーザーの email を principal から取得 */
-    private String currentUserEmail() {
+    /** 現在のログインユーザーを principal から取得（ユーザーIDはフィルタで解決済み） */
+    private AuthUser currentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated()) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        String email = auth.getName();
-        if (email == null || email.isBlank()) {
+        if (!(auth.getPrincipal() instanceof AuthUser user)
+                || user.email() == null || user.email().isBlank()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "email missing");
         }
-        return email;
+        return user;
     }
 
     // ========================= APIs =========================
@@ -96,40 +91,7 @@ public class ThreadController {
             @PathVariable Long refId,
             @PathVariable String category
     ) {
-        TargetType targetType = parseTargetType(type);
-        Category categoryEnum = parseCategory(category);
-
-        var threadOpt = threadService.find(targetType, refId, categoryEnum);
-        if (threadOpt.isEmpty()) {
-            return new ThreadWithMessagesDto(
-                    new ThreadDto(null, targetType, refId, categoryEnum),
-                    List.of()
-            );
-        }
-        var thread = threadOpt.get();
-
-        List<MessageDto> messages = threadMessageRepository
-                .findByThread_IdOrderByIdDesc(thread.getId())
-                .stream()
-                .map(m -> new MessageDto(
-                        m.getId(),
-                        thread.getId(),
-                        m.getUserId(),          // email 文字列
-                        m.getBody(),
-                        m.getCreatedAt(),
-                        m.getUpdatedAt()
-                ))
-                .toList();
-
-        ThreadDto threadDto = new ThreadDto(
-                thread.getId(),
-                thread.getTargetType(),
-                thread.getRefId(),
-                thread.getCategory()
-        );
-
-        // ThreadWithMessagesDto は { thread, messages } の形
-        return new ThreadWithMessagesDto(threadDto, messages);
+        return threadService.getWithMessages(parseTargetType(type), refId, parseCategory(category));
     }
 
     // POST /api/{type}/{refId}/{category}/messages  … メッセージ作成
@@ -150,16 +112,15 @@ public class ThreadController {
         Category categoryEnum = parseCategory(category);
 
         ThreadEntity thread = threadService.getOrCreate(targetType, refId, categoryEnum);
-        String email = currentUserEmail();
-        Optional<UserEntity> userOpt = userRepository.findByEmail(email);
+        AuthUser user = currentUser();
 
-        if (userOpt.isEmpty()) {
+        if (!user.isRegistered()) {
             return ResponseEntity.ok().build();  // 認証は通ってるが未登録
             // return ResponseEntity.status(404).build();                    // 見つからない
             // return ResponseEntity.ok().build();                           // 200で空返し（UIで無視）
         }
 
-        Long userId = userOpt.get().getId();
+        Long userId = user.userId();
 
         ThreadMessageEntity entity = ThreadMessageEntity.builder()
                 .thread(thread)
@@ -191,14 +152,13 @@ public class ThreadController {
         ThreadMessageEntity existing = threadMessageRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
-        // 現在ユーザー（email → User → Long id）
-        String email = currentUserEmail();
-        var userOpt = userRepository.findByEmail(email);
-        if (userOpt.isEmpty()) {
+        // 現在ユーザー（principal に解決済みの Long id）
+        AuthUser user = currentUser();
+        if (!user.isRegistered()) {
             // 認証は通っているがアプリ側ユーザー未登録
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "user not registered");
         }
-        Long currentUserId = userOpt.get().getId();
+        Long currentUserId = user.userId();
 
         // 自分のメッセージ以外は 403（※管理者は許可したいなら isAdmin() で例外）
         if (!currentUserId.equals(existing.getUserId()) && !isAdmin()) {
@@ -234,14 +194,13 @@ public class ThreadController {
         ThreadMessageEntity existing = threadMessageRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
-        // 現在ユーザー（email → User → Long id）
-        String email = currentUserEmail();
-        var userOpt = userRepository.findByEmail(email);
-        if (userOpt.isEmpty()) {
+        // 現在ユーザー（principal に解決済みの Long id）
+        AuthUser user = currentUser();
+        if (!user.isRegistered()) {
             // 認証は通ってるがアプリ側ユーザー未登録
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "user not registered");
         }
-        Long currentUserId = userOpt.get().getId();
+        Long currentUserId = user.userId();
 
         // 自分の投稿でなければ 403（管理者は許可したいなら isAdmin() で例外）
         if (!currentUserId.equals(existing.getUserId()) && !isAdmin()) {
@@ -2,12 +2,14 @@
 package com.example.tech.controller;
 
 import com.example.tech.dto.*;
+import com.example.tech.dto.response.CategoryCompletionResponse;
 import com.example.tech.entity.UserEntity;
 import com.example.tech.repository.ArticleRepository;
 import com.example.tech.repository.LikeRepository;
 import com.example.tech.repository.UserRepository;
+import com.example.tech.security.AuthUser;
 import com.example.tech.service.ArticleReadService;
-import com.example.tech.service.FirebaseAuthService;
+import com.example.tech.service.CategoryCompletionService;
 import com.example.tech.service.LikeService;
 import com.example.tech.service.UserStatusService;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @CrossOrigin(
@@ -30,74 +33,65 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
 
-    private final FirebaseAuthService firebaseAuthService;
     private final UserRepository userRepository;
     private final UserStatusService userStatusService;
+    private final CategoryCompletionService categoryCompletionService;
     private final ArticleReadService articleReadService;
     private final ArticleRepository articleRepository;
     private final LikeService likeService;// 未使用なら削除してOK
 
-    /** "Bearer xxx" の前置詞を除去 */
-    private String stripBearer(String token) {
-        if (token == null) return "";
-        return token.replaceFirst("^Bearer\\s+", "");
-    }
-
     @GetMapping("/me")
-    public ResponseEntity<UserDTO> getMe(@RequestHeader("Authorization") String token) {
-        final String email = firebaseAuthService.verifyAndGetEmail(stripBearer(token));
-        final UserEntity user = userRepository.findByEmail(email)
+    public ResponseEntity<UserDTO> getMe(AuthUser user) {
+        final UserEntity entity = Optional.ofNullable(user.userId())
+                .flatMap(userRepository::findById)
                 .orElseThrow(() -> new RuntimeException("該当ユーザーがDBに存在しません"));
-        return ResponseEntity.ok(UserDTO.of(user));
+        return ResponseEntity.ok(UserDTO.of(entity));
     }
 
     /** 既存：自分のステータス */
     @GetMapping("/status/mine")
-    public ResponseEntity<UserStatusDTO> getMyStatus(@RequestHeader("Authorization") String token) {
-        final String email = firebaseAuthService.verifyAndGetEmail(stripBearer(token));
-        final UserEntity user = userRepository.findByEmail(email)
+    public ResponseEntity<UserStatusDTO> getMyStatus(AuthUser user) {
+        final Long userId = Optional.ofNullable(user.userId())
                 .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-        final Long userId = user.getId();
         final UserStatusDTO status = userStatusService.getStatus(userId);
         return ResponseEntity.ok(status);
     }
 
     /** 互換用：/api/user/stats も同じ DTO を返す */
     @GetMapping("/user/stats")
-    public ResponseEntity<UserStatusDTO> getMyStatsCompat(@RequestHeader("Authorization") String token) {
-        final String email = firebaseAuthService.verifyAndGetEmail(stripBearer(token));
-        final UserEntity user = userRepository.findByEmail(email)
+    public ResponseEntity<UserStatusDTO> getMyStatsCompat(AuthUser user) {
+        final Long userId = Optional.ofNullable(user.userId())
                 .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-        final Long userId = user.getId();
         final UserStatusDTO status = userStatusService.getStatus(userId);
         return ResponseEntity.ok(status);
     }
 
+    /** カテゴリ別の達成率（記事・構文・手順の既読 / 公開中の件数） */
+    @GetMapping("/status/completion")
+    public ResponseEntity<List<CategoryCompletionResponse>> getMyCompletion(AuthUser user) {
+        return ResponseEntity.ok(categoryCompletionService.completion(user.requireUserId()));
+    }
+
     @GetMapping("/user/actions/calendar")
     public ResponseEntity<List<CalendarActionDTO>> getCalendarActions(
-            @RequestHeader("Authorization") String token,
+            AuthUser user,
             @RequestParam int year,
             @RequestParam int month
     ) {
-        final String email = firebaseAuthService.verifyAndGetEmail(stripBearer(token));
-        final List<CalendarActionDTO> list = userStatusService.getCalendarActions(email, year, month);
+        final List<CalendarActionDTO> list = userStatusService.getCalendarActions(user.requireUserId(), year, month);
         return ResponseEntity.ok(list);
     }
 
     @GetMapping("/user/actions/history")
     public ResponseEntity<List<ActionHistoryDTO>> getActionHistories(
-            @RequestHeader("Authorization") String token,
+            AuthUser user,
             @RequestParam(defaultValue = "10") int limit
     ) {
-        final String email = firebaseAuthService.verifyAndGetEmail(stripBearer(token));
-        if (email == null || email.isBlank()) return ResponseEntity.status(401).build();
-
         // （ユーザー未登録で落ちるのを回避）
-        final var userOpt = userRepository.findByEmail(email);
-        if (userOpt.isEmpty()) return ResponseEntity.status(404).build();
+        if (!user.isRegistered()) return ResponseEntity.status(404).build();
 
         try {
-            final List<ActionHistoryDTO> list = userStatusService.getActionHistories(email, limit);
+            final List<ActionHistoryDTO> list = userStatusService.getActionHistories(user.userId(), limit);
             return ResponseEntity.ok(list != null ? list : List.of());
         } catch (Exception e) {
             e.printStackTrace();                    // 本番では logger.warn/error 推奨
@@ -106,9 +100,8 @@ public class UserController {
     }
 
     @GetMapping("/articles/liked")
-    public List<ArticleDTO> getLikedArticles(@RequestHeader("Authorization") String token) {
-        String email = firebaseAuthService.verifyAndGetEmail(token);
-        return likeService.likedArticles(email);
+    public List<ArticleDTO> getLikedArticles(AuthUser user) {
+        return likeService.likedArticles(user.requireUserId());
     }
 
 }
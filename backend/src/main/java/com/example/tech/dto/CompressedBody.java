@@ -0,0 +1,17 @@
+package com.example.tech.dto;
+
+/**
+ * 単体レスポンスの JSON を gzip 済みで持っておくための値。
+ * etag はこの圧縮を作ったときの版で、現在の版と違えば使わない（作り直す）。
+ * gzip が null のものは「この版は小さすぎて圧縮しない」印（毎回シリアライズして捨てないように覚えておく）。
+ */
+public record CompressedBody(String etag, byte[] gzip) {
+
+    public static CompressedBody tooSmall(String etag) {
+        return new CompressedBody(etag, null);
+    }
+
+    public boolean compressed() {
+        return gzip != null;
+    }
+}
@@ -25,4 +25,20 @@ public class ProcedureDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // 一覧の summary 表示用（JPQL のコンストラクタ式と順序を合わせる。content は読まない）
+    public ProcedureDTO(
+            Long id,
+            String stepNumber,
+            String slug,
+            String title,
+            String userEmail,
+            String authorName,
+            String category,
+            String imageUrl,
+            boolean published,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt
+    ) {
+        this(id, stepNumber, slug, title, userEmail, authorName, category, null, imageUrl, published, createdAt, updatedAt);
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.tech.dto;
+
+import java.util.List;
+
+/**
+ * Markdown 本文のレンダリング結果（サニタイズ済み HTML と見出し目次）。
+ * contentHash はレンダリング元 Markdown の SHA-256 で、キャッシュのキーにもなる。
+ */
+public record RenderedContent(String contentHash, String html, List<TocEntry> toc) {
+
+    /** 目次の 1 行。anchor は HTML 側の見出しの id と一致する */
+    public record TocEntry(int level, String text, String anchor) {}
+}
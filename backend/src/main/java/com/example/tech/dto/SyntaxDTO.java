@@ -22,4 +22,21 @@ public class SyntaxDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private boolean published;
+
+    // 一覧の summary 表示用（JPQL のコンストラクタ式と順序を合わせる。content は読まない）
+    public SyntaxDTO(
+            Long id,
+            String slug,
+            String title,
+            String userEmail,
+            String displayName,
+            String authorName,
+            String category,
+            String summary,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            boolean published
+    ) {
+        this(id, slug, title, userEmail, displayName, authorName, category, summary, null, createdAt, updatedAt, published);
+    }
 }
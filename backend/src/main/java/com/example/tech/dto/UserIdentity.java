@@ -0,0 +1,5 @@
+package com.example.tech.dto;
+
+/** email → ユーザーID 解決用の軽量キャッシュ値 */
+public record UserIdentity(Long id, String email, String displayName) {
+}
@@ -0,0 +1,17 @@
+package com.example.tech.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadBulkRequest {
+    private List<Long> ids;       // id を並べて指定
+    private String fromStep;      // または手順番号の範囲（procedures のみ。例: "3-1"〜"3-12"）
+    private String toStep;
+    private Boolean read;         // false なら未読に戻す（省略時 true）
+}
@@ -0,0 +1,13 @@
+package com.example.tech.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadingProgressRequest {
+    private Integer percent;  // スクロール位置 0〜100
+    private String heading;   // 最後に通過した見出し（任意）
+}
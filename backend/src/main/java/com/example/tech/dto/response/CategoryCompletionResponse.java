@@ -0,0 +1,19 @@
+package com.example.tech.dto.response;
+
+import com.example.tech.entity.ReadStatus;
+
+import java.util.List;
+
+/**
+ * カテゴリ別の達成率（/api/status/completion）。read / total は記事・構文・手順の合計で、parts に種別ごとの内訳。
+ * percent は切り捨ての整数（公開中のものが無いカテゴリは返さない）
+ */
+public record CategoryCompletionResponse(
+        String category,
+        int read,
+        int total,
+        int percent,
+        List<Part> parts
+) {
+    public record Part(ReadStatus.Target target, int read, int total) {}
+}
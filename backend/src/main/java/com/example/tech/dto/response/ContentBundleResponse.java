@@ -0,0 +1,35 @@
+package com.example.tech.dto.response;
+
+import com.example.tech.api.ThreadWithMessagesDto;
+import com.example.tech.dto.ReviewScoreDTO;
+
+import java.util.List;
+
+/**
+ * 記事/構文/手順ページ 1 枚分の合成レスポンス（/api/{type}/{id}/bundle）。
+ * item 〜 qa は誰が見ても同じ部分（サーバ側で短時間キャッシュ）、viewer はログインユーザー固有の部分（匿名なら null）。
+ * unavailable には時間内に取れなかった/失敗した部分の名前が入り、その部分は null になる。
+ */
+public record ContentBundleResponse(
+        Object item,
+        Long likeCount,
+        List<ReviewScoreDTO> reviewScores,
+        ThreadWithMessagesDto comments,
+        ThreadWithMessagesDto qa,
+        Viewer viewer,
+        List<String> unavailable
+) {
+
+    /** 匿名で共有できる部分。キャッシュにはこの形で入れる */
+    public record PublicPart(
+            Object item,
+            Long likeCount,
+            List<ReviewScoreDTO> reviewScores,
+            ThreadWithMessagesDto comments,
+            ThreadWithMessagesDto qa,
+            List<String> unavailable
+    ) {}
+
+    /** read / liked は取れなかったとき null */
+    public record Viewer(Boolean read, Boolean liked) {}
+}
@@ -0,0 +1,14 @@
+package com.example.tech.dto.response;
+
+/**
+ * 一覧ページの 1 行分のステータス（/api/{target}/status/bulk）。
+ * liked / read は本人の状態なので匿名なら null。averageScore はレビューが無ければ null
+ */
+public record ContentStatusResponse(
+        Long id,
+        Boolean liked,
+        long likeCount,
+        Boolean read,
+        Double averageScore,
+        long reviewCount
+) {}
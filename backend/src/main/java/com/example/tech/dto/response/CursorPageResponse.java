@@ -0,0 +1,36 @@
+package com.example.tech.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * キーセットページングの 1 ページ。
+ * totalElements は withTotal=true のときだけ数える（それ以外は null＝count(*) を発行しない）。
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        String nextCursor,   // 次ページが無ければ null
+        boolean hasNext,
+        int size,
+        Long totalElements
+) {
+
+    public static final int MAX_SIZE = 100;
+
+    /** 1..MAX_SIZE に丸める */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /** size + 1 件取得した rows から 1 ページ分を組み立てる（余った 1 件で次ページ有無を判定） */
+    public static <E, T> CursorPageResponse<T> of(List<E> rows,
+                                                  int size,
+                                                  Function<E, String> cursorOf,
+                                                  Function<E, T> mapper,
+                                                  Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPageResponse<>(page.stream().map(mapper).toList(), next, hasNext, size, totalElements);
+    }
+}
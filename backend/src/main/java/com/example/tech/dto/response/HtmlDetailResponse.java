@@ -0,0 +1,21 @@
+package com.example.tech.dto.response;
+
+import com.example.tech.dto.RenderedContent;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.List;
+
+/**
+ * 詳細 GET の format=html 応答。DTO の項目はそのまま平たく出し、Markdown の content の代わりに html と toc を返す。
+ */
+public record HtmlDetailResponse<T>(
+        @JsonUnwrapped @JsonIgnoreProperties("content") T item,
+        String contentHash,
+        String html,
+        List<RenderedContent.TocEntry> toc
+) {
+    public static <T> HtmlDetailResponse<T> of(T item, RenderedContent rendered) {
+        return new HtmlDetailResponse<>(item, rendered.contentHash(), rendered.html(), rendered.toc());
+    }
+}
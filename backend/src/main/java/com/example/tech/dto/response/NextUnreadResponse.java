@@ -0,0 +1,12 @@
+package com.example.tech.dto.response;
+
+/**
+ * 「続きから学ぶ」（/api/procedures/next-unread）。next は学習順で最初の未読の手順。全部読み終えていれば null
+ */
+public record NextUnreadResponse(
+        Step next,
+        int readCount,
+        int total
+) {
+    public record Step(Long id, String slug, String title, String stepNumber) {}
+}
@@ -0,0 +1,12 @@
+package com.example.tech.dto.response;
+
+import java.util.List;
+
+/**
+ * 一括既読/未読（/api/{target}/read/bulk）の結果。ids は反映したもの、skipped は存在しない・非公開で飛ばしたもの
+ */
+public record ReadBulkResponse(
+        boolean read,
+        List<Long> ids,
+        List<Long> skipped
+) {}
@@ -0,0 +1,16 @@
+package com.example.tech.dto.response;
+
+/**
+ * 既読 id 集合のコンパクト表現（/api/{target}/read/all?format=roaring）。
+ * data は RoaringBitmap の portable 形式を Base64 にしたもの（roaring の各言語実装でそのまま読める）
+ */
+public record ReadSetResponse(
+        String encoding,
+        String data
+) {
+    public static final String ROARING = "roaring-portable-base64";
+
+    public static ReadSetResponse roaring(String data) {
+        return new ReadSetResponse(ROARING, data);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.tech.dto.response;
+
+import java.time.Instant;
+
+/** 読み進み具合（/api/{target}/progress/{contentId}, /api/progress/{target}）。書き戻し前の値もそのまま返す */
+public record ReadingProgressResponse(
+        Long contentId,
+        int percent,
+        String heading,
+        Instant updatedAt
+) {}
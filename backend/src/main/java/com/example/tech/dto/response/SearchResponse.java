@@ -0,0 +1,27 @@
+package com.example.tech.dto.response;
+
+import com.example.tech.enums.TargetType;
+import com.example.tech.search.SearchDocType;
+
+import java.util.List;
+
+/**
+ * /api/search の応答。snippet は HTML エスケープ済みで、一致箇所だけ &lt;mark&gt; で囲んである。
+ * type=QA のときは parentType/parentId が質問の付いている記事/構文/手順。
+ */
+public record SearchResponse(String query, int total, int offset, int limit, List<Hit> hits) {
+
+    public static final int MAX_LIMIT = 50;
+
+    public record Hit(
+            SearchDocType type,
+            Long id,
+            String slug,
+            String title,
+            String category,
+            String snippet,
+            double score,
+            TargetType parentType,
+            Long parentId
+    ) {}
+}
@@ -0,0 +1,11 @@
+package com.example.tech.dto.response;
+
+import com.example.tech.search.SearchDocType;
+
+import java.util.List;
+
+/** /api/suggest の応答。items は人気順（いいね・既読の多い順） */
+public record SuggestResponse(String query, List<Item> items) {
+
+    public record Item(SearchDocType type, Long id, String slug, String title) {}
+}
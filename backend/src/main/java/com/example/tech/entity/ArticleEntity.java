@@ -12,7 +12,13 @@ import java.time.LocalDateTime;
 @Entity
 @Data
 @AllArgsConstructor
-@Table(name = "articles")
+@Table(
+        name = "articles",
+        indexes = {
+                // 公開一覧のキーセットページング（is_published, created_at DESC, id DESC）
+                @Index(name = "idx_articles_published_created_id", columnList = "is_published, created_at DESC, id DESC")
+        }
+)
 @NoArgsConstructor
 public class ArticleEntity {
     @Id
@@ -0,0 +1,46 @@
+package com.example.tech.entity;
+
+import com.example.tech.enums.TargetType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * いいね数の非正規化テーブル。正は reactions で、ここは LikeCounterService がまとめて書き戻す写し。
+ * 外部（BI 等）から件数だけ読むために使う。アプリは読まない（起動時の種まきは reactions を数え、
+ * ここは現在値と違う行を書き戻し待ちに入れるための突き合わせにだけ使う）。
+ */
+@Entity
+@Table(
+        schema = "public",
+        name = "like_counts",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uq_like_counts_target_content",
+                columnNames = {"target", "content_id"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class LikeCountEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 小文字で保存（TargetTypeConverter） */
+    @Column(nullable = false, length = 32)
+    private TargetType target;
+
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    @Column(name = "like_count", nullable = false)
+    private long likeCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -13,7 +13,13 @@ import java.time.LocalDateTime;
 @Entity
 @Data
 @AllArgsConstructor
-@Table(name = "procedures")
+@Table(
+        name = "procedures",
+        indexes = {
+                // 一覧のキーセットページング（step_major, step_minor, id）
+                @Index(name = "idx_procedures_step_id", columnList = "step_major, step_minor, id")
+        }
+)
 @NoArgsConstructor
 public class ProcedureEntity {
     @Id
@@ -0,0 +1,51 @@
+package com.example.tech.entity;
+
+import com.example.tech.enums.TargetType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 記事/構文/手順へのいいね（1 ユーザー × 1 対象で 1 行）。旧 likes（記事）と like_syntaxes（構文）をまとめたもの。
+ * 書き込みは ReactionRepository の 1 文の upsert/delete だけで行い、このエンティティで save はしない。
+ */
+@Entity
+@Table(
+        schema = "public",
+        name = "reactions",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uq_reactions_user_target",
+                columnNames = {"user_id", "target", "target_id"}
+        ),
+        indexes = {
+                // 対象ごとの件数（いいね数の種まき/照合）
+                @Index(name = "idx_reactions_target", columnList = "target, target_id"),
+                // ユーザーごとの一覧・日別集計
+                @Index(name = "idx_reactions_user_created", columnList = "user_id, created_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReactionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** 小文字で保存（TargetTypeConverter） */
+    @Column(nullable = false, length = 32)
+    private TargetType target;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
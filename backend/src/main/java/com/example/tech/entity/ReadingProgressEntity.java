@@ -0,0 +1,56 @@
+package com.example.tech.entity;
+
+import com.example.tech.enums.TargetType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * ユーザーごと・コンテンツごとの読み進み具合（スクロール位置と最後に通過した見出し）。1 人 1 コンテンツ 1 行。
+ * 書き込みは ReadingProgressService が間引いてまとめて行う（クライアントからの報告ごとには書かない）。
+ */
+@Entity
+@Table(
+        schema = "public",
+        name = "reading_progress",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uq_reading_progress_user_target_content",
+                columnNames = {"user_id", "target", "content_id"}
+        ),
+        indexes = @Index(name = "idx_reading_progress_user_updated", columnList = "user_id, target, updated_at DESC")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReadingProgressEntity {
+
+    public static final int HEADING_MAX = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** 小文字で保存（TargetTypeConverter） */
+    @Column(nullable = false, length = 32)
+    private TargetType target;
+
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    /** 0〜100 */
+    @Column(nullable = false)
+    private int percent;
+
+    /** 最後に通過した見出し（無ければ null） */
+    @Column(length = ReadingProgressEntity.HEADING_MAX)
+    private String heading;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
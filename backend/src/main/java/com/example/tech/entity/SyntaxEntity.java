@@ -12,7 +12,14 @@ import java.time.LocalDateTime;
 @Entity
 @Data
 @NoArgsConstructor
-@Table(schema = "public", name = "syntaxes")
+@Table(
+        schema = "public",
+        name = "syntaxes",
+        indexes = {
+                // 一覧のキーセットページング（created_at DESC, id DESC）
+                @Index(name = "idx_syntaxes_created_id", columnList = "created_at DESC, id DESC")
+        }
+)
 @AllArgsConstructor
 public class SyntaxEntity {
     @Id
@@ -0,0 +1,28 @@
+package com.example.tech.enums;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 一覧 API の表示形式（?view=summary|full）。
+ * SUMMARY は本文（content）を DB から読まず、DTO の content は null で返す。FULL は従来どおり本文込み。
+ */
+public enum ListView {
+    SUMMARY,
+    FULL;
+
+    /** 省略時は SUMMARY。それ以外の値は 400 */
+    public static ListView fromParam(String value) {
+        return fromParam(value, SUMMARY);
+    }
+
+    /** 省略時の形式を呼び出し側で決める（管理画面は本文の抜粋を出すので FULL） */
+    public static ListView fromParam(String value, ListView defaultView) {
+        if (value == null || value.isBlank()) return defaultView;
+        return switch (value.trim().toLowerCase()) {
+            case "summary" -> SUMMARY;
+            case "full" -> FULL;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "view must be summary or full");
+        };
+    }
+}
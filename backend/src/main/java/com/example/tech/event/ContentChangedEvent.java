@@ -0,0 +1,26 @@
+package com.example.tech.event;
+
+import com.example.tech.enums.TargetType;
+
+/**
+ * 管理画面からの記事/構文/手順の書き込み通知。コミット後に購読側（キャッシュ等）が処理する。
+ *
+ * @param listingChanged 一覧の並び・件数・公開状態が変わりうるか。
+ *                       false なら本文などの中身だけが変わったので、一覧はその id を含むページだけ捨てればよい
+ */
+public record ContentChangedEvent(TargetType type, Long id, Action action, boolean listingChanged) {
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    public static ContentChangedEvent created(TargetType type, Long id) {
+        return new ContentChangedEvent(type, id, Action.CREATED, true);
+    }
+
+    public static ContentChangedEvent updated(TargetType type, Long id, boolean listingChanged) {
+        return new ContentChangedEvent(type, id, Action.UPDATED, listingChanged);
+    }
+
+    public static ContentChangedEvent deleted(TargetType type, Long id) {
+        return new ContentChangedEvent(type, id, Action.DELETED, true);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.tech.event;
+
+import com.example.tech.enums.TargetType;
+
+/** ReactionService のいいね/取り消しが実際に行を増減させたときの通知（delta は +1 / -1）。コミット後にいいね数カウンタが拾う */
+public record LikeChangedEvent(TargetType type, Long id, long delta) {}
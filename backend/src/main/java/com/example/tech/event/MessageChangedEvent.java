@@ -0,0 +1,4 @@
+package com.example.tech.event;
+
+/** Q&A（質問の投稿・回答）の書き込み通知。コミット後に検索インデックスが拾う */
+public record MessageChangedEvent(Long messageId) {}
@@ -0,0 +1,8 @@
+package com.example.tech.event;
+
+import com.example.tech.service.ReadMarkQueue;
+
+import java.util.List;
+
+/** ReadMarkQueue が再試行しても書けなかった既読を諦めたときの通知。先回りで入れた既読集合のキャッシュを捨てさせる */
+public record ReadsDroppedEvent(List<ReadMarkQueue.Mark> marks) {}
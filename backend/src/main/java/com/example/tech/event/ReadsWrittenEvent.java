@@ -0,0 +1,8 @@
+package com.example.tech.event;
+
+import com.example.tech.service.ReadMarkQueue;
+
+import java.util.List;
+
+/** ReadMarkQueue が既読をまとめて書き込み、コミットし終えたときの通知。既読集合のキャッシュが拾う */
+public record ReadsWrittenEvent(List<ReadMarkQueue.Mark> marks) {}
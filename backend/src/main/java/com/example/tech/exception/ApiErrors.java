@@ -3,11 +3,21 @@ package com.example.tech.exception;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 
 @RestControllerAdvice
 class ApiErrors {
+    /** 400/401/403/404 など意図して投げたステータスはそのまま返す（下の 500 に吸わせない） */
+    @ExceptionHandler(ResponseStatusException.class)
+    ResponseEntity<Map<String,Object>> status(ResponseStatusException e){
+        return ResponseEntity.status(e.getStatusCode()).body(Map.of(
+                "error", e.getStatusCode().toString(),
+                "message", String.valueOf(e.getReason())
+        ));
+    }
+
     @ExceptionHandler(Exception.class)
     ResponseEntity<Map<String,Object>> all(Exception e){
         e.printStackTrace(); // ログにも出す
@@ -0,0 +1,7 @@
+package com.example.tech.projection;
+
+public interface ContentCategory {
+    Long getId();
+    String getCategory();
+    Boolean getPublished();
+}
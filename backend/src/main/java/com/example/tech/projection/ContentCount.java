@@ -0,0 +1,6 @@
+package com.example.tech.projection;
+
+public interface ContentCount {
+    Long getContentId();
+    Long getCount();
+}
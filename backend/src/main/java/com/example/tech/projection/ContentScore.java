@@ -0,0 +1,7 @@
+package com.example.tech.projection;
+
+public interface ContentScore {
+    Long getContentId();
+    Double getAverage();
+    Long getCount();
+}
@@ -0,0 +1,10 @@
+package com.example.tech.projection;
+
+import java.time.LocalDateTime;
+
+public interface ContentSlug {
+    Long getId();
+    String getSlug();
+    Boolean getPublished();
+    LocalDateTime getUpdatedAt();
+}
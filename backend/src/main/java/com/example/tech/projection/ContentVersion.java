@@ -0,0 +1,8 @@
+package com.example.tech.projection;
+
+import java.time.LocalDateTime;
+
+public interface ContentVersion {
+    Long getId();
+    LocalDateTime getUpdatedAt();
+}
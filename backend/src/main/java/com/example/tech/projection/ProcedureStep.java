@@ -0,0 +1,8 @@
+package com.example.tech.projection;
+
+public interface ProcedureStep {
+    Long getId();
+    String getSlug();
+    String getTitle();
+    String getStepNumber();
+}
@@ -1,6 +1,7 @@
 package com.example.tech.repository;
 
 import com.example.tech.entity.ArticleReadEntity;
+import com.example.tech.projection.ContentCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,8 +24,21 @@ public interface ArticleReadRepository extends JpaRepository<ArticleReadEntity,
     @Query("SELECT ar.article.id FROM ArticleReadEntity ar WHERE ar.userId = :userId")
     Page<Long> findAllArticleIdByUserId(@Param("userId") Long userId, Pageable pageable);
 
+    @Query("SELECT ar.article.id FROM ArticleReadEntity ar WHERE ar.userId = :userId")
+    List<Long> findArticleIdsByUserId(@Param("userId") Long userId);
+
     // 例: JPAリポジトリで用意
     boolean existsByUserIdAndArticle_Id(Long userId, Long articleId);
 
     Optional<ArticleReadEntity> findByUserIdAndArticle_Id(Long userId, Long articleId);
+
+    long countByArticle_Id(Long articleId);
+
+    // ids のうち既読のもの（一覧ページの一括ステータス）
+    @Query("SELECT ar.article.id FROM ArticleReadEntity ar WHERE ar.userId = :userId AND ar.article.id IN :ids")
+    List<Long> findReadArticleIdsIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // 記事ごとの既読数（入力補完の重み付け用）
+    @Query("select ar.article.id as contentId, count(ar) as count from ArticleReadEntity ar group by ar.article.id")
+    List<ContentCount> countGroupByArticle();
 }
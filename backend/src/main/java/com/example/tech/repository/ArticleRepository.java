@@ -2,8 +2,13 @@ package com.example.tech.repository;
 
 import com.example.tech.dto.ArticleListItemDto;
 import com.example.tech.projection.ContentBrief;
+import com.example.tech.projection.ContentCategory;
+import com.example.tech.projection.ContentSlug;
+import com.example.tech.projection.ContentVersion;
 import com.example.tech.dto.ArticleDTO;
 import com.example.tech.entity.ArticleEntity;
+import com.example.tech.enums.TargetType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,8 +16,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<ArticleEntity,Long> {
@@ -33,20 +40,42 @@ public interface ArticleRepository extends JpaRepository<ArticleEntity,Long> {
     SELECT new com.example.tech.dto.ArticleListItemDto(
       a.id, a.slug, a.title, a.user.displayName, a.createdAt, a.summary, a.imageUrl
     )
-    FROM LikeEntity l JOIN l.article a
-    WHERE l.user.id = :userId AND a.published = true
+    FROM ReactionEntity r JOIN ArticleEntity a ON a.id = r.targetId
+    WHERE r.userId = :userId AND r.target = :target AND a.published = true
     ORDER BY a.createdAt DESC
   """)
-    List<ArticleListItemDto> findLikedList(@Param("userId") Long userId);
+    List<ArticleListItemDto> findLikedList(@Param("userId") Long userId, @Param("target") TargetType target);
 
 
     Page<ArticleEntity> findByPublishedTrue(Pageable pageable);
 
+    // キーセット一覧（公開・新着）。idx_articles_published_created_id を使う。count(*) は発行しない
+    @Query("""
+    SELECT a FROM ArticleEntity a LEFT JOIN FETCH a.user
+    WHERE a.published = true
+    ORDER BY a.createdAt DESC, a.id DESC
+  """)
+    List<ArticleEntity> findPublishedFirst(Limit limit);
+
+    // createdAt <= :createdAt は索引の範囲条件として効かせるための冗長条件
+    @Query("""
+    SELECT a FROM ArticleEntity a LEFT JOIN FETCH a.user
+    WHERE a.published = true
+      AND a.createdAt <= :createdAt
+      AND (a.createdAt < :createdAt OR a.id < :id)
+    ORDER BY a.createdAt DESC, a.id DESC
+  """)
+    List<ArticleEntity> findPublishedAfter(@Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    long countByPublishedTrue();
+
     int countByUserId(Long userId);
 
     @Query("SELECT new com.example.tech.dto.ArticleDTO(a.id, a.title, a.userEmail,a.user.displayName) " +
-            "FROM LikeEntity l JOIN l.article a WHERE l.user.id = :userId")
-    List<ArticleDTO> findLikedArticlesByUserId(@Param("userId") Long userId);
+            "FROM ReactionEntity r JOIN ArticleEntity a ON a.id = r.targetId WHERE r.userId = :userId AND r.target = :target")
+    List<ArticleDTO> findLikedArticlesByUserId(@Param("userId") Long userId, @Param("target") TargetType target);
 
     @Query("""
       select a.id as id, a.title as title, a.slug as slug
@@ -55,5 +84,106 @@ public interface ArticleRepository extends JpaRepository<ArticleEntity,Long> {
     """)
     List<ContentBrief> findBriefsByIdIn(@Param("ids") Collection<Long> ids);
 
+    // 条件付き GET 用。本文（content）は読まない
+    @Query("select a.updatedAt from ArticleEntity a where a.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // 検索インデックスの差分同期用（公開分の id と更新時刻だけ）
+    @Query("select a.id as id, a.updatedAt as updatedAt from ArticleEntity a where a.published = true")
+    List<ContentVersion> findPublishedVersions();
+
+    // 入力補完の構築用（公開分のタイトルと slug だけ）
+    @Query("select a.id as id, a.title as title, a.slug as slug from ArticleEntity a where a.published = true")
+    List<ContentBrief> findPublishedBriefs();
+
+    // slug 索引の構築/更新用（本文は読まない）
+    @Query("select a.id as id, a.slug as slug, a.published as published, a.updatedAt as updatedAt from ArticleEntity a")
+    List<ContentSlug> findAllSlugs();
+
+    @Query("select a.id as id, a.slug as slug, a.published as published, a.updatedAt as updatedAt from ArticleEntity a where a.id = :id")
+    Optional<ContentSlug> findSlugById(@Param("id") Long id);
+
+    // カテゴリ別の達成率用（公開中のものだけ数える）
+    @Query("select a.id as id, a.category as category, a.published as published from ArticleEntity a where a.published = true")
+    List<ContentCategory> findPublishedCategories();
+
+    @Query("select a.id as id, a.category as category, a.published as published from ArticleEntity a where a.id = :id")
+    Optional<ContentCategory> findCategoryById(@Param("id") Long id);
+
+    // 一括既読の検証用（公開中の id だけ返す）
+    @Query("select a.id from ArticleEntity a where a.published = true and a.id in :ids")
+    List<Long> findPublishedIdsIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select a.id as id, a.slug as slug, a.published as published, a.updatedAt as updatedAt from ArticleEntity a where a.slug = :slug")
+    List<ContentSlug> findSlugsBySlug(@Param("slug") String slug);
+
+    // ---- 一覧の summary 表示（view=summary）。本文 content は読まない ----
 
+    @Query(value = """
+    SELECT new com.example.tech.dto.ArticleDTO(
+      a.id, a.slug, a.title, a.summary, a.imageUrl,
+      CASE WHEN u.id IS NULL THEN '不明' ELSE u.displayName END,
+      a.category, a.createdAt, a.updatedAt, a.published, a.userEmail
+    )
+    FROM ArticleEntity a LEFT JOIN a.user u
+    WHERE a.published = true
+  """, countQuery = "SELECT count(a) FROM ArticleEntity a WHERE a.published = true")
+    Page<ArticleDTO> findPublishedSummaries(Pageable pageable);
+
+    @Query("""
+    SELECT new com.example.tech.dto.ArticleDTO(
+      a.id, a.slug, a.title, a.summary, a.imageUrl,
+      CASE WHEN u.id IS NULL THEN '不明' ELSE u.displayName END,
+      a.category, a.createdAt, a.updatedAt, a.published, a.userEmail
+    )
+    FROM ArticleEntity a LEFT JOIN a.user u
+    WHERE a.published = true
+    ORDER BY a.createdAt DESC, a.id DESC
+  """)
+    List<ArticleDTO> findPublishedSummariesFirst(Limit limit);
+
+    @Query("""
+    SELECT new com.example.tech.dto.ArticleDTO(
+      a.id, a.slug, a.title, a.summary, a.imageUrl,
+      CASE WHEN u.id IS NULL THEN '不明' ELSE u.displayName END,
+      a.category, a.createdAt, a.updatedAt, a.published, a.userEmail
+    )
+    FROM ArticleEntity a LEFT JOIN a.user u
+    WHERE a.published = true
+      AND a.createdAt <= :createdAt
+      AND (a.createdAt < :createdAt OR a.id < :id)
+    ORDER BY a.createdAt DESC, a.id DESC
+  """)
+    List<ArticleDTO> findPublishedSummariesAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Limit limit);
+
+    // 管理画面（非公開も含む）。著者は AdminService と同じく authorName → 表示名 → メールの順で空でないもの
+    @Query(value = """
+    SELECT new com.example.tech.dto.ArticleDTO(
+      a.id, a.slug, a.title, a.summary, a.imageUrl,
+      CASE WHEN TRIM(a.authorName) <> '' THEN a.authorName
+           WHEN TRIM(u.displayName) <> '' THEN u.displayName
+           WHEN TRIM(a.userEmail) <> '' THEN a.userEmail
+           ELSE '不明' END,
+      a.category, a.createdAt, a.updatedAt, a.published, a.userEmail
+    )
+    FROM ArticleEntity a LEFT JOIN a.user u
+  """, countQuery = "SELECT count(a) FROM ArticleEntity a")
+    Page<ArticleDTO> findAllSummaries(Pageable pageable);
+
+    // 一括取得（?ids=）用。著者は単体 GET（ArticleService.getArticleById）と同じ決め方にそろえる
+    @Query("""
+    SELECT new com.example.tech.dto.ArticleDTO(
+      a.id, a.slug, a.title, a.summary, a.imageUrl,
+      CASE WHEN TRIM(a.authorName) <> '' THEN a.authorName
+           WHEN TRIM(u.displayName) <> '' THEN u.displayName
+           WHEN TRIM(a.userEmail) <> '' THEN a.userEmail
+           ELSE '不明' END,
+      a.category, a.createdAt, a.updatedAt, a.published, a.userEmail
+    )
+    FROM ArticleEntity a LEFT JOIN a.user u
+    WHERE a.published = true AND a.id IN :ids
+  """)
+    List<ArticleDTO> findPublishedSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
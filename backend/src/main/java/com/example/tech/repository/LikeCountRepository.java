@@ -0,0 +1,20 @@
+package com.example.tech.repository;
+
+import com.example.tech.entity.LikeCountEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LikeCountRepository extends JpaRepository<LikeCountEntity, Long> {
+
+    // 差分ではなく現在値で上書きする（同じ値を何度書いても同じ）
+    @Modifying
+    @Query(value = """
+        INSERT INTO public.like_counts(target, content_id, like_count, updated_at)
+        VALUES (:target, :contentId, :count, now())
+        ON CONFLICT (target, content_id)
+        DO UPDATE SET like_count = EXCLUDED.like_count, updated_at = EXCLUDED.updated_at
+        """, nativeQuery = true)
+    void upsert(@Param("target") String target, @Param("contentId") Long contentId, @Param("count") long count);
+}
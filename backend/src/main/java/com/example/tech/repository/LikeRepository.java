@@ -3,6 +3,7 @@ package com.example.tech.repository;
 import com.example.tech.dto.ArticleDTO;
 import com.example.tech.dto.CalendarActionDTO;
 import com.example.tech.entity.LikeEntity;
+import com.example.tech.projection.ContentCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -68,4 +69,8 @@ public interface LikeRepository extends JpaRepository<LikeEntity,Long> {
         order by l.createdAt desc 
     """)
     List<ArticleDTO> findLikedArticles(@Param("userId") Long userId);
+
+    // 記事ごとのいいね数（入力補完の重み付け用）
+    @Query("select l.article.id as contentId, count(l) as count from LikeEntity l group by l.article.id")
+    List<ContentCount> countGroupByArticle();
 }
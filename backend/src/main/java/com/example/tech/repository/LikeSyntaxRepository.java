@@ -2,10 +2,13 @@
 package com.example.tech.repository;
 
 import com.example.tech.entity.LikeSyntaxEntity;
+import com.example.tech.projection.ContentCount;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 public interface LikeSyntaxRepository extends JpaRepository<LikeSyntaxEntity, Long> {
 
     // 関連のIDは _ でネスト指定
@@ -25,4 +28,8 @@ public interface LikeSyntaxRepository extends JpaRepository<LikeSyntaxEntity, Lo
         ON CONFLICT (user_id, syntax_id) DO NOTHING
         """, nativeQuery = true)
     void upsertLike(@Param("uid") Long userId, @Param("sid") Long syntaxId);
+
+    // 構文ごとのいいね数（入力補完の重み付け用）
+    @Query("select l.syntax.id as contentId, count(l) as count from LikeSyntaxEntity l group by l.syntax.id")
+    List<ContentCount> countGroupBySyntax();
 }
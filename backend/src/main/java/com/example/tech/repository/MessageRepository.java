@@ -2,6 +2,7 @@ package com.example.tech.repository;
 
 import com.example.tech.entity.MessageEntity;
 import com.example.tech.enums.TargetType;
+import com.example.tech.projection.ContentVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -36,4 +37,8 @@ public interface MessageRepository extends JpaRepository<MessageEntity,Long> {
             countQuery = "select count(m) from MessageEntity m"
     )
     Page<MessageEntity> findAllWithRefs(Pageable pageable);
+
+    // 検索インデックスの差分同期用
+    @Query("select m.id as id, m.updatedAt as updatedAt from MessageEntity m")
+    List<ContentVersion> findAllVersions();
 }
@@ -1,14 +1,24 @@
 package com.example.tech.repository;
 
+import com.example.tech.dto.ProcedureDTO;
 import com.example.tech.projection.ContentBrief;
+import com.example.tech.projection.ContentCategory;
+import com.example.tech.projection.ContentSlug;
+import com.example.tech.projection.ContentVersion;
+import com.example.tech.projection.ProcedureStep;
 import com.example.tech.entity.ProcedureEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProcedureRepository extends JpaRepository<ProcedureEntity, Long> {
@@ -19,4 +29,143 @@ public interface ProcedureRepository extends JpaRepository<ProcedureEntity, Long
       where p.id in :ids
     """)
     List<ContentBrief> findBriefsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // キーセット一覧（手順順）。idx_procedures_step_id を使う。count(*) は発行しない
+    @Query("""
+      select p from ProcedureEntity p left join fetch p.user
+      order by p.stepMajor, p.stepMinor, p.id
+    """)
+    List<ProcedureEntity> findFirstByStep(Limit limit);
+
+    // stepMajor >= :major は索引の範囲条件として効かせるための冗長条件
+    @Query("""
+      select p from ProcedureEntity p left join fetch p.user
+      where p.stepMajor >= :major
+        and (p.stepMajor > :major
+             or p.stepMinor > :minor
+             or (p.stepMinor = :minor and p.id > :id))
+      order by p.stepMajor, p.stepMinor, p.id
+    """)
+    List<ProcedureEntity> findAfterStep(@Param("major") int major,
+                                        @Param("minor") int minor,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    // 公開中の手順を学習順に（「次の未読」用の並び）。本文は読まない
+    @Query("""
+      select p.id as id, p.slug as slug, p.title as title, p.stepNumber as stepNumber
+      from ProcedureEntity p
+      where p.published = true
+      order by p.stepMajor, p.stepMinor, p.id
+    """)
+    List<ProcedureStep> findPublishedSteps();
+
+    // 条件付き GET 用。本文（content）は読まない
+    @Query("select p.updatedAt from ProcedureEntity p where p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // 検索インデックスの差分同期用（公開分の id と更新時刻だけ）
+    @Query("select p.id as id, p.updatedAt as updatedAt from ProcedureEntity p where p.published = true")
+    List<ContentVersion> findPublishedVersions();
+
+    // 入力補完の構築用（公開分のタイトルと slug だけ）
+    @Query("select p.id as id, p.title as title, p.slug as slug from ProcedureEntity p where p.published = true")
+    List<ContentBrief> findPublishedBriefs();
+
+    // slug 索引の構築/更新用（本文は読まない）
+    @Query("select p.id as id, p.slug as slug, p.published as published, p.updatedAt as updatedAt from ProcedureEntity p")
+    List<ContentSlug> findAllSlugs();
+
+    @Query("select p.id as id, p.slug as slug, p.published as published, p.updatedAt as updatedAt from ProcedureEntity p where p.id = :id")
+    Optional<ContentSlug> findSlugById(@Param("id") Long id);
+
+    // カテゴリ別の達成率用（公開中のものだけ数える）
+    @Query("select p.id as id, p.category as category, p.published as published from ProcedureEntity p where p.published = true")
+    List<ContentCategory> findPublishedCategories();
+
+    @Query("select p.id as id, p.category as category, p.published as published from ProcedureEntity p where p.id = :id")
+    Optional<ContentCategory> findCategoryById(@Param("id") Long id);
+
+    // 一括既読の検証用（公開中の id だけ返す）
+    @Query("select p.id from ProcedureEntity p where p.published = true and p.id in :ids")
+    List<Long> findPublishedIdsIn(@Param("ids") Collection<Long> ids);
+
+    // 手順番号の範囲（両端を含む）で公開中の id を学習順に
+    @Query("""
+      select p.id from ProcedureEntity p
+      where p.published = true
+        and (p.stepMajor > :fromMajor or (p.stepMajor = :fromMajor and p.stepMinor >= :fromMinor))
+        and (p.stepMajor < :toMajor or (p.stepMajor = :toMajor and p.stepMinor <= :toMinor))
+      order by p.stepMajor, p.stepMinor, p.id
+    """)
+    List<Long> findPublishedIdsBetweenSteps(@Param("fromMajor") int fromMajor,
+                                            @Param("fromMinor") int fromMinor,
+                                            @Param("toMajor") int toMajor,
+                                            @Param("toMinor") int toMinor,
+                                            Limit limit);
+
+    // 同じ範囲を公開状態を問わずに（一括未読用。非公開にした手順の既読も外せるように）
+    @Query("""
+      select p.id from ProcedureEntity p
+      where (p.stepMajor > :fromMajor or (p.stepMajor = :fromMajor and p.stepMinor >= :fromMinor))
+        and (p.stepMajor < :toMajor or (p.stepMajor = :toMajor and p.stepMinor <= :toMinor))
+      order by p.stepMajor, p.stepMinor, p.id
+    """)
+    List<Long> findIdsBetweenSteps(@Param("fromMajor") int fromMajor,
+                                   @Param("fromMinor") int fromMinor,
+                                   @Param("toMajor") int toMajor,
+                                   @Param("toMinor") int toMinor,
+                                   Limit limit);
+
+    @Query("select p.id as id, p.slug as slug, p.published as published, p.updatedAt as updatedAt from ProcedureEntity p where p.slug = :slug")
+    List<ContentSlug> findSlugsBySlug(@Param("slug") String slug);
+
+    // ---- 一覧の summary 表示（view=summary）。本文 content は読まない ----
+
+    @Query(value = """
+      select new com.example.tech.dto.ProcedureDTO(
+        p.id, p.stepNumber, p.slug, p.title, u.email, p.authorName,
+        p.category, p.imageUrl, p.published, p.createdAt, p.updatedAt
+      )
+      from ProcedureEntity p left join p.user u
+    """, countQuery = "select count(p) from ProcedureEntity p")
+    Page<ProcedureDTO> findAllSummaries(Pageable pageable);
+
+    @Query("""
+      select new com.example.tech.dto.ProcedureDTO(
+        p.id, p.stepNumber, p.slug, p.title, u.email, p.authorName,
+        p.category, p.imageUrl, p.published, p.createdAt, p.updatedAt
+      )
+      from ProcedureEntity p left join p.user u
+      order by p.stepMajor, p.stepMinor, p.id
+    """)
+    List<ProcedureDTO> findSummariesFirstByStep(Limit limit);
+
+    @Query("""
+      select new com.example.tech.dto.ProcedureDTO(
+        p.id, p.stepNumber, p.slug, p.title, u.email, p.authorName,
+        p.category, p.imageUrl, p.published, p.createdAt, p.updatedAt
+      )
+      from ProcedureEntity p left join p.user u
+      where p.stepMajor >= :major
+        and (p.stepMajor > :major
+             or p.stepMinor > :minor
+             or (p.stepMinor = :minor and p.id > :id))
+      order by p.stepMajor, p.stepMinor, p.id
+    """)
+    List<ProcedureDTO> findSummariesAfterStep(@Param("major") int major,
+                                              @Param("minor") int minor,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    // 一括取得（?ids=）用
+    @Query("""
+      select new com.example.tech.dto.ProcedureDTO(
+        p.id, p.stepNumber, p.slug, p.title, u.email, p.authorName,
+        p.category, p.imageUrl, p.published, p.createdAt, p.updatedAt
+      )
+      from ProcedureEntity p left join p.user u
+      where p.published = true and p.id in :ids
+    """)
+    List<ProcedureDTO> findPublishedSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,147 @@
+package com.example.tech.repository;
+
+import com.example.tech.dto.ArticleDTO;
+import com.example.tech.dto.CalendarActionDTO;
+import com.example.tech.entity.ReactionEntity;
+import com.example.tech.enums.TargetType;
+import com.example.tech.projection.ContentCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * いいねの読み書き。書き込みはどれも 1 文で冪等（既にあれば/無ければ 0 行）。
+ * native の :target には TargetType を小文字にした文字列を渡す（TargetTypeConverter と同じ表現）。
+ */
+public interface ReactionRepository extends JpaRepository<ReactionEntity, Long> {
+
+    // 戻り値は挿入した行数（既にいいね済みなら 0）
+    @Modifying
+    @Query(value = """
+        INSERT INTO public.reactions(user_id, target, target_id, created_at)
+        VALUES (:userId, :target, :targetId, now())
+        ON CONFLICT (user_id, target, target_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("target") String target, @Param("targetId") Long targetId);
+
+    // 戻り値は消した行数（いいねしていなければ 0）
+    @Modifying
+    @Query(value = """
+        DELETE FROM public.reactions
+        WHERE user_id = :userId AND target = :target AND target_id = :targetId
+        """, nativeQuery = true)
+    int deleteIfPresent(@Param("userId") Long userId, @Param("target") String target, @Param("targetId") Long targetId);
+
+    boolean existsByUserIdAndTargetAndTargetId(Long userId, TargetType target, Long targetId);
+
+    long countByTargetAndTargetId(TargetType target, Long targetId);
+
+    long countByUserIdAndTarget(Long userId, TargetType target);
+
+    // 対象ごとのいいね数（カウンタの種まき/照合、入力補完の重み付け）
+    @Query("""
+        select r.targetId as contentId, count(r) as count
+        from ReactionEntity r
+        where r.target = :target
+        group by r.targetId
+    """)
+    List<ContentCount> countGroupByTarget(@Param("target") TargetType target);
+
+    // 一覧ページの一括ステータス: ids のうち本人がいいねしているもの / ids ごとの件数
+    @Query("""
+        select r.targetId
+        from ReactionEntity r
+        where r.userId = :userId
+          and r.target = :target
+          and r.targetId in :ids
+    """)
+    List<Long> findLikedTargetIdsIn(@Param("userId") Long userId,
+                                    @Param("target") TargetType target,
+                                    @Param("ids") Collection<Long> ids);
+
+    @Query("""
+        select r.targetId as contentId, count(r) as count
+        from ReactionEntity r
+        where r.target = :target
+          and r.targetId in :ids
+        group by r.targetId
+    """)
+    List<ContentCount> countGroupByTargetIdIn(@Param("target") TargetType target, @Param("ids") Collection<Long> ids);
+
+    @Query("""
+        select r.targetId
+        from ReactionEntity r
+        where r.userId = :userId
+          and r.target = :target
+          and r.createdAt between :start and :end
+    """)
+    List<Long> findTargetIdsByUserBetween(@Param("userId") Long userId,
+                                          @Param("target") TargetType target,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end);
+
+    @Query("""
+        select new com.example.tech.dto.CalendarActionDTO(
+            FUNCTION('DATE', r.createdAt), COUNT(r)
+        )
+        from ReactionEntity r
+        where r.userId = :userId
+          and r.target = :target
+          and r.createdAt between :start and :end
+        group by FUNCTION('DATE', r.createdAt)
+    """)
+    List<CalendarActionDTO> findDailyActions(@Param("userId") Long userId,
+                                             @Param("target") TargetType target,
+                                             @Param("start") LocalDateTime start,
+                                             @Param("end") LocalDateTime end);
+
+    // いいねした記事（公開のみ、いいねの新しい順）
+    @Query("""
+        select new com.example.tech.dto.ArticleDTO(
+                a.id,
+                a.slug,
+                a.title,
+                a.summary,
+                a.imageUrl,
+                a.authorName,
+                a.category,
+                a.createdAt,
+                a.updatedAt,
+                a.published,
+                a.userEmail
+            )
+        from ReactionEntity r
+        join ArticleEntity a on a.id = r.targetId
+        where r.userId = :userId
+          and r.target = :target
+          and a.published = true
+        order by r.createdAt desc
+    """)
+    List<ArticleDTO> findLikedArticles(@Param("userId") Long userId, @Param("target") TargetType target);
+
+    // ---- 旧テーブルからの移行（ReactionBackfillRunner）。何度流しても同じ結果になる ----
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO public.reactions(user_id, target, target_id, created_at)
+        SELECT l.user_id, 'article', l.article_id, COALESCE(l.created_at, now())
+        FROM public.likes l
+        WHERE l.user_id IS NOT NULL AND l.article_id IS NOT NULL
+        ON CONFLICT (user_id, target, target_id) DO NOTHING
+        """, nativeQuery = true)
+    int backfillFromArticleLikes();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO public.reactions(user_id, target, target_id, created_at)
+        SELECT l.user_id, 'syntax', l.syntax_id, COALESCE(CAST(l.created_at AS timestamp), now())
+        FROM public.like_syntaxes l
+        ON CONFLICT (user_id, target, target_id) DO NOTHING
+        """, nativeQuery = true)
+    int backfillFromSyntaxLikes();
+}
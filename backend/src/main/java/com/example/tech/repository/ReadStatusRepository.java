@@ -1,11 +1,15 @@
 package com.example.tech.repository;
 
 import com.example.tech.entity.ReadStatus;
+import com.example.tech.projection.ContentCount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,5 +17,26 @@ public interface ReadStatusRepository extends JpaRepository<ReadStatus, Long> {
     @Query("select r.contentId from ReadStatus r where r.userId=:userId and r.target=:target")
     List<Long> findContentIdsByUserAndTarget(@Param("userId") Long userId, @Param("target") ReadStatus.Target target);
     boolean existsByUserIdAndTargetAndContentId(Long userId, ReadStatus.Target target, Long contentId);
+    @Transactional
     void deleteByUserIdAndTargetAndContentId(Long userId, ReadStatus.Target target, Long contentId);
+
+    // 一括未読（1 文で消す）
+    @Transactional
+    @Modifying
+    @Query("delete from ReadStatus r where r.userId = :userId and r.target = :target and r.contentId in :ids")
+    int deleteByUserIdAndTargetAndContentIdIn(@Param("userId") Long userId,
+                                             @Param("target") ReadStatus.Target target,
+                                             @Param("ids") Collection<Long> ids);
+
+    // ids のうち既読のもの（一覧ページの一括ステータス）
+    @Query("select r.contentId from ReadStatus r where r.userId = :userId and r.target = :target and r.contentId in :ids")
+    List<Long> findReadContentIdsIn(@Param("userId") Long userId,
+                                    @Param("target") ReadStatus.Target target,
+                                    @Param("ids") Collection<Long> ids);
+
+    long countByTargetAndContentId(ReadStatus.Target target, Long contentId);
+
+    // コンテンツごとの既読数（入力補完の重み付け用）
+    @Query("select r.contentId as contentId, count(r) as count from ReadStatus r where r.target = :target group by r.contentId")
+    List<ContentCount> countGroupByContent(@Param("target") ReadStatus.Target target);
 }
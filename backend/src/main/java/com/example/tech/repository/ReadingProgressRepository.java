@@ -0,0 +1,37 @@
+package com.example.tech.repository;
+
+import com.example.tech.entity.ReadingProgressEntity;
+import com.example.tech.enums.TargetType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReadingProgressRepository extends JpaRepository<ReadingProgressEntity, Long> {
+
+    Optional<ReadingProgressEntity> findByUserIdAndTargetAndContentId(Long userId, TargetType target, Long contentId);
+
+    // 「続きから読む」一覧用（新しい順）
+    List<ReadingProgressEntity> findByUserIdAndTargetOrderByUpdatedAtDesc(Long userId, TargetType target, Pageable pageable);
+
+    // 最新値で上書きする。書き戻しが前後しても古い報告で新しい値を潰さない
+    @Modifying
+    @Query(value = """
+        INSERT INTO public.reading_progress(user_id, target, content_id, percent, heading, updated_at)
+        VALUES (:userId, :target, :contentId, :percent, :heading, :updatedAt)
+        ON CONFLICT (user_id, target, content_id)
+        DO UPDATE SET percent = EXCLUDED.percent, heading = EXCLUDED.heading, updated_at = EXCLUDED.updated_at
+        WHERE public.reading_progress.updated_at <= EXCLUDED.updated_at
+        """, nativeQuery = true)
+    void upsert(@Param("userId") Long userId,
+                @Param("target") String target,
+                @Param("contentId") Long contentId,
+                @Param("percent") int percent,
+                @Param("heading") String heading,
+                @Param("updatedAt") Instant updatedAt);
+}
@@ -3,12 +3,14 @@ package com.example.tech.repository;
 import com.example.tech.dto.CalendarActionDTO;
 import com.example.tech.entity.ReviewScoreEntity;
 import com.example.tech.enums.TargetType;
+import com.example.tech.projection.ContentScore;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,6 +47,16 @@ public interface ReviewScoreRepository extends JpaRepository<ReviewScoreEntity,L
     List<ReviewScoreEntity> findByProcedure_Id(Long procedureId);
 
 
+    // 対象ごとの平均点と件数（一覧ページの一括ステータス）
+    @Query("select rs.article.id as contentId, avg(rs.score) as average, count(rs) as count from ReviewScoreEntity rs where rs.article.id in :ids group by rs.article.id")
+    List<ContentScore> averageByArticleIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select rs.syntax.id as contentId, avg(rs.score) as average, count(rs) as count from ReviewScoreEntity rs where rs.syntax.id in :ids group by rs.syntax.id")
+    List<ContentScore> averageBySyntaxIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select rs.procedure.id as contentId, avg(rs.score) as average, count(rs) as count from ReviewScoreEntity rs where rs.procedure.id in :ids group by rs.procedure.id")
+    List<ContentScore> averageByProcedureIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<ReviewScoreEntity> findByTargetTypeAndArticle_IdAndUser_Id(TargetType targetType, Long articleId, Long userId);
 
     Optional<ReviewScoreEntity> findByTargetTypeAndSyntax_IdAndUser_Id(TargetType targetType, Long syntaxId, Long userId);
@@ -1,11 +1,19 @@
 package com.example.tech.repository;
 
+import com.example.tech.dto.SyntaxDTO;
 import com.example.tech.projection.ContentBrief;
+import com.example.tech.projection.ContentCategory;
+import com.example.tech.projection.ContentSlug;
+import com.example.tech.projection.ContentVersion;
 import com.example.tech.entity.SyntaxEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -21,4 +29,104 @@ public interface SyntaxRepository extends JpaRepository<SyntaxEntity,Long> {
     """)
     List<ContentBrief> findBriefsByIdIn(@Param("ids") Collection<Long> ids);
 
+    // キーセット一覧（新着）。idx_syntaxes_created_id を使う。count(*) は発行しない
+    @Query("""
+      select s from SyntaxEntity s left join fetch s.user
+      order by s.createdAt desc, s.id desc
+    """)
+    List<SyntaxEntity> findFirstByCreatedAt(Limit limit);
+
+    // createdAt <= :createdAt は索引の範囲条件として効かせるための冗長条件
+    @Query("""
+      select s from SyntaxEntity s left join fetch s.user
+      where s.createdAt <= :createdAt
+        and (s.createdAt < :createdAt or s.id < :id)
+      order by s.createdAt desc, s.id desc
+    """)
+    List<SyntaxEntity> findAfterCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    // 条件付き GET 用。本文（content）は読まない
+    @Query("select s.updatedAt from SyntaxEntity s where s.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // 検索インデックスの差分同期用（公開分の id と更新時刻だけ）
+    @Query("select s.id as id, s.updatedAt as updatedAt from SyntaxEntity s where s.published = true")
+    List<ContentVersion> findPublishedVersions();
+
+    // 入力補完の構築用（公開分のタイトルと slug だけ）
+    @Query("select s.id as id, s.title as title, s.slug as slug from SyntaxEntity s where s.published = true")
+    List<ContentBrief> findPublishedBriefs();
+
+    // slug 索引の構築/更新用（本文は読まない）
+    @Query("select s.id as id, s.slug as slug, s.published as published, s.updatedAt as updatedAt from SyntaxEntity s")
+    List<ContentSlug> findAllSlugs();
+
+    @Query("select s.id as id, s.slug as slug, s.published as published, s.updatedAt as updatedAt from SyntaxEntity s where s.id = :id")
+    Optional<ContentSlug> findSlugById(@Param("id") Long id);
+
+    // カテゴリ別の達成率用（公開中のものだけ数える）
+    @Query("select s.id as id, s.category as category, s.published as published from SyntaxEntity s where s.published = true")
+    List<ContentCategory> findPublishedCategories();
+
+    @Query("select s.id as id, s.category as category, s.published as published from SyntaxEntity s where s.id = :id")
+    Optional<ContentCategory> findCategoryById(@Param("id") Long id);
+
+    // 一括既読の検証用（公開中の id だけ返す）
+    @Query("select s.id from SyntaxEntity s where s.published = true and s.id in :ids")
+    List<Long> findPublishedIdsIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select s.id as id, s.slug as slug, s.published as published, s.updatedAt as updatedAt from SyntaxEntity s where s.slug = :slug")
+    List<ContentSlug> findSlugsBySlug(@Param("slug") String slug);
+
+    // ---- 一覧の summary 表示（view=summary）。本文 content は読まない ----
+
+    @Query(value = """
+      select new com.example.tech.dto.SyntaxDTO(
+        s.id, s.slug, s.title, s.userEmail,
+        case when u.id is null then '不明' else u.displayName end,
+        s.displayName, s.category, s.summary, s.createdAt, s.updatedAt, s.published
+      )
+      from SyntaxEntity s left join s.user u
+    """, countQuery = "select count(s) from SyntaxEntity s")
+    Page<SyntaxDTO> findAllSummaries(Pageable pageable);
+
+    @Query("""
+      select new com.example.tech.dto.SyntaxDTO(
+        s.id, s.slug, s.title, s.userEmail,
+        case when u.id is null then '不明' else u.displayName end,
+        s.displayName, s.category, s.summary, s.createdAt, s.updatedAt, s.published
+      )
+      from SyntaxEntity s left join s.user u
+      order by s.createdAt desc, s.id desc
+    """)
+    List<SyntaxDTO> findSummariesFirstByCreatedAt(Limit limit);
+
+    @Query("""
+      select new com.example.tech.dto.SyntaxDTO(
+        s.id, s.slug, s.title, s.userEmail,
+        case when u.id is null then '不明' else u.displayName end,
+        s.displayName, s.category, s.summary, s.createdAt, s.updatedAt, s.published
+      )
+      from SyntaxEntity s left join s.user u
+      where s.createdAt <= :createdAt
+        and (s.createdAt < :createdAt or s.id < :id)
+      order by s.createdAt desc, s.id desc
+    """)
+    List<SyntaxDTO> findSummariesAfterCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    // 一括取得（?ids=）用
+    @Query("""
+      select new com.example.tech.dto.SyntaxDTO(
+        s.id, s.slug, s.title, s.userEmail,
+        case when u.id is null then '不明' else u.displayName end,
+        s.displayName, s.category, s.summary, s.createdAt, s.updatedAt, s.published
+      )
+      from SyntaxEntity s left join s.user u
+      where s.published = true and s.id in :ids
+    """)
+    List<SyntaxDTO> findPublishedSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
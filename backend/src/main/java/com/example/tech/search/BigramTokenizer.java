@@ -0,0 +1,78 @@
+package com.example.tech.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 日本語向けの簡易トークナイザ。
+ * - NFKC 正規化 + 小文字化（全角英数・半角カナの揺れを吸収）
+ * - 漢字/ひらがな/カタカナの連続は文字 bigram（1 文字だけならその 1 文字）
+ * - 英数字の連続は 1 語
+ * - それ以外（空白・記号）は区切り
+ * 形態素解析は使わないので辞書不要。インデックスとクエリで同じ規則を使う。
+ */
+public final class BigramTokenizer {
+
+    /** 規則を変えたら上げる（ディスク上のインデックスを捨てて作り直す） */
+    public static final int VERSION = 1;
+
+    private BigramTokenizer() {}
+
+    public static String normalize(String text) {
+        if (text == null) return "";
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenize(String text) {
+        String s = normalize(text);
+        List<String> out = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        StringBuilder cjk = new StringBuilder();
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            i += Character.charCount(cp);
+            if (isCjk(cp)) {
+                flushWord(word, out);
+                cjk.appendCodePoint(cp);
+            } else if (Character.isLetterOrDigit(cp) || cp == '_') {
+                flushCjk(cjk, out);
+                word.appendCodePoint(cp);
+            } else {
+                flushWord(word, out);
+                flushCjk(cjk, out);
+            }
+        }
+        flushWord(word, out);
+        flushCjk(cjk, out);
+        return out;
+    }
+
+    static boolean isCjk(int cp) {
+        if (cp == 'ー' || cp == '々') return true;
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> out) {
+        if (word.isEmpty()) return;
+        out.add(word.toString());
+        word.setLength(0);
+    }
+
+    private static void flushCjk(StringBuilder run, List<String> out) {
+        if (run.isEmpty()) return;
+        int[] cps = run.codePoints().toArray();
+        if (cps.length == 1) {
+            out.add(new String(cps, 0, 1));
+        } else {
+            for (int i = 0; i + 1 < cps.length; i++) {
+                out.add(new String(cps, i, 2));
+            }
+        }
+        run.setLength(0);
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.tech.search;
+
+import com.example.tech.enums.TargetType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * メモリ上の転置インデックス（BM25）。スレッドセーフ（読み取りは並行、更新は排他）。
+ * フィールドごとに重みを掛けた tf と文書長で 1 つの BM25 スコアにする（タイトル > カテゴリ > 要約 > 本文）。
+ * クエリは全トークンを含む文書（AND）を優先し、1 件もなければ OR に落とす。
+ * QA は親の記事/構文/手順がインデックスにある（公開中の）ときだけ結果に出す。
+ */
+public class InvertedIndex {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+
+    static final float TITLE_WEIGHT = 3.0f;
+    static final float CATEGORY_WEIGHT = 2.0f;
+    static final float SUMMARY_WEIGHT = 1.5f;
+    static final float CONTENT_WEIGHT = 1.0f;
+
+    private static final int MAGIC = 0x444E5358; // "DNSX"
+    private static final int FORMAT_VERSION = 1;
+
+    public record Hit(SearchDocument doc, double score) {}
+
+    public record Result(int total, List<Hit> hits) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Integer, Float>> postings = new HashMap<>();
+    private final Map<Integer, SearchDocument> docs = new HashMap<>();
+    private final Map<Integer, Float> lengths = new HashMap<>();
+    private final Map<Integer, Set<String>> docTerms = new HashMap<>();
+    private final Map<String, Integer> docNos = new HashMap<>();
+    private int nextDocNo;
+    private double totalLength;
+
+    /** 追加または置き換え */
+    public void upsert(SearchDocument doc) {
+        Map<String, Float> tf = new HashMap<>();
+        float length = 0;
+        length += count(tf, doc.title(), TITLE_WEIGHT);
+        length += count(tf, doc.category(), CATEGORY_WEIGHT);
+        length += count(tf, doc.summary(), SUMMARY_WEIGHT);
+        length += count(tf, doc.content(), CONTENT_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc.key());
+            int docNo = nextDocNo++;
+            docNos.put(doc.key(), docNo);
+            docs.put(docNo, doc);
+            lengths.put(docNo, length);
+            docTerms.put(docNo, tf.keySet());
+            totalLength += length;
+            tf.forEach((term, f) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(docNo, f));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(SearchDocType type, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(SearchDocument.key(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(SearchDocType type, Long id) {
+        lock.readLock().lock();
+        try {
+            return docNos.containsKey(SearchDocument.key(type, id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 差分同期用: 種別ごとの id → updatedAt */
+    public Map<Long, LocalDateTime> versions(SearchDocType type) {
+        lock.readLock().lock();
+        try {
+            Map<Long, LocalDateTime> out = new HashMap<>();
+            for (SearchDocument d : docs.values()) {
+                if (d.type() == type) out.put(d.id(), d.updatedAt());
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Result search(String query, Predicate<SearchDocument> filter, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(BigramTokenizer.tokenize(query)));
+        if (terms.isEmpty()) return new Result(0, List.of());
+
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Float>> lists = new ArrayList<>();
+            for (String term : terms) {
+                Map<Integer, Float> p = postings.get(term);
+                lists.add(p == null ? Map.of() : p);
+            }
+
+            Set<Integer> candidates = intersect(lists);
+            if (candidates.isEmpty()) {
+                candidates = new HashSet<>();
+                for (Map<Integer, Float> p : lists) candidates.addAll(p.keySet());
+            }
+
+            int n = docs.size();
+            double avgLength = n == 0 ? 1 : Math.max(1e-9, totalLength / n);
+            List<Hit> hits = new ArrayList<>();
+            for (Integer docNo : candidates) {
+                SearchDocument doc = docs.get(docNo);
+                if (doc == null || !filter.test(doc) || !parentIndexed(doc)) continue;
+                double norm = K1 * (1 - B + B * lengths.get(docNo) / avgLength);
+                double score = 0;
+                for (Map<Integer, Float> p : lists) {
+                    Float tf = p.get(docNo);
+                    if (tf == null) continue;
+                    int df = p.size();
+                    double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+                    score += idf * tf * (K1 + 1) / (tf + norm);
+                }
+                hits.add(new Hit(doc, score));
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparing(h -> h.doc().updatedAt(), Comparator.nullsLast(Comparator.reverseOrder())));
+            int from = Math.min(offset, hits.size());
+            int to = Math.min(from + limit, hits.size());
+            return new Result(hits.size(), List.copyOf(hits.subList(from, to)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** QA は親（記事/構文/手順）が公開中＝インデックスにあるときだけ出す */
+    private boolean parentIndexed(SearchDocument doc) {
+        if (doc.type() != SearchDocType.QA) return true;
+        if (doc.parentType() == null || doc.parentId() == null) return false;
+        return docNos.containsKey(SearchDocument.key(SearchDocType.of(doc.parentType()), doc.parentId()));
+    }
+
+    // ---- 永続化（ポスティングと文書をそのまま書き出す。読み込み時に DB もトークナイズも要らない） ----
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(BigramTokenizer.VERSION);
+
+            out.writeInt(docs.size());
+            for (Map.Entry<Integer, SearchDocument> e : docs.entrySet()) {
+                SearchDocument d = e.getValue();
+                out.writeInt(e.getKey());
+                out.writeFloat(lengths.get(e.getKey()));
+                out.writeUTF(d.type().name());
+                out.writeLong(d.id());
+                writeString(out, d.slug());
+                writeString(out, d.title());
+                writeString(out, d.category());
+                writeString(out, d.summary());
+                writeString(out, d.content());
+                writeString(out, d.updatedAt() == null ? null : d.updatedAt().toString());
+                writeString(out, d.parentType() == null ? null : d.parentType().name());
+                out.writeLong(d.parentId() == null ? -1 : d.parentId());
+            }
+
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Map<Integer, Float>> e : postings.entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeInt(e.getValue().size());
+                for (Map.Entry<Integer, Float> p : e.getValue().entrySet()) {
+                    out.writeInt(p.getKey());
+                    out.writeFloat(p.getValue());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 形式/トークナイザの版が違うファイルなら false（中身は変えない） */
+    public boolean readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readInt() != BigramTokenizer.VERSION) {
+            return false;
+        }
+        Map<Integer, SearchDocument> loadedDocs = new HashMap<>();
+        Map<Integer, Float> loadedLengths = new HashMap<>();
+        int docCount = in.readInt();
+        for (int i = 0; i < docCount; i++) {
+            int docNo = in.readInt();
+            loadedLengths.put(docNo, in.readFloat());
+            SearchDocType type = SearchDocType.valueOf(in.readUTF());
+            long id = in.readLong();
+            String slug = readString(in);
+            String title = readString(in);
+            String category = readString(in);
+            String summary = readString(in);
+            String content = readString(in);
+            String updatedAt = readString(in);
+            String parentType = readString(in);
+            long parentId = in.readLong();
+            loadedDocs.put(docNo, new SearchDocument(type, id, slug, title, category, summary, content,
+                    updatedAt == null ? null : LocalDateTime.parse(updatedAt),
+                    parentType == null ? null : TargetType.valueOf(parentType),
+                    parentId < 0 ? null : parentId));
+        }
+        Map<String, Map<Integer, Float>> loadedPostings = new HashMap<>();
+        int termCount = in.readInt();
+        for (int i = 0; i < termCount; i++) {
+            String term = in.readUTF();
+            int n = in.readInt();
+            Map<Integer, Float> p = new HashMap<>(n * 2);
+            for (int j = 0; j < n; j++) {
+                p.put(in.readInt(), in.readFloat());
+            }
+            loadedPostings.put(term, p);
+        }
+
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+            docs.putAll(loadedDocs);
+            lengths.putAll(loadedLengths);
+            postings.putAll(loadedPostings);
+            for (Map.Entry<Integer, SearchDocument> e : loadedDocs.entrySet()) {
+                docNos.put(e.getValue().key(), e.getKey());
+                docTerms.put(e.getKey(), new HashSet<>());
+                totalLength += loadedLengths.get(e.getKey());
+                nextDocNo = Math.max(nextDocNo, e.getKey() + 1);
+            }
+            loadedPostings.forEach((term, p) -> p.keySet().forEach(docNo -> {
+                Set<String> terms = docTerms.get(docNo);
+                if (terms != null) terms.add(term);
+            }));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void clearLocked() {
+        postings.clear();
+        docs.clear();
+        lengths.clear();
+        docTerms.clear();
+        docNos.clear();
+        nextDocNo = 0;
+        totalLength = 0;
+    }
+
+    private void removeLocked(String key) {
+        Integer docNo = docNos.remove(key);
+        if (docNo == null) return;
+        docs.remove(docNo);
+        Float length = lengths.remove(docNo);
+        if (length != null) totalLength -= length;
+        Set<String> terms = docTerms.remove(docNo);
+        if (terms == null) return;
+        for (String term : terms) {
+            Map<Integer, Float> p = postings.get(term);
+            if (p == null) continue;
+            p.remove(docNo);
+            if (p.isEmpty()) postings.remove(term);
+        }
+    }
+
+    private static float count(Map<String, Float> tf, String text, float weight) {
+        if (text == null || text.isEmpty()) return 0;
+        List<String> tokens = BigramTokenizer.tokenize(text);
+        for (String t : tokens) tf.merge(t, weight, Float::sum);
+        return tokens.size() * weight;
+    }
+
+    private static Set<Integer> intersect(List<Map<Integer, Float>> lists) {
+        Map<Integer, Float> smallest = lists.stream().min(Comparator.comparingInt(Map::size)).orElse(Map.of());
+        Set<Integer> out = new HashSet<>();
+        outer:
+        for (Integer docNo : smallest.keySet()) {
+            for (Map<Integer, Float> p : lists) {
+                if (!p.containsKey(docNo)) continue outer;
+            }
+            out.add(docNo);
+        }
+        return out;
+    }
+
+    // writeUTF は 64KB までなので長い本文はバイト列で書く
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        if (n < 0) return null;
+        byte[] bytes = in.readNBytes(n);
+        if (bytes.length != n) throw new EOFException();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
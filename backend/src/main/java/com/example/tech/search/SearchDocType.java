@@ -0,0 +1,32 @@
+package com.example.tech.search;
+
+import com.example.tech.enums.TargetType;
+
+/** 検索対象の種別。QA は記事/構文/手順に付いた質問と回答 */
+public enum SearchDocType {
+    ARTICLE,
+    SYNTAX,
+    PROCEDURE,
+    QA;
+
+    public static SearchDocType of(TargetType type) {
+        return switch (type) {
+            case ARTICLE -> ARTICLE;
+            case SYNTAX -> SYNTAX;
+            case PROCEDURE -> PROCEDURE;
+        };
+    }
+
+    /** クエリパラメータ用（article / syntaxes / qa など。大文字小文字・複数形を許す）。null/空なら null */
+    public static SearchDocType fromParam(String value) {
+        if (value == null || value.isBlank()) return null;
+        String v = value.trim().toUpperCase();
+        return switch (v) {
+            case "ARTICLE", "ARTICLES" -> ARTICLE;
+            case "SYNTAX", "SYNTAXES" -> SYNTAX;
+            case "PROCEDURE", "PROCEDURES" -> PROCEDURE;
+            case "QA", "QAS", "MESSAGE", "MESSAGES" -> QA;
+            default -> throw new IllegalArgumentException("unknown search type: " + value);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.tech.search;
+
+import com.example.tech.enums.TargetType;
+
+import java.time.LocalDateTime;
+
+/**
+ * インデックスに入れる 1 件。スニペット生成のため本文も保持する。
+ * QA のときは parentType/parentId が質問の付いている記事/構文/手順を指す。
+ */
+public record SearchDocument(
+        SearchDocType type,
+        Long id,
+        String slug,
+        String title,
+        String category,
+        String summary,
+        String content,
+        LocalDateTime updatedAt,
+        TargetType parentType,
+        Long parentId
+) {
+    public String key() {
+        return key(type, id);
+    }
+
+    public static String key(SearchDocType type, Long id) {
+        return type.name() + ":" + id;
+    }
+}
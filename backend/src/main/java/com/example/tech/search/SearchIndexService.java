@@ -0,0 +1,234 @@
+package com.example.tech.search;
+
+import com.example.tech.dto.response.SearchResponse;
+import com.example.tech.entity.ArticleEntity;
+import com.example.tech.entity.MessageEntity;
+import com.example.tech.entity.ProcedureEntity;
+import com.example.tech.entity.SyntaxEntity;
+import com.example.tech.event.ContentChangedEvent;
+import com.example.tech.event.MessageChangedEvent;
+import com.example.tech.projection.ContentVersion;
+import com.example.tech.repository.ArticleRepository;
+import com.example.tech.repository.MessageRepository;
+import com.example.tech.repository.ProcedureRepository;
+import com.example.tech.repository.SyntaxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 記事/構文/手順/Q&A の全文検索。
+ * - 起動時: ディスクのインデックスを読み、DB の (id, updatedAt) と突き合わせて差分だけ入れ直す（ファイルがなければ全件構築）
+ * - 管理画面の保存・Q&A の投稿/回答: コミット後にその 1 件だけ入れ直す
+ * - 変更があれば定期的に / 終了時にディスクへ書き出す（app.search.index-path が空なら永続化しない）
+ * 公開中のものだけを入れる（非公開にしたらインデックスから外す）。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService {
+
+    private static final int LOAD_CHUNK = 200;
+
+    private final ArticleRepository articleRepository;
+    private final SyntaxRepository syntaxRepository;
+    private final ProcedureRepository procedureRepository;
+    private final MessageRepository messageRepository;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    @Value("${app.search.index-path:}")
+    String indexPath;
+
+    public SearchResponse search(String query, SearchDocType type, int offset, int limit) {
+        InvertedIndex.Result result = index.search(query, doc -> type == null || doc.type() == type, offset, limit);
+        List<SearchResponse.Hit> hits = result.hits().stream()
+                .map(h -> new SearchResponse.Hit(
+                        h.doc().type(), h.doc().id(), h.doc().slug(), h.doc().title(), h.doc().category(),
+                        SearchSnippets.of(h.doc(), query), h.score(),
+                        h.doc().parentType(), h.doc().parentId()))
+                .toList();
+        return new SearchResponse(query, result.total(), offset, limit, hits);
+    }
+
+    // ---- 構築・同期 ----
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.nanoTime();
+        boolean loaded = load();
+        try {
+            int synced = sync();
+            log.info("search index ready: {} docs ({}, {} synced from DB) in {} ms",
+                    index.size(), loaded ? "loaded from disk" : "built", synced,
+                    (System.nanoTime() - started) / 1_000_000);
+            if (synced > 0) save();
+        } catch (RuntimeException e) {
+            log.warn("search index sync failed: {}", e.getMessage());
+        }
+    }
+
+    /** DB とインデックスの差分（新規・更新・削除/非公開化）を反映し、入れ直した件数を返す */
+    int sync() {
+        int n = 0;
+        n += sync(SearchDocType.ARTICLE, articleRepository.findPublishedVersions(),
+                ids -> articleRepository.findAllById(ids).stream().filter(ArticleEntity::isPublished).map(SearchIndexService::toDocument).toList());
+        n += sync(SearchDocType.SYNTAX, syntaxRepository.findPublishedVersions(),
+                ids -> syntaxRepository.findAllById(ids).stream().filter(SyntaxEntity::isPublished).map(SearchIndexService::toDocument).toList());
+        n += sync(SearchDocType.PROCEDURE, procedureRepository.findPublishedVersions(),
+                ids -> procedureRepository.findAllById(ids).stream().filter(ProcedureEntity::isPublished).map(SearchIndexService::toDocument).toList());
+        n += sync(SearchDocType.QA, messageRepository.findAllVersions(),
+                ids -> messageRepository.findAllById(ids).stream().map(SearchIndexService::toDocument).toList());
+        return n;
+    }
+
+    private int sync(SearchDocType type, List<ContentVersion> current, Function<List<Long>, List<SearchDocument>> loader) {
+        Map<Long, LocalDateTime> indexed = new HashMap<>(index.versions(type));
+        List<Long> stale = new ArrayList<>();
+        for (ContentVersion v : current) {
+            LocalDateTime had = indexed.remove(v.getId());
+            if (had == null || !Objects.equals(had, v.getUpdatedAt())) stale.add(v.getId());
+        }
+        indexed.keySet().forEach(id -> index.remove(type, id)); // DB にない / 非公開になった
+        for (int i = 0; i < stale.size(); i += LOAD_CHUNK) {
+            loader.apply(stale.subList(i, Math.min(stale.size(), i + LOAD_CHUNK))).forEach(index::upsert);
+        }
+        if (!indexed.isEmpty() || !stale.isEmpty()) dirty.set(true);
+        return indexed.size() + stale.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        SearchDocType type = SearchDocType.of(event.type());
+        try {
+            if (event.action() == ContentChangedEvent.Action.DELETED) {
+                index.remove(type, event.id());
+            } else {
+                SearchDocument doc = switch (event.type()) {
+                    case ARTICLE -> articleRepository.findById(event.id())
+                            .filter(ArticleEntity::isPublished).map(SearchIndexService::toDocument).orElse(null);
+                    case SYNTAX -> syntaxRepository.findById(event.id())
+                            .filter(SyntaxEntity::isPublished).map(SearchIndexService::toDocument).orElse(null);
+                    case PROCEDURE -> procedureRepository.findById(event.id())
+                            .filter(ProcedureEntity::isPublished).map(SearchIndexService::toDocument).orElse(null);
+                };
+                if (doc == null) index.remove(type, event.id());
+                else index.upsert(doc);
+            }
+            dirty.set(true);
+        } catch (RuntimeException e) {
+            // 保存自体は成功しているので落とさない（次回起動時の同期で拾われる）
+            log.warn("search index update failed for {} {}: {}", event.type(), event.id(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageChanged(MessageChangedEvent event) {
+        try {
+            messageRepository.findById(event.messageId())
+                    .map(SearchIndexService::toDocument)
+                    .ifPresentOrElse(index::upsert, () -> index.remove(SearchDocType.QA, event.messageId()));
+            dirty.set(true);
+        } catch (RuntimeException e) {
+            log.warn("search index update failed for message {}: {}", event.messageId(), e.getMessage());
+        }
+    }
+
+    // ---- 永続化 ----
+
+    @Scheduled(fixedDelayString = "${app.search.flush-interval-ms:300000}",
+            initialDelayString = "${app.search.flush-interval-ms:300000}")
+    public void flushIfDirty() {
+        if (dirty.get()) save();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dirty.get()) save();
+    }
+
+    synchronized void save() {
+        if (indexPath == null || indexPath.isBlank()) return;
+        Path path = Path.of(indexPath);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        dirty.set(false);
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+                index.writeTo(out);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("search index saved: {} docs -> {}", index.size(), path);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("search index save failed ({}): {}", path, e.getMessage());
+        }
+    }
+
+    private boolean load() {
+        if (indexPath == null || indexPath.isBlank()) return false;
+        Path path = Path.of(indexPath);
+        if (!Files.isRegularFile(path)) return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(path))))) {
+            boolean ok = index.readFrom(in);
+            if (!ok) log.info("search index on disk is from another format/tokenizer version, rebuilding");
+            return ok;
+        } catch (IOException | RuntimeException e) {
+            index.clear();
+            log.warn("search index load failed ({}), rebuilding: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    // ---- エンティティ → 検索文書 ----
+
+    private static SearchDocument toDocument(ArticleEntity e) {
+        return new SearchDocument(SearchDocType.ARTICLE, e.getId(), e.getSlug(), e.getTitle(), e.getCategory(),
+                e.getSummary(), e.getContent(), e.getUpdatedAt(), null, null);
+    }
+
+    private static SearchDocument toDocument(SyntaxEntity e) {
+        return new SearchDocument(SearchDocType.SYNTAX, e.getId(), e.getSlug(), e.getTitle(), e.getCategory(),
+                e.getSummary(), e.getContent(), e.getUpdatedAt(), null, null);
+    }
+
+    private static SearchDocument toDocument(ProcedureEntity e) {
+        return new SearchDocument(SearchDocType.PROCEDURE, e.getId(), e.getSlug(), e.getTitle(), e.getCategory(),
+                null, e.getContent(), e.getUpdatedAt(), null, null);
+    }
+
+    /** 質問と回答を本文として 1 件にする。親は id だけ持つ（遅延ロードの関連は触らない） */
+    private static SearchDocument toDocument(MessageEntity m) {
+        String body = m.getResponse() == null ? m.getQuestion() : m.getQuestion() + "\n\n" + m.getResponse();
+        return new SearchDocument(SearchDocType.QA, m.getId(), null, m.getTitle(), null,
+                null, body, m.getUpdatedAt(), m.getTargetType(), m.getTargetType() == null ? null : m.getContentId());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.tech.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 検索結果のスニペット。本文の Markdown 記法をざっと落とし、最初に当たった位置の前後を切り出して
+ * クエリのトークンを &lt;mark&gt; で囲む。本文はエスケープ済みなので、そのまま innerHTML に入れてよい。
+ */
+public final class SearchSnippets {
+
+    static final int LENGTH = 160;
+    static final int LEAD = 40;
+
+    private static final Pattern IMAGE = Pattern.compile("!\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern FENCE = Pattern.compile("(?m)^\\s*(```|~~~).*$");
+    private static final Pattern HEADING = Pattern.compile("(?m)^\\s{0,3}#{1,6}\\s*");
+    private static final Pattern MARKS = Pattern.compile("[*_`~>|]+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private SearchSnippets() {}
+
+    public static String of(SearchDocument doc, String query) {
+        String text = plain(doc.content());
+        if (text.isEmpty()) text = plain(doc.summary());
+        if (text.isEmpty()) return "";
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (lower.length() != text.length()) lower = text; // 長さが変わる小文字化では位置がずれるので諦める
+
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(BigramTokenizer.tokenize(query)));
+        int first = -1;
+        for (String term : terms) {
+            int at = lower.indexOf(term);
+            if (at >= 0 && (first < 0 || at < first)) first = at;
+        }
+        int start = first < 0 ? 0 : Math.max(0, first - LEAD);
+        int end = Math.min(text.length(), start + LENGTH);
+        if (end - start < LENGTH) start = Math.max(0, end - LENGTH);
+        if (start > 0 && Character.isLowSurrogate(text.charAt(start))) start++;
+        if (end < text.length() && Character.isLowSurrogate(text.charAt(end))) end++;
+
+        // ウィンドウ内の一致位置（bigram は重なるので区間をまとめる）
+        boolean[] marked = new boolean[end - start];
+        for (String term : terms) {
+            for (int at = lower.indexOf(term, start); at >= 0 && at < end; at = lower.indexOf(term, at + 1)) {
+                for (int i = at; i < Math.min(end, at + term.length()); i++) marked[i - start] = true;
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        if (start > 0) sb.append('…');
+        boolean open = false;
+        for (int i = start; i < end; i++) {
+            boolean m = marked[i - start];
+            if (m && !open) sb.append("<mark>");
+            if (!m && open) sb.append("</mark>");
+            open = m;
+            escape(sb, text.charAt(i));
+        }
+        if (open) sb.append("</mark>");
+        if (end < text.length()) sb.append('…');
+        return sb.toString();
+    }
+
+    static String plain(String markdown) {
+        if (markdown == null || markdown.isBlank()) return "";
+        String s = Normalizer.normalize(markdown, Normalizer.Form.NFKC);
+        s = FENCE.matcher(s).replaceAll(" ");
+        s = IMAGE.matcher(s).replaceAll("$1");
+        s = LINK.matcher(s).replaceAll("$1");
+        s = HEADING.matcher(s).replaceAll("");
+        s = MARKS.matcher(s).replaceAll("");
+        return SPACES.matcher(s).replaceAll(" ").trim();
+    }
+
+    private static void escape(StringBuilder sb, char c) {
+        switch (c) {
+            case '&' -> sb.append("&amp;");
+            case '<' -> sb.append("&lt;");
+            case '>' -> sb.append("&gt;");
+            case '"' -> sb.append("&quot;");
+            case '\'' -> sb.append("&#39;");
+            default -> sb.append(c);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.tech.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 入力補完用の前置木（文字ごとのトライ）。キーは正規化したタイトルと slug（途中の単語から始まるものも含む）。
+ * 各ノードに「その接頭辞を持つ候補の上位 K 件」を持たせてあるので、問い合わせは接頭辞をたどって配列を返すだけ。
+ * 1 件の追加/削除はそのキーの経路上のノードだけ上位を計算し直す。{@link #replaceAll} はロックの外で組み立てて差し替える。
+ * スレッドセーフ（読み取りは並行、更新は排他）。
+ */
+public class SuggestIndex {
+
+    /** ノードに持つ上位件数（= 1 回に返せる最大件数） */
+    public static final int K = 10;
+
+    /** これより長い接頭辞は区別しない（木の深さとメモリを抑える） */
+    static final int MAX_KEY_LENGTH = 48;
+
+    /** 途中の単語から始まるキーは 1 フィールドあたりこの数まで */
+    private static final int MAX_WORD_KEYS = 6;
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+    private static final int[] NO_INTS = new int[0];
+
+    public record Entry(SearchDocType type, Long id, String slug, String title, long weight) {
+        String key() {
+            return type + ":" + id;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+
+    /** 接頭辞に一致する上位 limit 件（重みの大きい順） */
+    public List<Entry> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) return List.of();
+        lock.readLock().lock();
+        try {
+            Node node = state.root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) return List.of();
+            int n = Math.min(limit, node.top.length);
+            List<Entry> out = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) out.add(state.slots.get(node.top[i]).entry());
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 追加または置き換え（同じ種別と id の候補があれば先に外す） */
+    public void upsert(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            state.remove(entry.key());
+            state.add(entry, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(SearchDocType type, Long id) {
+        lock.writeLock().lock();
+        try {
+            state.remove(type + ":" + id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 全件を入れ替える（起動時と重みの定期更新）。組み立て中も読み取りは古い木で続く */
+    public void replaceAll(Collection<Entry> entries) {
+        State next = new State();
+        for (Entry e : entries) next.add(e, false);
+        next.recomputeAll(next.root);
+        lock.writeLock().lock();
+        try {
+            state = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.bySlotKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 検索語とキーの共通の正規化（NFKC・小文字・空白を 1 つに・長さ制限） */
+    static String normalize(String text) {
+        if (text == null) return "";
+        String s = BigramTokenizer.normalize(text).strip().replaceAll("\\s+", " ");
+        return s.length() > MAX_KEY_LENGTH ? s.substring(0, MAX_KEY_LENGTH) : s;
+    }
+
+    /** フィールド全体と、空白や区切り記号の後ろから始まる部分をキーにする */
+    static Set<String> keysOf(Entry entry) {
+        Set<String> keys = new LinkedHashSet<>();
+        addKeys(entry.title(), keys);
+        addKeys(entry.slug(), keys);
+        return keys;
+    }
+
+    private static void addKeys(String field, Set<String> keys) {
+        String full = BigramTokenizer.normalize(field == null ? "" : field).strip().replaceAll("\\s+", " ");
+        if (full.isEmpty()) return;
+        keys.add(normalize(full));
+        int words = 0;
+        for (int i = 1; i < full.length() && words < MAX_WORD_KEYS; i++) {
+            if (isSeparator(full.charAt(i - 1)) && !isSeparator(full.charAt(i))) {
+                keys.add(normalize(full.substring(i)));
+                words++;
+            }
+        }
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '-' || c == '_' || c == '/' || c == '.' || c == '　' || c == '・';
+    }
+
+    // ---- 木の本体 ----
+
+    private record Slot(Entry entry, Set<String> keys) {}
+
+    private static final class State {
+        final Node root = new Node();
+        final List<Slot> slots = new ArrayList<>();
+        final Map<String, Integer> bySlotKey = new HashMap<>();
+        final Deque<Integer> free = new ArrayDeque<>();
+
+        void add(Entry entry, boolean recompute) {
+            Set<String> keys = keysOf(entry);
+            if (keys.isEmpty()) return;
+            Slot slot = new Slot(entry, keys);
+            int index;
+            if (free.isEmpty()) {
+                index = slots.size();
+                slots.add(slot);
+            } else {
+                index = free.pop();
+                slots.set(index, slot);
+            }
+            bySlotKey.put(entry.key(), index);
+
+            for (String key : keys) {
+                Node[] path = new Node[key.length() + 1];
+                path[0] = root;
+                for (int i = 0; i < key.length(); i++) {
+                    path[i + 1] = path[i].childOrCreate(key.charAt(i));
+                }
+                Node last = path[key.length()];
+                last.terminals = append(last.terminals, index);
+                if (recompute) {
+                    for (int i = path.length - 1; i >= 0; i--) recompute(path[i]);
+                }
+            }
+        }
+
+        void remove(String slotKey) {
+            Integer index = bySlotKey.remove(slotKey);
+            if (index == null) return;
+            Slot slot = slots.get(index);
+            for (String key : slot.keys()) {
+                Node[] path = new Node[key.length() + 1];
+                path[0] = root;
+                for (int i = 0; i < key.length() && path[i] != null; i++) {
+                    path[i + 1] = path[i].child(key.charAt(i));
+                }
+                Node last = path[key.length()];
+                if (last == null) continue;
+                last.terminals = without(last.terminals, index);
+                for (int i = path.length - 1; i >= 0; i--) {
+                    Node node = path[i];
+                    if (i > 0 && node.terminals.length == 0 && node.children.length == 0) {
+                        path[i - 1].removeChild(key.charAt(i - 1));
+                    } else {
+                        recompute(node);
+                    }
+                }
+            }
+            slots.set(index, null);
+            free.push(index);
+        }
+
+        void recomputeAll(Node node) {
+            for (Node child : node.children) recomputeAll(child);
+            recompute(node);
+        }
+
+        /** 自分で終わるキーと子の上位をマージして上位 K 件にする */
+        void recompute(Node node) {
+            int[] best = new int[K];
+            int size = 0;
+            for (int s : node.terminals) size = offer(best, size, s);
+            for (Node child : node.children) {
+                for (int s : child.top) size = offer(best, size, s);
+            }
+            node.top = size == 0 ? NO_INTS : Arrays.copyOf(best, size);
+        }
+
+        private int offer(int[] best, int size, int slot) {
+            for (int i = 0; i < size; i++) {
+                if (best[i] == slot) return size; // タイトルと slug の両方から来た同じ候補
+            }
+            if (size == K && !ranksBefore(slot, best[K - 1])) return size;
+            int i = size == K ? K - 1 : size;
+            while (i > 0 && ranksBefore(slot, best[i - 1])) {
+                best[i] = best[i - 1];
+                i--;
+            }
+            best[i] = slot;
+            return size == K ? K : size + 1;
+        }
+
+        /** 重みの大きい順 → 短いタイトル順 → 種別 → id（結果を安定させる） */
+        private boolean ranksBefore(int a, int b) {
+            Entry x = slots.get(a).entry();
+            Entry y = slots.get(b).entry();
+            if (x.weight() != y.weight()) return x.weight() > y.weight();
+            int lx = x.title() == null ? 0 : x.title().length();
+            int ly = y.title() == null ? 0 : y.title().length();
+            if (lx != ly) return lx < ly;
+            if (x.type() != y.type()) return x.type().ordinal() < y.type().ordinal();
+            return x.id() < y.id();
+        }
+    }
+
+    /** 子は文字の昇順に並べた配列で持つ（二分探索） */
+    private static final class Node {
+        char[] labels = NO_CHARS;
+        Node[] children = NO_NODES;
+        int[] terminals = NO_INTS;
+        int[] top = NO_INTS;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) return children[i];
+            int at = -i - 1;
+            char[] l = new char[labels.length + 1];
+            Node[] ch = new Node[children.length + 1];
+            System.arraycopy(labels, 0, l, 0, at);
+            System.arraycopy(children, 0, ch, 0, at);
+            Node created = new Node();
+            l[at] = c;
+            ch[at] = created;
+            System.arraycopy(labels, at, l, at + 1, labels.length - at);
+            System.arraycopy(children, at, ch, at + 1, children.length - at);
+            labels = l;
+            children = ch;
+            return created;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i < 0) return;
+            if (labels.length == 1) {
+                labels = NO_CHARS;
+                children = NO_NODES;
+                return;
+            }
+            char[] l = new char[labels.length - 1];
+            Node[] ch = new Node[children.length - 1];
+            System.arraycopy(labels, 0, l, 0, i);
+            System.arraycopy(children, 0, ch, 0, i);
+            System.arraycopy(labels, i + 1, l, i, labels.length - i - 1);
+            System.arraycopy(children, i + 1, ch, i, children.length - i - 1);
+            labels = l;
+            children = ch;
+        }
+    }
+
+    private static int[] append(int[] a, int v) {
+        int[] out = Arrays.copyOf(a, a.length + 1);
+        out[a.length] = v;
+        return out;
+    }
+
+    private static int[] without(int[] a, int v) {
+        int n = 0;
+        int[] out = new int[a.length];
+        for (int x : a) if (x != v) out[n++] = x;
+        return n == 0 ? NO_INTS : Arrays.copyOf(out, n);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.tech.search;
+
+import com.example.tech.dto.response.SuggestResponse;
+import com.example.tech.entity.ArticleEntity;
+import com.example.tech.entity.ProcedureEntity;
+import com.example.tech.entity.ReadStatus;
+import com.example.tech.entity.SyntaxEntity;
+import com.example.tech.enums.TargetType;
+import com.example.tech.event.ContentChangedEvent;
+import com.example.tech.projection.ContentBrief;
+import com.example.tech.projection.ContentCount;
+import com.example.tech.repository.ArticleReadRepository;
+import com.example.tech.repository.ArticleRepository;
+import com.example.tech.repository.ProcedureRepository;
+import com.example.tech.repository.ReactionRepository;
+import com.example.tech.repository.ReadStatusRepository;
+import com.example.tech.repository.SyntaxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ナビの検索ボックス用の入力補完。公開中の記事/構文/手順のタイトルと slug を {@link SuggestIndex} に載せ、
+ * 打鍵ごとの問い合わせは DB に行かずメモリだけで返す。
+ * - 重みは いいね数 × {@value #LIKE_WEIGHT} + 既読数
+ * - 公開/非公開/編集: コミット後にその 1 件だけ入れ直す
+ * - いいね・既読の増減は即時には反映せず、定期的に全件を組み直して重みを更新する
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SuggestService {
+
+    static final long LIKE_WEIGHT = 5;
+
+    private final ArticleRepository articleRepository;
+    private final SyntaxRepository syntaxRepository;
+    private final ProcedureRepository procedureRepository;
+    private final ReactionRepository reactionRepository;
+    private final ArticleReadRepository articleReadRepository;
+    private final ReadStatusRepository readStatusRepository;
+
+    private final SuggestIndex index = new SuggestIndex();
+
+    public SuggestResponse suggest(String query, int limit) {
+        List<SuggestResponse.Item> items = index.suggest(query, limit).stream()
+                .map(e -> new SuggestResponse.Item(e.type(), e.id(), e.slug(), e.title()))
+                .toList();
+        return new SuggestResponse(query, items);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    /** 全件を読み直して差し替える（起動時と、重みの更新のため定期的に） */
+    @Scheduled(fixedDelayString = "${app.suggest.refresh-interval-ms:600000}",
+            initialDelayString = "${app.suggest.refresh-interval-ms:600000}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        try {
+            List<SuggestIndex.Entry> entries = new ArrayList<>();
+
+            Map<Long, Long> articleWeights = weights(reactionRepository.countGroupByTarget(TargetType.ARTICLE),
+                    articleReadRepository.countGroupByArticle(),
+                    readStatusRepository.countGroupByContent(ReadStatus.Target.articles));
+            for (ContentBrief b : articleRepository.findPublishedBriefs()) {
+                entries.add(entry(SearchDocType.ARTICLE, b, articleWeights));
+            }
+
+            Map<Long, Long> syntaxWeights = weights(reactionRepository.countGroupByTarget(TargetType.SYNTAX),
+                    readStatusRepository.countGroupByContent(ReadStatus.Target.syntaxes));
+            for (ContentBrief b : syntaxRepository.findPublishedBriefs()) {
+                entries.add(entry(SearchDocType.SYNTAX, b, syntaxWeights));
+            }
+
+            Map<Long, Long> procedureWeights = weights(reactionRepository.countGroupByTarget(TargetType.PROCEDURE),
+                    readStatusRepository.countGroupByContent(ReadStatus.Target.procedures));
+            for (ContentBrief b : procedureRepository.findPublishedBriefs()) {
+                entries.add(entry(SearchDocType.PROCEDURE, b, procedureWeights));
+            }
+
+            index.replaceAll(entries);
+            log.debug("suggest index rebuilt: {} entries in {} ms", index.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            // 古い木のまま動かし続ける
+            log.warn("suggest index rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        SearchDocType type = SearchDocType.of(event.type());
+        Long id = event.id();
+        try {
+            if (event.action() == ContentChangedEvent.Action.DELETED) {
+                index.remove(type, id);
+                return;
+            }
+            SuggestIndex.Entry entry = switch (event.type()) {
+                case ARTICLE -> articleRepository.findById(id).filter(ArticleEntity::isPublished)
+                        .map(a -> new SuggestIndex.Entry(type, id, a.getSlug(), a.getTitle(),
+                                reactionRepository.countByTargetAndTargetId(TargetType.ARTICLE, id) * LIKE_WEIGHT
+                                        + articleReadRepository.countByArticle_Id(id)
+                                        + readStatusRepository.countByTargetAndContentId(ReadStatus.Target.articles, id)))
+                        .orElse(null);
+                case SYNTAX -> syntaxRepository.findById(id).filter(SyntaxEntity::isPublished)
+                        .map(s -> new SuggestIndex.Entry(type, id, s.getSlug(), s.getTitle(),
+                                reactionRepository.countByTargetAndTargetId(TargetType.SYNTAX, id) * LIKE_WEIGHT
+                                        + readStatusRepository.countByTargetAndContentId(ReadStatus.Target.syntaxes, id)))
+                        .orElse(null);
+                case PROCEDURE -> procedureRepository.findById(id).filter(ProcedureEntity::isPublished)
+                        .map(p -> new SuggestIndex.Entry(type, id, p.getSlug(), p.getTitle(),
+                                reactionRepository.countByTargetAndTargetId(TargetType.PROCEDURE, id) * LIKE_WEIGHT
+                                        + readStatusRepository.countByTargetAndContentId(ReadStatus.Target.procedures, id)))
+                        .orElse(null);
+            };
+            if (entry == null) index.remove(type, id);
+            else index.upsert(entry);
+        } catch (RuntimeException e) {
+            // 次回の定期再構築で拾われる
+            log.warn("suggest index update failed for {} {}: {}", event.type(), id, e.getMessage());
+        }
+    }
+
+    private static SuggestIndex.Entry entry(SearchDocType type, ContentBrief b, Map<Long, Long> weights) {
+        return new SuggestIndex.Entry(type, b.getId(), b.getSlug(), b.getTitle(), weights.getOrDefault(b.getId(), 0L));
+    }
+
+    /** likes × LIKE_WEIGHT + 各既読数の合計 */
+    @SafeVarargs
+    private static Map<Long, Long> weights(List<ContentCount> likes, List<ContentCount>... reads) {
+        Map<Long, Long> out = new HashMap<>();
+        for (ContentCount c : likes) out.merge(c.getContentId(), c.getCount() * LIKE_WEIGHT, Long::sum);
+        for (List<ContentCount> list : reads) {
+            for (ContentCount c : list) out.merge(c.getContentId(), c.getCount(), Long::sum);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.tech.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * SecurityContext に載せる principal。
+ * トークン検証時に users テーブルの ID まで解決しておくので、後段は email → ID の SELECT が不要。
+ * アプリ側で未登録（/api/register 前）の場合 userId は null。
+ */
+public record AuthUser(Long userId, String email, String displayName, boolean admin)
+        implements AuthenticatedPrincipal {
+
+    /** auth.getName() は従来どおり email を返す */
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean isRegistered() {
+        return userId != null;
+    }
+
+    /** アプリ側未登録なら 401（従来の email → users 解決失敗と同じ扱い） */
+    public Long requireUserId() {
+        if (userId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "user not registered");
+        }
+        return userId;
+    }
+
+    /** admin クレームが無ければ 403（旧 verifyAdminAndGetEmail と同じ判定） */
+    public AuthUser requireAdmin() {
+        if (!admin) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "管理者のみが実行できます。");
+        }
+        return this;
+    }
+}
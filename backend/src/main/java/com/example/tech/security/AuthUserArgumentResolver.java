@@ -0,0 +1,41 @@
+package com.example.tech.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * コントローラ引数の {@link AuthUser} を SecurityContext から注入する。
+ * トークン検証は FirebaseTokenFilter で 1 回だけ行い、ここでは検証済み principal を渡すだけ。
+ * 未認証なら 401。{@code @Nullable AuthUser} と書いた引数には null を渡す（匿名でも動くエンドポイント用）。
+ */
+@Component
+public class AuthUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return AuthUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthUser user) {
+            return user;
+        }
+        if (parameter.isOptional()) {
+            return null;
+        }
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "トークンの検証に失敗しました。");
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.tech.security;
+
+/**
+ * Firebase ID トークンの検証方式。
+ * app.auth.verifier=sdk（既定）なら Firebase Admin SDK、local ならローカル JWT 検証。
+ */
+public interface IdTokenVerifier {
+    VerifiedToken verify(String idToken) throws TokenVerificationException;
+}
@@ -0,0 +1,76 @@
+package com.example.tech.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.interfaces.RSAPublicKey;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** JWK Set の URL から RSA 公開鍵を取得する（max-age は Cache-Control から読む） */
+public class JwkSigningKeySource implements SigningKeySource {
+
+    /** Firebase ID トークンの署名鍵（JWK 形式） */
+    public static final String FIREBASE_JWKS_URI =
+            "https://www.googleapis.com/service_accounts/v1/jwk/securetoken@system.gserviceaccount.com";
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age\\s*=\\s*(\\d+)");
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+
+    private final URI uri;
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public JwkSigningKeySource(String uri) {
+        this.uri = URI.create(uri);
+    }
+
+    @Override
+    public SigningKeys fetch() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while fetching signing keys", e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("signing key fetch failed: HTTP " + response.statusCode());
+        }
+
+        Map<String, RSAPublicKey> keys = new HashMap<>();
+        try {
+            for (JWK jwk : JWKSet.parse(response.body()).getKeys()) {
+                if (jwk instanceof RSAKey rsa && jwk.getKeyID() != null) {
+                    keys.put(jwk.getKeyID(), rsa.toRSAPublicKey());
+                }
+            }
+        } catch (ParseException | JOSEException e) {
+            throw new IOException("invalid JWK set from " + uri, e);
+        }
+        if (keys.isEmpty()) throw new IOException("no RSA keys in JWK set from " + uri);
+
+        Duration maxAge = response.headers().firstValue("Cache-Control")
+                .map(MAX_AGE::matcher)
+                .filter(Matcher::find)
+                .map(m -> Duration.ofSeconds(Long.parseLong(m.group(1))))
+                .orElse(DEFAULT_MAX_AGE);
+        return new SigningKeys(keys, maxAge);
+    }
+}
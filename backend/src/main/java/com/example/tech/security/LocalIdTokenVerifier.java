@@ -0,0 +1,94 @@
+package com.example.tech.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.security.interfaces.RSAPublicKey;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Firebase ID トークンをローカルで検証する実装。
+ * 署名（RS256）・iss・aud・exp/iat/auth_time・sub を Firebase の仕様どおりに確認する。
+ * 鍵は {@link SigningKeyCache} のメモリ上のものだけを使う。
+ */
+public class LocalIdTokenVerifier implements IdTokenVerifier {
+
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private final SigningKeyCache signingKeys;
+    private final String projectId;
+    private final String issuer;
+    private final Clock clock;
+
+    public LocalIdTokenVerifier(SigningKeyCache signingKeys, String projectId, Clock clock) {
+        this.signingKeys = signingKeys;
+        this.projectId = projectId;
+        this.issuer = "https://securetoken.google.com/" + projectId;
+        this.clock = clock;
+    }
+
+    @Override
+    public VerifiedToken verify(String idToken) throws TokenVerificationException {
+        SignedJWT jwt;
+        JWTClaimsSet claims;
+        try {
+            jwt = SignedJWT.parse(idToken);
+            claims = jwt.getJWTClaimsSet();
+        } catch (ParseException e) {
+            throw new TokenVerificationException("malformed id token", e);
+        }
+
+        if (!JWSAlgorithm.RS256.equals(jwt.getHeader().getAlgorithm())) {
+            throw new TokenVerificationException("unexpected alg: " + jwt.getHeader().getAlgorithm());
+        }
+        RSAPublicKey key = signingKeys.get(jwt.getHeader().getKeyID());
+        if (key == null) {
+            throw new TokenVerificationException("unknown kid: " + jwt.getHeader().getKeyID());
+        }
+        try {
+            if (!jwt.verify(new RSASSAVerifier(key))) {
+                throw new TokenVerificationException("invalid signature");
+            }
+        } catch (JOSEException e) {
+            throw new TokenVerificationException("signature check failed", e);
+        }
+
+        Instant now = clock.instant();
+        if (!issuer.equals(claims.getIssuer())) {
+            throw new TokenVerificationException("unexpected iss: " + claims.getIssuer());
+        }
+        if (claims.getAudience() == null || !claims.getAudience().contains(projectId)) {
+            throw new TokenVerificationException("unexpected aud: " + claims.getAudience());
+        }
+        Date exp = claims.getExpirationTime();
+        if (exp == null || !now.isBefore(exp.toInstant())) {
+            throw new TokenVerificationException("token expired");
+        }
+        if (isMissingOrInFuture(claims.getIssueTime(), now)) {
+            throw new TokenVerificationException("iat is in the future");
+        }
+        Object authTime = claims.getClaim("auth_time");
+        if (authTime instanceof Number n && Instant.ofEpochSecond(n.longValue()).isAfter(now.plus(CLOCK_SKEW))) {
+            throw new TokenVerificationException("auth_time is in the future");
+        }
+        String sub = claims.getSubject();
+        if (sub == null || sub.isEmpty() || sub.length() > 128) {
+            throw new TokenVerificationException("invalid sub");
+        }
+
+        String email = claims.getClaim("email") instanceof String s ? s : null;
+        boolean isAdmin = Boolean.TRUE.equals(claims.getClaim("admin"));
+        return new VerifiedToken(sub, email, isAdmin, exp.toInstant());
+    }
+
+    private static boolean isMissingOrInFuture(Date date, Instant now) {
+        return date == null || date.toInstant().isAfter(now.plus(CLOCK_SKEW));
+    }
+}
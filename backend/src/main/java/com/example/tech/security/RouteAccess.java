@@ -0,0 +1,28 @@
+package com.example.tech.security;
+
+/**
+ * ルートごとの認証・認可の扱い。
+ * FirebaseTokenFilter（トークン検証するか）と SecurityConfig（認可）の両方がこれを見る。
+ */
+public enum RouteAccess {
+
+    /** 認証不要。GET ならトークン検証もしない */
+    PUBLIC,
+
+    /** 認証不要だが、トークンがあればフィルタで検証して本人として扱う */
+    IDENTIFIED,
+
+    /** 認証必須 */
+    AUTHENTICATED,
+
+    /** ROLE_ADMIN 必須 */
+    ADMIN,
+
+    /** /api 以外（静的リソース等）。認可しない */
+    OPEN;
+
+    /** SecurityConfig で permitAll 扱いになるか */
+    public boolean isPermitted() {
+        return this == PUBLIC || this == IDENTIFIED || this == OPEN;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.tech.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * (HTTPメソッド, Antパターン) の順序付きルール表を起動時にセグメント単位のトライへコンパイルし、
+ * リクエストごとのパターン照合ループを 1 回のトライ探索に置き換える。
+ *
+ * <p>判定は AntPathMatcher で上から順に照合して最初に当たったルールを採るのと同じ（first match）。
+ * 対応するパターン要素はリテラル、{@code *}（1セグメント）、末尾の {@code **} のみ。
+ * 末尾スラッシュの扱いも AntPathMatcher に合わせている。探索中に文字列を切り出さないので割り当てなし。
+ */
+public final class RouteClassifier<T> {
+
+    /** method が null なら全メソッドに一致 */
+    public record Rule<T>(String method, String pattern, T value) {
+        public Rule {
+            Objects.requireNonNull(pattern, "pattern");
+            Objects.requireNonNull(value, "value");
+        }
+    }
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final Node root = new Node();
+    private final List<Rule<T>> rules;
+    private final T fallback;
+
+    public RouteClassifier(List<Rule<T>> rules, T fallback) {
+        this.rules = List.copyOf(rules);
+        this.fallback = Objects.requireNonNull(fallback, "fallback");
+        for (int order = 0; order < this.rules.size(); order++) {
+            insert(order, this.rules.get(order));
+        }
+    }
+
+    /** どのルールにも当たらなければ fallback */
+    public T classify(String method, String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') return fallback;
+        boolean trailingSlash = path.length() > 1 && path.charAt(path.length() - 1) == '/';
+        int order = match(root, method, path, 0, trailingSlash);
+        return order == NO_MATCH ? fallback : rules.get(order).value();
+    }
+
+    public List<Rule<T>> rules() {
+        return rules;
+    }
+
+    // ========================= compile =========================
+
+    private void insert(int order, Rule<T> rule) {
+        String pattern = rule.pattern();
+        if (!pattern.startsWith("/") || (pattern.length() > 1 && pattern.endsWith("/"))) {
+            throw new IllegalArgumentException("pattern must start (and not end) with '/': " + pattern);
+        }
+        String[] segments = pattern.substring(1).split("/");
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if ("**".equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported at the end: " + pattern);
+                }
+                node.rest.add(new Terminal(order, rule.method()));
+                return;
+            }
+            if (segment.isEmpty()) {
+                throw new IllegalArgumentException("empty segment: " + pattern);
+            }
+            if ("*".equals(segment)) {
+                if (node.star == null) node.star = new Node();
+                node = node.star;
+            } else if (segment.indexOf('*') >= 0 || segment.indexOf('{') >= 0 || segment.indexOf('?') >= 0) {
+                throw new IllegalArgumentException("wildcards inside a segment are not supported: " + pattern);
+            } else {
+                node = node.literal(segment);
+            }
+        }
+        node.exact.add(new Terminal(order, rule.method()));
+    }
+
+    // ========================= match =========================
+
+    /** from 以降のパスに一致するルールのうち最小の order（なければ NO_MATCH） */
+    private static int match(Node node, String method, String path, int from, boolean trailingSlash) {
+        // 末尾 ** は残り 0 セグメント以上に一致
+        int best = first(node.rest, method);
+
+        int start = from;
+        int length = path.length();
+        while (start < length && path.charAt(start) == '/') start++;
+
+        if (start == length) {
+            // パスを使い切った：パターン側も終端なら一致（末尾スラッシュ有無は揃っている必要がある）
+            if (!trailingSlash) {
+                best = Math.min(best, first(node.exact, method));
+            } else if (node.star != null) {
+                // "/api/*" は "/api/" にも一致する（AntPathMatcher 互換）
+                best = Math.min(best, first(node.star.exact, method));
+            }
+            return best;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) end = length;
+        int segmentLength = end - start;
+
+        for (int i = 0; i < node.literalKeys.size(); i++) {
+            String key = node.literalKeys.get(i);
+            if (key.length() == segmentLength && path.regionMatches(start, key, 0, segmentLength)) {
+                best = Math.min(best, match(node.literalNodes.get(i), method, path, end, trailingSlash));
+                break;
+            }
+        }
+        if (node.star != null) {
+            best = Math.min(best, match(node.star, method, path, end, trailingSlash));
+        }
+        return best;
+    }
+
+    private static int first(List<Terminal> terminals, String method) {
+        // order 昇順で追加しているので最初に当たったものが最小
+        for (int i = 0; i < terminals.size(); i++) {
+            Terminal t = terminals.get(i);
+            if (t.method == null || t.method.equals(method)) return t.order;
+        }
+        return NO_MATCH;
+    }
+
+    private record Terminal(int order, String method) {}
+
+    private static final class Node {
+        final List<String> literalKeys = new ArrayList<>();
+        final List<Node> literalNodes = new ArrayList<>();
+        final List<Terminal> exact = new ArrayList<>();
+        final List<Terminal> rest = new ArrayList<>();
+        Node star;
+
+        Node literal(String key) {
+            int i = literalKeys.indexOf(key);
+            if (i >= 0) return literalNodes.get(i);
+            Node child = new Node();
+            literalKeys.add(key);
+            literalNodes.add(child);
+            return child;
+        }
+    }
+}
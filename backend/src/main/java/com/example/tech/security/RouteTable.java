@@ -0,0 +1,117 @@
+package com.example.tech.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 公開/保護ルートの一覧。起動時に 1 回だけ {@link RouteClassifier} へコンパイルし、
+ * FirebaseTokenFilter と SecurityConfig の両方がこの表で判定する（ルート定義はここだけ）。
+ * 上から順に最初に当たった行が採用される。
+ */
+@Component
+public class RouteTable {
+
+    private static final List<RouteClassifier.Rule<RouteAccess>> RULES = List.of(
+            // プリフライト/HEAD は常に許可
+            rule("OPTIONS", "/**", RouteAccess.PUBLIC),
+            rule("HEAD", "/api/**", RouteAccess.PUBLIC),
+
+            // 公開GETの配下だが、トークンがあれば本人情報を使う
+            rule("GET", "/api/articles/read", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/articles/read/status", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/articles/read/all", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/articles/liked", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/syntaxes/read/status", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/syntaxes/read/all", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/syntaxes/likes/status", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/procedures/read/status", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/procedures/read/all", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/procedures/likes/status", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/review-scores", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/review-scores/my/**", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/articles/*/bundle", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/syntaxes/*/bundle", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/procedures/*/bundle", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/articles/status/bulk", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/syntaxes/status/bulk", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/procedures/status/bulk", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/articles/progress/*", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/syntaxes/progress/*", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/procedures/progress/*", RouteAccess.IDENTIFIED),
+            rule("GET", "/api/procedures/next-unread", RouteAccess.IDENTIFIED),
+
+            // 公開 API（認証不要）
+            rule(null, "/api/articles/**", RouteAccess.PUBLIC),
+            rule(null, "/api/syntaxes/**", RouteAccess.PUBLIC),
+            rule(null, "/api/procedures/**", RouteAccess.PUBLIC),
+            rule("GET", "/api/*/*/*/messages", RouteAccess.PUBLIC),       // 例: /api/procedure/45/comment/messages
+            rule("GET", "/api/*/*/*/messages/**", RouteAccess.PUBLIC),
+            // 旧フィルタの GET /api/procedure/**（単数形）のスキップは引き継がない。旧 SecurityConfig 側は認証必須だったので
+            // 上の messages 以外は誰も通れず（検証を飛ばして 401）、単数形で公開しているのは messages だけ。以降は /api/** の認証必須
+            rule("GET", "/api/review-scores/**", RouteAccess.PUBLIC),
+            rule("GET", "/api/review-comments/**", RouteAccess.PUBLIC),
+            rule("GET", "/api/likes/count", RouteAccess.PUBLIC),
+            rule("GET", "/api/search", RouteAccess.PUBLIC),
+            rule("GET", "/api/suggest", RouteAccess.PUBLIC),
+            rule(null, "/api/register", RouteAccess.PUBLIC),
+
+            // 管理者
+            rule(null, "/api/admin/**", RouteAccess.ADMIN),
+            rule(null, "/api/messages/admin/**", RouteAccess.ADMIN),
+
+            // actuator のキャッシュ統計/破棄は管理者のみ（health はそのまま公開）
+            rule(null, "/actuator/metrics/**", RouteAccess.ADMIN),
+            rule(null, "/actuator/caches/**", RouteAccess.ADMIN),
+
+            // それ以外の /api/** は認証必須
+            rule(null, "/api/**", RouteAccess.AUTHENTICATED)
+    );
+
+    private final RouteClassifier<RouteAccess> classifier = new RouteClassifier<>(RULES, RouteAccess.OPEN);
+
+    public RouteAccess classify(String method, String path) {
+        return classifier.classify(method, path);
+    }
+
+    public RouteAccess classify(HttpServletRequest request) {
+        return classify(request.getMethod(), path(request));
+    }
+
+    /** トークン検証をスキップしてよいか（プリフライト/HEAD と公開GET） */
+    public boolean skipsTokenVerification(String method, String path) {
+        if ("OPTIONS".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method)) return true;
+        return "GET".equalsIgnoreCase(method) && classify(method, path) == RouteAccess.PUBLIC;
+    }
+
+    public boolean skipsTokenVerification(HttpServletRequest request) {
+        return skipsTokenVerification(request.getMethod(), path(request));
+    }
+
+    /**
+     * Spring MVC がハンドラを選ぶのと同じパス（URL デコード済み・コンテキストパス抜き・;jsessionid 等除去）。
+     * getRequestURI() のままだと /api/%61dmin/** が /api/admin/** に当たらず、MVC 側では AdminController に届いてしまう
+     */
+    static String path(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+
+    /** SecurityConfig 用：指定の扱いに分類されるリクエストに一致する */
+    public RequestMatcher matcher(RouteAccess first, RouteAccess... rest) {
+        Set<RouteAccess> accesses = EnumSet.of(first, rest);
+        return request -> accesses.contains(classify(request));
+    }
+
+    public List<RouteClassifier.Rule<RouteAccess>> rules() {
+        return RULES;
+    }
+
+    private static RouteClassifier.Rule<RouteAccess> rule(String method, String pattern, RouteAccess access) {
+        return new RouteClassifier.Rule<>(method, pattern, access);
+    }
+}
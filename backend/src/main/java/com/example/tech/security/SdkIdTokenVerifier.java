@@ -0,0 +1,17 @@
+package com.example.tech.security;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+
+/** 従来どおり Firebase Admin SDK に検証を任せる実装 */
+public class SdkIdTokenVerifier implements IdTokenVerifier {
+
+    @Override
+    public VerifiedToken verify(String idToken) throws TokenVerificationException {
+        try {
+            return VerifiedToken.from(FirebaseAuth.getInstance().verifyIdToken(idToken));
+        } catch (FirebaseAuthException e) {
+            throw new TokenVerificationException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.tech.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 署名鍵をメモリに保持し、Cache-Control の期限より前にバックグラウンドで差し替える。
+ * リクエスト処理中にリモート取得は行わない（未知の kid は非同期リフレッシュを促すだけ）。
+ * - 予約しておく次回リフレッシュは常に 1 つだけ。前倒しで取り直したときは予約を差し替える
+ * - 前倒しの取り直しは直前の取得から MIN_ON_DEMAND 以上空いたときだけ（未知の kid を連打されても取得元を叩かない）
+ */
+@Slf4j
+public class SigningKeyCache implements AutoCloseable {
+
+    private static final Duration MIN_REFRESH = Duration.ofSeconds(30);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+    private static final Duration MIN_ON_DEMAND = Duration.ofSeconds(30);
+
+    private final SigningKeySource source;
+    private final ScheduledExecutorService scheduler;
+    private final long minOnDemandNanos;
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private volatile Map<String, RSAPublicKey> keys = Map.of();
+    private volatile long lastFetchNanos;
+    /** 予約中の次回リフレッシュ。refresh() の中（synchronized）でだけ差し替える */
+    private ScheduledFuture<?> scheduled;
+
+    public SigningKeyCache(SigningKeySource source) {
+        this(source, Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "signing-key-refresh");
+            t.setDaemon(true);
+            return t;
+        }), MIN_ON_DEMAND);
+    }
+
+    SigningKeyCache(SigningKeySource source, ScheduledExecutorService scheduler, Duration minOnDemand) {
+        this.source = source;
+        this.scheduler = scheduler;
+        this.minOnDemandNanos = minOnDemand.toNanos();
+        // 起動直後の未知 kid でも取り直せるよう、前回取得は十分前だったことにしておく
+        this.lastFetchNanos = System.nanoTime() - minOnDemandNanos;
+    }
+
+    /** 起動時に一度だけ同期取得し、以降は期限前リフレッシュを予約する */
+    public void start() {
+        refresh();
+    }
+
+    public RSAPublicKey get(String kid) {
+        RSAPublicKey key = kid == null ? null : keys.get(kid);
+        if (key == null) requestRefresh();
+        return key;
+    }
+
+    /** 鍵ローテーション直後など、未知の kid を見たときに前倒しで取り直す。直前に取ったばかりなら何もしない */
+    public void requestRefresh() {
+        if (System.nanoTime() - lastFetchNanos < minOnDemandNanos) return;
+        if (refreshQueued.compareAndSet(false, true)) {
+            scheduler.execute(this::refresh);
+        }
+    }
+
+    private synchronized void refresh() {
+        refreshQueued.set(false);
+        lastFetchNanos = System.nanoTime();
+        Duration next;
+        try {
+            SigningKeys fetched = source.fetch();
+            keys = fetched.keys();
+            // max-age の 80% 時点で取り直す（期限切れの鍵で検証しないように）
+            next = fetched.maxAge().multipliedBy(8).dividedBy(10);
+            if (next.compareTo(MIN_REFRESH) < 0) next = MIN_REFRESH;
+            log.debug("signing keys refreshed: {} keys, next refresh in {}", fetched.keys().size(), next);
+        } catch (Exception e) {
+            // 取得失敗時は手持ちの鍵を使い続けて再試行
+            log.warn("signing key refresh failed, retrying in {}: {}", RETRY_DELAY, e.getMessage());
+            next = RETRY_DELAY;
+        }
+        // 前倒しで取り直した場合も予約は 1 つに保つ（実行中の予約自身を cancel しても害はない）
+        if (scheduled != null) scheduled.cancel(false);
+        scheduled = scheduler.schedule(this::refresh, next.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.tech.security;
+
+import java.io.IOException;
+
+/**
+ * 署名鍵の取得元。本番は Google の JWK エンドポイント、
+ * テストではローカルの鍵サーバー代替を差し込める。
+ */
+public interface SigningKeySource {
+    SigningKeys fetch() throws IOException;
+}
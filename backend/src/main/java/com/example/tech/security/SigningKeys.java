@@ -0,0 +1,12 @@
+package com.example.tech.security;
+
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Map;
+
+/** 公開鍵セット（kid → 鍵）と、その Cache-Control: max-age */
+public record SigningKeys(Map<String, RSAPublicKey> keys, Duration maxAge) {
+    public SigningKeys {
+        keys = Map.copyOf(keys);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.tech.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 検証済み ID トークンのキャッシュ。
+ * - キーはトークンの SHA-256（生トークンはメモリに残さない）
+ * - 各エントリはトークンの exp で失効する
+ * - ヒット時は署名検証（RSA）を一切行わない
+ */
+@Component
+public class TokenVerificationCache implements MeterBinder {
+
+    private final IdTokenVerifier verifier;
+    private final Cache<String, VerifiedToken> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TokenVerificationCache(IdTokenVerifier verifier,
+                                  @Value("${app.auth.token-cache.max-size:10000}") long maxSize) {
+        this.verifier = verifier;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return untilExpiry(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return untilExpiry(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /** キャッシュ済みならそれを返し、なければ検証器（SDK / ローカル）で検証して exp まで保持する */
+    public VerifiedToken verify(String idToken) throws TokenVerificationException {
+        String key = hash(idToken);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        VerifiedToken verified = verifier.verify(idToken);
+        if (!verified.isExpired(Instant.now())) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.token.cache", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.token.cache", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private static long untilExpiry(VerifiedToken value) {
+        long nanos = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+        return Math.max(0L, nanos);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.tech.security;
+
+/** ID トークンが無効（署名不正・期限切れ・発行元違い等）な場合に投げる */
+public class TokenVerificationException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public TokenVerificationException(String message) { super(message); }
+    public TokenVerificationException(String message, Throwable cause) { super(message, cause); }
+}
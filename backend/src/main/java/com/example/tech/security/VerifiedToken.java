@@ -0,0 +1,23 @@
+package com.example.tech.security;
+
+import com.google.firebase.auth.FirebaseToken;
+
+import java.time.Instant;
+
+/**
+ * 検証済み Firebase ID トークンから取り出した最小限の情報。
+ * キャッシュに載せるのはこれだけ（トークン文字列そのものは保持しない）。
+ */
+public record VerifiedToken(String uid, String email, boolean admin, Instant expiresAt) {
+
+    public static VerifiedToken from(FirebaseToken decoded) {
+        Object exp = decoded.getClaims().get("exp");
+        Instant expiresAt = exp instanceof Number n ? Instant.ofEpochSecond(n.longValue()) : Instant.EPOCH;
+        boolean isAdmin = Boolean.TRUE.equals(decoded.getClaims().get("admin"));
+        return new VerifiedToken(decoded.getUid(), decoded.getEmail(), isAdmin, expiresAt);
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -7,12 +7,16 @@ import com.example.tech.dto.request.SyntaxRequest;
 import com.example.tech.entity.ArticleEntity;
 import com.example.tech.entity.SyntaxEntity;
 import com.example.tech.entity.UserEntity;
+import com.example.tech.enums.ListView;
+import com.example.tech.enums.TargetType;
+import com.example.tech.event.ContentChangedEvent;
 import com.example.tech.repository.AdminRepository;
 import com.example.tech.repository.ArticleRepository;
 import com.example.tech.repository.SyntaxRepository;
 import com.example.tech.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,6 +28,7 @@ public class AdminService {
     private final SyntaxRepository syntaxRepository;
     private final UserRepository userRepository;
     private final ArticleRepository articleRepository;
+    private final ApplicationEventPublisher events;
 
 
 
@@ -42,8 +47,8 @@ public class AdminService {
         entity.setSummary(request.getSummary());
         entity.setImageUrl(imageUrl);
         entity.setPublished(true);
-        articleRepository.save(entity);
-
+        ArticleEntity saved = articleRepository.save(entity);
+        events.publishEvent(ContentChangedEvent.created(TargetType.ARTICLE, saved.getId()));
     }
 
     @Transactional
@@ -60,15 +65,23 @@ public class AdminService {
         entity.setContent(request.getContent());
         entity.setPublished(true);
         syntaxRepository.saveAndFlush(entity); // ← ここで即INSERTさせて例外を表面化
+        events.publishEvent(ContentChangedEvent.created(TargetType.SYNTAX, entity.getId()));
     }
 
-    public Page<ArticleDTO> getAllArticles(Pageable pageable) {
+    /** 管理画面の一覧（非公開も含む）。SUMMARY は本文を読まない */
+    public Page<ArticleDTO> getAllArticles(Pageable pageable, ListView view) {
+        if (view == ListView.SUMMARY) {
+            return articleRepository.findAllSummaries(pageable);
+        }
         Page<ArticleEntity> entities = articleRepository.findAll(pageable);
         return entities.map(this::convertToArticleDTO);
     }
 
 
-    public Page<SyntaxDTO> getAllSyntax(Pageable pageable) {
+    public Page<SyntaxDTO> getAllSyntax(Pageable pageable, ListView view) {
+        if (view == ListView.SUMMARY) {
+            return syntaxRepository.findAllSummaries(pageable);
+        }
         Page<SyntaxEntity> entities = syntaxRepository.findAll(pageable);
         return entities.map(this::convertToSyntaxDTO);
     }
@@ -83,6 +96,8 @@ public class AdminService {
         String author = resolveAuthor(a);
 
         articleRepository.save(a);
+        // 公開一覧に出る/消えるので一覧は全ページ破棄
+        events.publishEvent(ContentChangedEvent.updated(TargetType.ARTICLE, id, true));
     }
 
 
@@ -102,6 +117,8 @@ public class AdminService {
         entity.setPublished(!entity.published());
 
         syntaxRepository.save(entity);
+        // 構文の一覧は非公開も含むので並びは変わらない
+        events.publishEvent(ContentChangedEvent.updated(TargetType.SYNTAX, id, false));
     }
 
     public ArticleDTO getArticleById(Long id) {
@@ -179,6 +196,8 @@ public class AdminService {
     public void putArticle(Long id, ArticleRequest request, String adminEmail, String imageUrl) {
         ArticleEntity entity = adminRepository.findArticleById(id)
                 .orElseThrow(() ->new RuntimeException("見つかりません。"));
+        // 更新時は公開に戻すので、非公開だった記事は公開一覧に新しく載る
+        boolean listingChanged = !entity.isPublished();
 
         entity.setSlug(request.getSlug());
         entity.setTitle(request.getTitle());
@@ -189,6 +208,7 @@ public class AdminService {
         entity.setImageUrl(imageUrl);
         entity.setPublished(true);
         adminRepository.save(entity);
+        events.publishEvent(ContentChangedEvent.updated(TargetType.ARTICLE, id, listingChanged));
     }
 
     public void putSyntax(Long id, SyntaxRequest request, String adminEmail) {
@@ -204,6 +224,7 @@ public class AdminService {
         entity.setPublished(true);
 
         syntaxRepository.save(entity);
+        events.publishEvent(ContentChangedEvent.updated(TargetType.SYNTAX, id, false));
     }
 
     public void deleteById(Long id) {
@@ -211,6 +232,7 @@ public class AdminService {
                 .orElseThrow(() ->new RuntimeException("記事が見つかりません。"));
 
         articleRepository.deleteById(id);
+        events.publishEvent(ContentChangedEvent.deleted(TargetType.ARTICLE, id));
     }
 
     public void deleteSyntaxById(Long id) {
@@ -218,5 +240,6 @@ public class AdminService {
                 .orElseThrow(() -> new RuntimeException("記事が見つかりません。"));
 
         syntaxRepository.deleteById(id);
+        events.publishEvent(ContentChangedEvent.deleted(TargetType.SYNTAX, id));
     }
 }
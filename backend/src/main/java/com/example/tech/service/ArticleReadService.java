@@ -1,73 +1,49 @@
 package com.example.tech.service;
 
 import com.example.tech.dto.request.ArticleReadRequest;
-import com.example.tech.entity.ArticleEntity;
 import com.example.tech.entity.ArticleReadEntity;
-import com.example.tech.entity.UserEntity;
+import com.example.tech.enums.TargetType;
 import com.example.tech.repository.ArticleReadRepository;
-import com.example.tech.repository.ArticleRepository;
-import com.example.tech.repository.UserRepository;
-import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class ArticleReadService {
     private final ArticleReadRepository articleReadRepository;
-    private final UserRepository userRepository;
-    private final ArticleRepository articleRepository;
-    public Boolean isArticleRead(String userEmail, Long articleId) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-
-        Long userId = user.getId();
-
-        return articleReadRepository.existsByUserIdAndArticleId(userId,articleId);
+    private final ReadMarkQueue readMarkQueue;
+    private final ContentVersionService contentVersionService;
+    public Boolean isArticleRead(Long userId, Long articleId) {
+        return readMarkQueue.isPending(ReadMarkQueue.Mark.articleRead(userId, articleId))
+                || articleReadRepository.existsByUserIdAndArticleId(userId,articleId);
     }
-    public void postArticleRead(String userEmail, ArticleReadRequest request) {
-        UserEntity user = userRepository.findUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-
-        Long userId = user.getId();
-
-        //TODO // ★リレーションのArticleEntityを取得
-        ArticleEntity article = articleRepository.findById(request.getArticleId())
-                .orElseThrow(() ->new RuntimeException("記事が見つかりません。"));
-
-        try {
-            if (!articleReadRepository.existsByUserIdAndArticle_Id(userId, article.getId())) {
-                ArticleReadEntity readEntity = new ArticleReadEntity();
-                readEntity.setUserId(userId);
-                readEntity.setArticle(article);
-                readEntity.setReadAt(LocalDateTime.now());
-                articleReadRepository.save(readEntity);
-            }
-        } catch (DataIntegrityViolationException e) {
-            // SQLユニーク違反を握りつぶす
-            System.out.println("既読登録重複: " + e.getMessage());
-            return;
+    // 記事があるかだけ確かめて（単体キャッシュにあれば DB なし）積んで返す。重複は ReadMarkQueue がまとめる。
+    // 書き込みは後でまとめて行うが、書けるまでの間も isReadArticleById / isArticleRead は既読と答える。
+    // 既読一覧（GET /read のページ）は書き込み後に反映される
+    public void postArticleRead(Long userId, ArticleReadRequest request) {
+        if (request.getArticleId() == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "missing articleId");
+        if (!contentVersionService.exists(TargetType.ARTICLE, request.getArticleId())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "記事が見つかりません。");
         }
-
+        readMarkQueue.enqueue(ReadMarkQueue.Mark.articleRead(userId, request.getArticleId()));
     }
 
     @Transactional
-    public boolean deleteArticleRead(String userEmail, Long articleId) {
-        Long userId = userRepository.findUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"))
-                .getId();
-
-        // 既読があるかを先に検索
-        Optional<ArticleReadEntity> read = articleReadRepository.findByUserIdAndArticle_Id(userId, articleId);
-        if (read.isPresent()) {
-            articleReadRepository.delete(read.get());
-            return true;
-        }
-        return false; // 無かったら何もしない（冪等）
+    public boolean deleteArticleRead(Long userId, Long articleId) {
+        // 未書き込みの既読を先に取り除く（削除の後で書かれて復活しないように）
+        return readMarkQueue.cancel(ReadMarkQueue.Mark.articleRead(userId, articleId), () -> {
+            // 既読があるかを先に検索
+            Optional<ArticleReadEntity> read = articleReadRepository.findByUserIdAndArticle_Id(userId, articleId);
+            if (read.isPresent()) {
+                articleReadRepository.delete(read.get());
+                return true;
+            }
+            return false; // 無かったら何もしない（冪等）
+        });
     }
 }
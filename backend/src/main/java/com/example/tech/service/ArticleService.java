@@ -1,59 +1,93 @@
 package com.example.tech.service;
 
+import com.example.tech.config.CacheConfig;
 import com.example.tech.dto.ArticleDTO;
 import com.example.tech.dto.ArticleListItemDto;
+import com.example.tech.dto.response.CursorPageResponse;
 import com.example.tech.entity.ArticleEntity;
 import com.example.tech.entity.UserEntity;
+import com.example.tech.enums.ListView;
+import com.example.tech.enums.TargetType;
 import com.example.tech.repository.ArticleReadRepository;
 import com.example.tech.repository.ArticleRepository;
-import com.example.tech.repository.LikeRepository;
-import com.example.tech.repository.UserRepository;
+import com.example.tech.repository.ReactionRepository;
+import com.example.tech.utils.ContentCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable; // ← これを使う
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.Locale;
-import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class ArticleService {
 
     private final ArticleRepository articleRepository;
-    private final UserRepository userRepository;
     private final ArticleReadRepository articleReadRepository;
-    private final LikeRepository likeRepository;
+    private final ReactionRepository reactionRepository;
+    private final ReadMarkQueue readMarkQueue;
 
     // ← 手書きコンストラクタは削除（@RequiredArgsConstructorに任せる）
 
     /** 公開記事の新着一覧（軽量DTO）+ 120秒キャッシュ想定 */
-    @Cacheable(value = "articles:list", key = "#page + ':' + #size")
+    @Cacheable(value = CacheConfig.ARTICLE_LIST, key = "'items:' + #page + ':' + #size")
     public Page<ArticleListItemDto> list(int page, int size){
         return articleRepository.findPublishedList(PageRequest.of(page, size));
     }
 
     /** 追加/更新時は一覧キャッシュを破棄してから保存 */
     @Transactional
-    @CacheEvict(value = "articles:list", allEntries = true)
+    @CacheEvict(value = CacheConfig.ARTICLE_LIST, allEntries = true)
     public ArticleEntity save(ArticleEntity e){
         return articleRepository.save(e);
     }
 
-    /** 既存：重いDTOでの全件（必要なら残す） */
-    public Page<ArticleDTO> getAllArticles(Pageable pageable) {
+    /** 公開記事のページ一覧。SUMMARY は本文を読まない（content は null） */
+    @Cacheable(value = CacheConfig.ARTICLE_LIST, key = "'page:' + #pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort + ':' + #view")
+    public Page<ArticleDTO> getAllArticles(Pageable pageable, ListView view) {
+        if (view == ListView.SUMMARY) {
+            return articleRepository.findPublishedSummaries(pageable);
+        }
         Page<ArticleEntity> entities = articleRepository.findByPublishedTrue(pageable);
         return entities.map(this::convertToDTO);
     }
 
+    /** 公開記事の新着一覧（キーセット）。総件数は withTotal のときだけ数える */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.ARTICLE_LIST, key = "'cursor:' + #cursor + ':' + #size + ':' + #withTotal + ':' + #view")
+    public CursorPageResponse<ArticleDTO> getArticlesByCursor(String cursor, int size, boolean withTotal, ListView view) {
+        ContentCursor.CreatedAtKey after = ContentCursor.decodeCreatedAt(cursor);
+        Limit limit = Limit.of(size + 1);
+        if (view == ListView.SUMMARY) {
+            List<ArticleDTO> rows = after == null
+                    ? articleRepository.findPublishedSummariesFirst(limit)
+                    : articleRepository.findPublishedSummariesAfter(after.createdAt(), after.id(), limit);
+            Long total = withTotal ? articleRepository.countByPublishedTrue() : null;
+            return CursorPageResponse.of(rows, size,
+                    d -> ContentCursor.encode(new ContentCursor.CreatedAtKey(d.getCreatedAt(), d.getId())),
+                    Function.identity(), total);
+        }
+        List<ArticleEntity> rows = after == null
+                ? articleRepository.findPublishedFirst(limit)
+                : articleRepository.findPublishedAfter(after.createdAt(), after.id(), limit);
+        Long total = withTotal ? articleRepository.countByPublishedTrue() : null;
+        return CursorPageResponse.of(rows, size,
+                e -> ContentCursor.encode(new ContentCursor.CreatedAtKey(e.getCreatedAt(), e.getId())),
+                this::convertToDTO, total);
+    }
+
     private ArticleDTO convertToDTO(ArticleEntity entity) {
         return new ArticleDTO(
                 entity.getId(),
@@ -71,9 +105,10 @@ public class ArticleService {
         );
     }
 
+    @Cacheable(value = CacheConfig.ARTICLE_ITEM, key = "#id")
     public ArticleDTO getArticleById(Long id) {
         ArticleEntity entity = articleRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("記事が見つかりません。"));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "記事が見つかりません。"));
         return convertToArticleDTO(entity);
     }
 
@@ -92,30 +127,22 @@ public class ArticleService {
     }
 
     @Transactional(readOnly = true)
-    public Page<Long> getReadArticleIds(String userEmail, Pageable pageable) {
-        if (userEmail == null || userEmail.isBlank()) return Page.empty(pageable);
-        String normalized = userEmail.trim().toLowerCase(Locale.ROOT);
-        Optional<UserEntity> opt = userRepository.findUserByEmail(normalized);
-        if (opt.isEmpty()) return Page.empty(pageable);
-        Long userId = opt.get().getId();
+    public Page<Long> getReadArticleIds(Long userId, Pageable pageable) {
+        if (userId == null) return Page.empty(pageable);
         return articleReadRepository.findAllArticleIdByUserId(userId, pageable);
     }
 
-    public List<ArticleDTO> findLikedArticlesByUser(String userEmail) {
+    public List<ArticleDTO> findLikedArticlesByUser(Long userId) {
         LocalDateTime start = LocalDate.now().atStartOfDay();
         LocalDateTime end = LocalDate.now().atTime(LocalTime.MAX);
-        UserEntity user = userRepository.findUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-        Long userId = user.getId();
-        List<Long> articleIds = likeRepository.findArticleIdsByUserId(userId, start, end);
+        List<Long> articleIds = reactionRepository.findTargetIdsByUserBetween(userId, TargetType.ARTICLE, start, end);
         List<ArticleEntity> articleEntities = articleRepository.findAllById(articleIds);
         return articleEntities.stream().map(this::convertToDTO).toList();
     }
 
-    public Boolean isReadArticleById(String userEmail, Long articleId) {
-        UserEntity user = userRepository.findUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-        Long userId = user.getId();
-        return articleReadRepository.existsByUserIdAndArticle_Id(userId, articleId);
+    /** 積んだだけでまだ書けていない既読も既読として答える（POST /read の直後に聞かれても false にしない） */
+    public Boolean isReadArticleById(Long userId, Long articleId) {
+        return readMarkQueue.isPending(ReadMarkQueue.Mark.articleRead(userId, articleId))
+                || articleReadRepository.existsByUserIdAndArticle_Id(userId, articleId);
     }
 }
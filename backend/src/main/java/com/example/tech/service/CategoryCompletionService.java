@@ -0,0 +1,187 @@
+package com.example.tech.service;
+
+import com.example.tech.dto.response.CategoryCompletionResponse;
+import com.example.tech.entity.ReadStatus;
+import com.example.tech.enums.TargetType;
+import com.example.tech.event.ContentChangedEvent;
+import com.example.tech.projection.ContentCategory;
+import com.example.tech.repository.ArticleReadRepository;
+import com.example.tech.repository.ArticleRepository;
+import com.example.tech.repository.ProcedureRepository;
+import com.example.tech.repository.SyntaxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * カテゴリ別の達成率。種別ごとに「カテゴリ → 公開中の id のビットマップ」をメモリに持ち、
+ * ユーザーの既読ビットマップとの積の件数を数えるだけで全カテゴリ分を 1 回で返す。
+ * - 起動時に全件読み、管理画面の保存（公開/非公開/カテゴリ変更/削除 = ContentChangedEvent）で 1 件ずつ直す
+ * - カテゴリのビットマップは書き換えずに複製して差し替えるので、読む側はロックなしで使える
+ * - 記事は article_reads（記事ページの既読ボタン）も既読として数える
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryCompletionService {
+
+    /** category が空のもの */
+    public static final String UNCATEGORIZED = "未分類";
+
+    private final ArticleRepository articleRepository;
+    private final SyntaxRepository syntaxRepository;
+    private final ProcedureRepository procedureRepository;
+    private final ArticleReadRepository articleReadRepository;
+    private final ReadStatusService readStatusService;
+
+    /** 読み直しは組み立ててから丸ごと差し替える */
+    private volatile Map<TargetType, Map<String, RoaringBitmap>> members = perType();
+    /** カテゴリの付け替えで古いカテゴリから外すための逆引き */
+    private volatile Map<TargetType, Map<Long, String>> categoryById = perType();
+
+    private volatile boolean loaded;
+
+    public List<CategoryCompletionResponse> completion(Long userId) {
+        if (!loaded) load();
+        Map<TargetType, Map<String, RoaringBitmap>> snapshot = members;
+        Map<String, List<CategoryCompletionResponse.Part>> parts = new TreeMap<>();
+        for (TargetType type : TargetType.values()) {
+            ReadStatus.Target target = targetOf(type);
+            RoaringBitmap read = readStatusService.readBitmap(userId, target);
+            if (type == TargetType.ARTICLE) {
+                for (Long id : articleReadRepository.findArticleIdsByUserId(userId)) {
+                    if (fits(id)) read.add(id.intValue());
+                }
+            }
+            snapshot.get(type).forEach((category, ids) -> parts
+                    .computeIfAbsent(category, k -> new ArrayList<>())
+                    .add(new CategoryCompletionResponse.Part(target,
+                            RoaringBitmap.andCardinality(ids, read), ids.getCardinality())));
+        }
+
+        List<CategoryCompletionResponse> out = new ArrayList<>(parts.size());
+        parts.forEach((category, ps) -> {
+            int read = ps.stream().mapToInt(CategoryCompletionResponse.Part::read).sum();
+            int total = ps.stream().mapToInt(CategoryCompletionResponse.Part::total).sum();
+            out.add(new CategoryCompletionResponse(category, read, total, total == 0 ? 0 : read * 100 / total, List.copyOf(ps)));
+        });
+        return out;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (loaded) return;
+        long started = System.nanoTime();
+        try {
+            int n = 0;
+            Map<TargetType, Map<String, RoaringBitmap>> nextMembers = perType();
+            Map<TargetType, Map<Long, String>> nextCategoryById = perType();
+            for (TargetType type : TargetType.values()) {
+                Map<String, RoaringBitmap> byCategory = nextMembers.get(type);
+                Map<Long, String> byId = nextCategoryById.get(type);
+                for (ContentCategory c : findPublished(type)) {
+                    if (!fits(c.getId())) continue;
+                    String category = categoryOf(c);
+                    byCategory.computeIfAbsent(category, k -> new RoaringBitmap()).add(c.getId().intValue());
+                    byId.put(c.getId(), category);
+                    n++;
+                }
+                byCategory.values().forEach(RoaringBitmap::runOptimize);
+            }
+            members = nextMembers;
+            categoryById = nextCategoryById;
+            loaded = true;
+            log.info("category membership loaded: {} entries in {} ms", n, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            // 読み込めなければ次のリクエストで再挑戦する
+            log.warn("category membership load failed: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onContentChanged(ContentChangedEvent event) {
+        if (!loaded || !fits(event.id())) return;
+        try {
+            if (event.action() == ContentChangedEvent.Action.DELETED) {
+                remove(event.type(), event.id());
+                return;
+            }
+            Optional<ContentCategory> current = switch (event.type()) {
+                case ARTICLE -> articleRepository.findCategoryById(event.id());
+                case SYNTAX -> syntaxRepository.findCategoryById(event.id());
+                case PROCEDURE -> procedureRepository.findCategoryById(event.id());
+            };
+            current.filter(c -> Boolean.TRUE.equals(c.getPublished()))
+                    .ifPresentOrElse(c -> put(event.type(), event.id(), categoryOf(c)), () -> remove(event.type(), event.id()));
+        } catch (RuntimeException e) {
+            // 直せなかったら丸ごと読み直させる
+            loaded = false;
+            log.warn("category membership update failed for {} {}: {}", event.type(), event.id(), e.getMessage());
+        }
+    }
+
+    private void put(TargetType type, Long id, String category) {
+        String previous = categoryById.get(type).put(id, category);
+        if (category.equals(previous)) return;
+        if (previous != null) update(type, previous, id, false);
+        update(type, category, id, true);
+    }
+
+    private void remove(TargetType type, Long id) {
+        String previous = categoryById.get(type).remove(id);
+        if (previous != null) update(type, previous, id, false);
+    }
+
+    /** 複製して差し替える（読む側が持っているビットマップは変えない） */
+    private void update(TargetType type, String category, Long id, boolean add) {
+        Map<String, RoaringBitmap> byCategory = members.get(type);
+        RoaringBitmap current = byCategory.get(category);
+        RoaringBitmap next = current == null ? new RoaringBitmap() : current.clone();
+        if (add) next.add(id.intValue());
+        else next.remove(id.intValue());
+        if (next.isEmpty()) byCategory.remove(category);
+        else byCategory.put(category, next);
+    }
+
+    private List<ContentCategory> findPublished(TargetType type) {
+        return switch (type) {
+            case ARTICLE -> articleRepository.findPublishedCategories();
+            case SYNTAX -> syntaxRepository.findPublishedCategories();
+            case PROCEDURE -> procedureRepository.findPublishedCategories();
+        };
+    }
+
+    private static ReadStatus.Target targetOf(TargetType type) {
+        return switch (type) {
+            case ARTICLE -> ReadStatus.Target.articles;
+            case SYNTAX -> ReadStatus.Target.syntaxes;
+            case PROCEDURE -> ReadStatus.Target.procedures;
+        };
+    }
+
+    private static String categoryOf(ContentCategory c) {
+        return c.getCategory() == null || c.getCategory().isBlank() ? UNCATEGORIZED : c.getCategory().strip();
+    }
+
+    private static boolean fits(Long id) {
+        return id != null && id >= 0 && id <= Integer.MAX_VALUE;
+    }
+
+    private static <K, V> Map<TargetType, Map<K, V>> perType() {
+        Map<TargetType, Map<K, V>> map = new EnumMap<>(TargetType.class);
+        for (TargetType type : TargetType.values()) map.put(type, new ConcurrentHashMap<>());
+        return map;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.tech.service;
+
+import com.example.tech.cache.ContentCacheInvalidator;
+import com.example.tech.dto.ArticleDTO;
+import com.example.tech.dto.ProcedureDTO;
+import com.example.tech.dto.SyntaxDTO;
+import com.example.tech.enums.TargetType;
+import com.example.tech.repository.ArticleRepository;
+import com.example.tech.repository.ProcedureRepository;
+import com.example.tech.repository.SyntaxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * id を並べての一括取得（?ids=1,2,3）。いいね一覧・既読一覧・Q&A の参照先をまとめて描くため。
+ * 単体キャッシュに載っているものはそこから（本文を落として summary にする）、残りだけを IN 1 回で読む。
+ * 返すのは公開中のものだけで、順序はリクエストの順（重複は 1 件にまとめ、存在しない id は飛ばす）。
+ */
+@Service
+@RequiredArgsConstructor
+public class ContentBatchService {
+
+    public static final int MAX_IDS = 100;
+
+    private final CacheManager cacheManager;
+    private final ArticleRepository articleRepository;
+    private final SyntaxRepository syntaxRepository;
+    private final ProcedureRepository procedureRepository;
+
+    public List<ArticleDTO> articles(List<Long> ids) {
+        return fetch(TargetType.ARTICLE, ids, ArticleDTO.class, ArticleDTO::getId, ArticleDTO::isPublished,
+                ContentBatchService::summaryOf, articleRepository::findPublishedSummariesByIdIn);
+    }
+
+    public List<SyntaxDTO> syntaxes(List<Long> ids) {
+        return fetch(TargetType.SYNTAX, ids, SyntaxDTO.class, SyntaxDTO::getId, SyntaxDTO::isPublished,
+                ContentBatchService::summaryOf, syntaxRepository::findPublishedSummariesByIdIn);
+    }
+
+    public List<ProcedureDTO> procedures(List<Long> ids) {
+        return fetch(TargetType.PROCEDURE, ids, ProcedureDTO.class, ProcedureDTO::getId, ProcedureDTO::isPublished,
+                ContentBatchService::summaryOf, procedureRepository::findPublishedSummariesByIdIn);
+    }
+
+    private <T> List<T> fetch(TargetType type, List<Long> ids, Class<T> dtoType,
+                              Function<T, Long> idOf, Predicate<T> published, Function<T, T> toSummary,
+                              Function<Collection<Long>, List<T>> loader) {
+        LinkedHashSet<Long> wanted = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) wanted.add(id);
+        }
+        if (wanted.size() > MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must be at most " + MAX_IDS);
+        }
+        if (wanted.isEmpty()) return List.of();
+
+        Map<Long, T> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        Cache items = cacheManager.getCache(ContentCacheInvalidator.itemCache(type));
+        for (Long id : wanted) {
+            T cached = items != null ? items.get(id, dtoType) : null;
+            if (cached == null) {
+                misses.add(id);
+            } else if (published.test(cached)) {
+                found.put(id, toSummary.apply(cached));
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (T row : loader.apply(misses)) found.put(idOf.apply(row), row);
+        }
+
+        List<T> out = new ArrayList<>(found.size());
+        for (Long id : wanted) {
+            T row = found.get(id);
+            if (row != null) out.add(row);
+        }
+        return out;
+    }
+
+    // 単体キャッシュの DTO は共有されているので書き換えずに複製する
+
+    private static ArticleDTO summaryOf(ArticleDTO d) {
+        return new ArticleDTO(d.getId(), d.getSlug(), d.getTitle(), d.getUserEmail(), d.getAuthorName(),
+                d.getCategory(), d.getSummary(), null, d.getImageUrl(),
+                d.getCreatedAt(), d.getUpdatedAt(), d.isPublished());
+    }
+
+    private static SyntaxDTO summaryOf(SyntaxDTO d) {
+        return new SyntaxDTO(d.getId(), d.getSlug(), d.getTitle(), d.getUserEmail(), d.getDisplayName(),
+                d.getAuthorName(), d.getCategory(), d.getSummary(), d.getCreatedAt(), d.getUpdatedAt(), d.isPublished());
+    }
+
+    private static ProcedureDTO summaryOf(ProcedureDTO d) {
+        return new ProcedureDTO(d.getId(), d.getStepNumber(), d.getSlug(), d.getTitle(), d.getUserEmail(),
+                d.getAuthorName(), d.getCategory(), d.getImageUrl(), d.isPublished(), d.getCreatedAt(), d.getUpdatedAt());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.tech.service;
+
+import com.example.tech.api.ThreadWithMessagesDto;
+import com.example.tech.config.CacheConfig;
+import com.example.tech.config.FanOutConfig;
+import com.example.tech.domain.Category;
+import com.example.tech.dto.ReviewScoreDTO;
+import com.example.tech.dto.response.ContentBundleResponse;
+import com.example.tech.entity.ReadStatus;
+import com.example.tech.enums.TargetType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 記事/構文/手順ページを開くのに要る読み取り（本体・いいね数・レビュー・コメント・Q&A・既読/いいね状態）を並行に走らせて 1 つにまとめる。
+ * - 各部分に個別のタイムアウトがあり、間に合わなかった部分は null にして unavailable に名前を入れる
+ *   （本体だけは必須。無ければ 404、取れなかっただけなら 503）
+ * - 匿名で共有できる部分は content:bundle に短時間キャッシュ（全部そろったときだけ）。書き込み時は ContentCacheInvalidator が捨てる
+ * - ユーザー固有の部分（viewer）は毎回取る
+ */
+@Slf4j
+@Service
+public class ContentBundleService {
+
+    private final ArticleService articleService;
+    private final SyntaxService syntaxService;
+    private final ProcedureService procedureService;
+    private final ReactionService reactionService;
+    private final ReviewScoreService reviewScoreService;
+    private final ThreadService threadService;
+    private final ReadStatusService readStatusService;
+    private final Executor executor;
+    private final Cache cache;
+
+    @Value("${app.bundle.part-timeout-ms:800}")
+    long partTimeoutMs;
+
+    public ContentBundleService(ArticleService articleService,
+                                SyntaxService syntaxService,
+                                ProcedureService procedureService,
+                                ReactionService reactionService,
+                                ReviewScoreService reviewScoreService,
+                                ThreadService threadService,
+                                ReadStatusService readStatusService,
+                                @Qualifier(FanOutConfig.FAN_OUT_EXECUTOR) Executor executor,
+                                CacheManager cacheManager) {
+        this.articleService = articleService;
+        this.syntaxService = syntaxService;
+        this.procedureService = procedureService;
+        this.reactionService = reactionService;
+        this.reviewScoreService = reviewScoreService;
+        this.threadService = threadService;
+        this.readStatusService = readStatusService;
+        this.executor = executor;
+        this.cache = cacheManager.getCache(CacheConfig.CONTENT_BUNDLE);
+    }
+
+    public static String key(TargetType type, Long id) {
+        return type + ":" + id;
+    }
+
+    /** userId が null（匿名/未登録）なら viewer は null */
+    public ContentBundleResponse bundle(TargetType type, Long id, Long userId) {
+        // ユーザー部分を先に投げておき、共有部分（キャッシュか DB）と並行に進める
+        CompletableFuture<Boolean> read = userId == null ? null : submit(readOf(type, id, userId));
+        CompletableFuture<Boolean> liked = userId == null ? null : submit(() -> reactionService.isLiked(userId, type, id));
+
+        ContentBundleResponse.PublicPart p = cache != null
+                ? cache.get(key(type, id), ContentBundleResponse.PublicPart.class) : null;
+        if (p == null) {
+            p = loadPublicPart(type, id);
+            // 欠けた部分があるものは共有しない（次のリクエストで取り直す）
+            if (cache != null && p.unavailable().isEmpty()) cache.put(key(type, id), p);
+        }
+
+        List<String> unavailable = new ArrayList<>(p.unavailable());
+        ContentBundleResponse.Viewer viewer = userId == null ? null : new ContentBundleResponse.Viewer(
+                await("viewer.read", read, unavailable),
+                await("viewer.liked", liked, unavailable));
+        return new ContentBundleResponse(p.item(), p.likeCount(), p.reviewScores(), p.comments(), p.qa(),
+                viewer, List.copyOf(unavailable));
+    }
+
+    private ContentBundleResponse.PublicPart loadPublicPart(TargetType type, Long id) {
+        com.example.tech.domain.TargetType threadType = com.example.tech.domain.TargetType.valueOf(type.name());
+
+        CompletableFuture<Object> item = submit(() -> switch (type) {
+            case ARTICLE -> articleService.getArticleById(id);
+            case SYNTAX -> syntaxService.findById(id);
+            case PROCEDURE -> procedureService.getProcedureById(id);
+        });
+        CompletableFuture<Long> likeCount = submit(() -> reactionService.count(type, id));
+        CompletableFuture<List<ReviewScoreDTO>> reviewScores = submit(() -> reviewScoreService.getReviewScores(type, id));
+        CompletableFuture<ThreadWithMessagesDto> comments = submit(() -> threadService.getWithMessages(threadType, id, Category.COMMENT));
+        CompletableFuture<ThreadWithMessagesDto> qa = submit(() -> threadService.getWithMessages(threadType, id, Category.QA));
+
+        List<String> unavailable = new ArrayList<>();
+        Object body = awaitItem(type, id, item);
+        return new ContentBundleResponse.PublicPart(
+                body,
+                await("likeCount", likeCount, unavailable),
+                await("reviewScores", reviewScores, unavailable),
+                await("comments", comments, unavailable),
+                await("qa", qa, unavailable),
+                List.copyOf(unavailable));
+    }
+
+    private Supplier<Boolean> readOf(TargetType type, Long id, Long userId) {
+        return switch (type) {
+            // 記事の既読は read_status と article_reads（記事ページの既読ボタン）の両方にありうる
+            case ARTICLE -> () -> readStatusService.isRead(userId, ReadStatus.Target.articles, id)
+                    || Boolean.TRUE.equals(articleService.isReadArticleById(userId, id));
+            case SYNTAX -> () -> readStatusService.isRead(userId, ReadStatus.Target.syntaxes, id);
+            case PROCEDURE -> () -> readStatusService.isRead(userId, ReadStatus.Target.procedures, id);
+        };
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor)
+                    .orTimeout(partTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // プールが満杯（RejectedExecutionException）
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 本体が無ければページとして成り立たないので、他の部分と違って欠けたまま返さない。
+     * 本当に無いときだけ 404、タイムアウト・プール満杯・DB エラーは一時的なものとして 503
+     */
+    private Object awaitItem(TargetType type, Long id, CompletableFuture<Object> item) {
+        try {
+            Object body = item.join();
+            if (body == null) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "コンテンツが見つかりません。");
+            return body;
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof ResponseStatusException rse && rse.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                throw rse;
+            }
+            log.warn("bundle item {}:{} unavailable: {}", type, id, cause.toString());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "コンテンツを取得できませんでした。", cause);
+        }
+    }
+
+    /** 失敗/タイムアウトは null にして名前を記録する */
+    private <T> T await(String part, CompletableFuture<T> future, List<String> unavailable) {
+        try {
+            return future.join();
+        } catch (RuntimeException e) {
+            unavailable.add(part);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.debug("bundle part {} unavailable: {}", part, cause.toString());
+            return null;
+        }
+    }
+}
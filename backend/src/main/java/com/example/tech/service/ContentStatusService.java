@@ -0,0 +1,88 @@
+package com.example.tech.service;
+
+import com.example.tech.dto.response.ContentStatusResponse;
+import com.example.tech.entity.ReadStatus;
+import com.example.tech.enums.TargetType;
+import com.example.tech.projection.ContentScore;
+import com.example.tech.repository.ArticleReadRepository;
+import com.example.tech.repository.ReviewScoreRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 一覧ページ 1 枚分のいいね/既読/評価をまとめて返す。行ごとに status を呼ぶ代わりに、
+ * 件数に関係なく いいね数（メモリ）+ 本人のいいね 1 回 + 既読（メモリ。記事は article_reads 1 回）+ 平均点 1 回 の問い合わせで済ませる。
+ */
+@Service
+@RequiredArgsConstructor
+public class ContentStatusService {
+
+    private final ReactionService reactionService;
+    private final ReadStatusService readStatusService;
+    private final ArticleReadRepository articleReadRepository;
+    private final ReviewScoreRepository reviewScoreRepository;
+
+    /** userId が null（匿名/未登録）なら liked / read は null。順序はリクエストの順（重複は 1 件にまとめる） */
+    @Transactional(readOnly = true)
+    public List<ContentStatusResponse> statuses(ReadStatus.Target target, List<Long> ids, Long userId) {
+        LinkedHashSet<Long> wanted = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) wanted.add(id);
+        }
+        if (wanted.size() > ContentBatchService.MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must be at most " + ContentBatchService.MAX_IDS);
+        }
+        if (wanted.isEmpty()) return List.of();
+
+        TargetType type = typeOf(target);
+        Map<Long, Long> likeCounts = reactionService.counts(type, wanted);
+        Map<Long, ContentScore> scores = new HashMap<>();
+        for (ContentScore s : switch (type) {
+            case ARTICLE -> reviewScoreRepository.averageByArticleIdIn(wanted);
+            case SYNTAX -> reviewScoreRepository.averageBySyntaxIdIn(wanted);
+            case PROCEDURE -> reviewScoreRepository.averageByProcedureIdIn(wanted);
+        }) {
+            scores.put(s.getContentId(), s);
+        }
+
+        Set<Long> liked = null;
+        Set<Long> read = null;
+        if (userId != null) {
+            liked = reactionService.likedIds(userId, type, wanted);
+            read = readStatusService.readIds(userId, target, wanted);
+            // 記事は記事ページの既読ボタン（article_reads）も既読として扱う
+            if (type == TargetType.ARTICLE) read.addAll(articleReadRepository.findReadArticleIdsIn(userId, wanted));
+        }
+
+        List<ContentStatusResponse> out = new ArrayList<>(wanted.size());
+        for (Long id : wanted) {
+            ContentScore score = scores.get(id);
+            out.add(new ContentStatusResponse(
+                    id,
+                    liked == null ? null : liked.contains(id),
+                    likeCounts.getOrDefault(id, 0L),
+                    read == null ? null : read.contains(id),
+                    score == null ? null : score.getAverage(),
+                    score == null ? 0L : score.getCount()));
+        }
+        return out;
+    }
+
+    static TargetType typeOf(ReadStatus.Target target) {
+        return switch (target) {
+            case articles -> TargetType.ARTICLE;
+            case syntaxes -> TargetType.SYNTAX;
+            case procedures -> TargetType.PROCEDURE;
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.tech.service;
+
+import com.example.tech.cache.ContentCacheInvalidator;
+import com.example.tech.dto.ArticleDTO;
+import com.example.tech.dto.ProcedureDTO;
+import com.example.tech.dto.SyntaxDTO;
+import com.example.tech.enums.TargetType;
+import com.example.tech.repository.ArticleRepository;
+import com.example.tech.repository.ProcedureRepository;
+import com.example.tech.repository.SyntaxRepository;
+import com.example.tech.utils.ContentETags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 単体 GET の条件付きリクエスト用に、本文を読まずに現在の ETag を返す。
+ * 単体キャッシュに載っていればそこから（DB なし）、なければ updatedAt だけを引く。
+ */
+@Service
+@RequiredArgsConstructor
+public class ContentVersionService {
+
+    private final CacheManager cacheManager;
+    private final ArticleRepository articleRepository;
+    private final SyntaxRepository syntaxRepository;
+    private final ProcedureRepository procedureRepository;
+
+    /** 存在しなければ empty（呼び出し側は通常の取得に任せて 404/エラーにする） */
+    public Optional<String> etag(TargetType type, Long id) {
+        return etag(type, id, false);
+    }
+
+    /** html=true は format=html 用の ETag */
+    public Optional<String> etag(TargetType type, Long id, boolean html) {
+        Cache items = cacheManager.getCache(ContentCacheInvalidator.itemCache(type));
+        Cache.ValueWrapper cached = items != null ? items.get(id) : null;
+        if (cached != null) {
+            LocalDateTime updatedAt = updatedAtOf(cached.get());
+            if (updatedAt != null) return Optional.of(ContentETags.of(type, id, updatedAt, html));
+        }
+        Optional<LocalDateTime> updatedAt = switch (type) {
+            case ARTICLE -> articleRepository.findUpdatedAtById(id);
+            case SYNTAX -> syntaxRepository.findUpdatedAtById(id);
+            case PROCEDURE -> procedureRepository.findUpdatedAtById(id);
+        };
+        return updatedAt.map(u -> ContentETags.of(type, id, u, html));
+    }
+
+    /** 存在するか。単体キャッシュに載っていれば DB に行かない（載っていなければ updatedAt を 1 件引く） */
+    public boolean exists(TargetType type, Long id) {
+        return id != null && etag(type, id).isPresent();
+    }
+
+    private static LocalDateTime updatedAtOf(Object dto) {
+        if (dto instanceof ArticleDTO a) return a.getUpdatedAt();
+        if (dto instanceof SyntaxDTO s) return s.getUpdatedAt();
+        if (dto instanceof ProcedureDTO p) return p.getUpdatedAt();
+        return null;
+    }
+}
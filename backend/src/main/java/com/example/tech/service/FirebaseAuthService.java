@@ -1,15 +1,19 @@
 package com.example.tech.service;
 
 import com.example.tech.entity.ProcedureEntity;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.FirebaseToken;
+import com.example.tech.security.TokenVerificationCache;
+import com.example.tech.security.TokenVerificationException;
+import com.example.tech.security.VerifiedToken;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 @Service
+@RequiredArgsConstructor
 public class FirebaseAuthService {
 
+    private final TokenVerificationCache tokenVerificationCache;
+
     /**
      * トークンを検証し、admin権限を持っていれば email を返す。
      * 権限がない or トークン無効なら例外スロー。
@@ -17,33 +21,33 @@ public class FirebaseAuthService {
     public String verifyAdminAndGetEmail(String token) {
         String idToken = token.replace("Bearer ", "");
 
-        FirebaseToken decodedToken;
+        VerifiedToken decodedToken;
         try {
-            decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken);
-        } catch(FirebaseAuthException e) {
+            decodedToken = tokenVerificationCache.verify(idToken);
+        } catch(TokenVerificationException e) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,"トークンの検証に失敗しました。");
         }
 
-        boolean isAdmin = Boolean.TRUE.equals(decodedToken.getClaims().get("admin"));
+        boolean isAdmin = decodedToken.admin();
 
         if(!isAdmin) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN,"管理者のみが実行できます。");
         }
 
-        return decodedToken.getEmail();
+        return decodedToken.email();
     }
     public String verifyAndGetEmail(String token) {
         String idToken = token.replace("Bearer ", "");
 
-        FirebaseToken decodedToken;
+        VerifiedToken decodedToken;
         try {
-            decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken);
-        } catch(FirebaseAuthException e) {
+            decodedToken = tokenVerificationCache.verify(idToken);
+        } catch(TokenVerificationException e) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,"トークンの検証に失敗しました。");
         }
 
         // admin権限のチェックは不要！
-        return decodedToken.getEmail();
+        return decodedToken.email();
     }
 
 }
@@ -0,0 +1,226 @@
+package com.example.tech.service;
+
+import com.example.tech.entity.LikeCountEntity;
+import com.example.tech.enums.TargetType;
+import com.example.tech.event.LikeChangedEvent;
+import com.example.tech.projection.ContentCount;
+import com.example.tech.repository.LikeCountRepository;
+import com.example.tech.repository.ReactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 記事/構文/手順のいいね数をメモリに持ち、ページ表示ごとの COUNT(*) をやめる。
+ * - 起動時に reactions を種別ごとに 1 回ずつ数えて種をまく（読み込むまでは従来どおり COUNT(*)。失敗したら次の照合で再挑戦）
+ * - いいね/取り消しはコミット後に LikeChangedEvent で ±1（同時更新は LongAdder で分散させる）
+ * - 変わった件数だけ定期的に like_counts へまとめて書き戻す（現在値で上書きするので何度書いてもよい）
+ * - 定期的に元テーブルを数え直してずれを直す（照合中に動いた件数は次回に回す）
+ */
+@Slf4j
+@Service
+public class LikeCounterService {
+
+    private record Key(TargetType type, Long id) {}
+
+    private static final class Counter {
+        final LongAdder value = new LongAdder();
+        /** 最後に増減したときの通し番号。照合の開始より後に動いたものは直さない */
+        volatile long touchedAt;
+    }
+
+    private final ReactionRepository reactionRepository;
+    private final LikeCountRepository likeCountRepository;
+    private final TransactionTemplate tx;
+
+    private final Map<Key, Counter> counters = new ConcurrentHashMap<>();
+    /** like_counts への書き戻し待ち */
+    private final Set<Key> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicLong changes = new AtomicLong();
+
+    private volatile boolean loaded;
+
+    @Value("${app.likes.flush-batch-size:500}")
+    int flushBatchSize;
+
+    public LikeCounterService(ReactionRepository reactionRepository,
+                              LikeCountRepository likeCountRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.reactionRepository = reactionRepository;
+        this.likeCountRepository = likeCountRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    public long count(TargetType type, Long id) {
+        if (type == null || id == null) return 0L;
+        if (!loaded) return reactionRepository.countByTargetAndTargetId(type, id);
+        Counter c = counters.get(new Key(type, id));
+        // 種まき後に 1 度も動いていない id はいいね 0 件
+        return c == null ? 0L : Math.max(0L, c.value.sum());
+    }
+
+    /** 複数 id 分をまとめて。読み込み前は IN 1 回で数える */
+    public Map<Long, Long> counts(TargetType type, Collection<Long> ids) {
+        Map<Long, Long> out = new HashMap<>();
+        if (type == null || ids.isEmpty()) return out;
+        if (!loaded) {
+            for (ContentCount c : reactionRepository.countGroupByTargetIdIn(type, ids)) out.put(c.getContentId(), c.getCount());
+            return out;
+        }
+        for (Long id : ids) {
+            Counter c = counters.get(new Key(type, id));
+            if (c != null) out.put(id, Math.max(0L, c.value.sum()));
+        }
+        return out;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        try {
+            for (TargetType type : TargetType.values()) seed(type);
+            // 書き戻し先が空/古くても、ここで現在値と違うものは書き戻し待ちに入れておく
+            for (LikeCountEntity row : likeCountRepository.findAll()) {
+                Key key = new Key(row.getTarget(), row.getContentId());
+                Counter c = counters.get(key);
+                if (c == null ? row.getLikeCount() != 0 : c.value.sum() != row.getLikeCount()) dirty.add(key);
+            }
+            loaded = true;
+            log.info("like counters loaded: {} entries in {} ms", counters.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            // 読み込めなければ COUNT(*) のまま動かす（次の照合で再挑戦）
+            log.warn("like counter load failed: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        if (event.id() == null || event.delta() == 0) return;
+        Key key = new Key(event.type(), event.id());
+        Counter c = counters.computeIfAbsent(key, k -> new Counter());
+        c.value.add(event.delta());
+        c.touchedAt = changes.incrementAndGet();
+        dirty.add(key);
+    }
+
+    /** 変わった件数だけを like_counts に書き戻す。失敗したチャンクは次回に回す */
+    @Scheduled(fixedDelayString = "${app.likes.flush-interval-ms:5000}",
+            initialDelayString = "${app.likes.flush-interval-ms:5000}")
+    public void flush() {
+        if (dirty.isEmpty()) return;
+        List<Key> batch = new ArrayList<>(Math.min(dirty.size(), flushBatchSize));
+        for (Key key : dirty) {
+            // 取り出してから値を読むので、この後の増減は再び dirty に入る
+            if (!dirty.remove(key)) continue;
+            batch.add(key);
+            if (batch.size() >= flushBatchSize) {
+                write(batch);
+                batch = new ArrayList<>(flushBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) write(batch);
+    }
+
+    /** 元テーブルを数え直して、メモリとのずれを直す */
+    @Scheduled(fixedDelayString = "${app.likes.reconcile-interval-ms:3600000}",
+            initialDelayString = "${app.likes.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        if (!loaded) {
+            load();
+            return;
+        }
+        try {
+            // 数える前の通し番号。これより後に動いたものは数えた値のほうが古いかもしれないので次回に回す
+            long started = changes.get();
+            int fixed = 0;
+            for (TargetType type : TargetType.values()) {
+                fixed += reconcile(type, reactionRepository.countGroupByTarget(type), started);
+            }
+            if (fixed > 0) log.info("like counters reconciled: {} drifted entries corrected", fixed);
+        } catch (RuntimeException e) {
+            log.warn("like counter reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 数えた値で種をまく。読み込み前から届いているいいねの増減もカウンタに入っているので、
+     * 数える直前の値を差し引いて「数えた値 + 数え始めてからの増減」にする（上書きや touchedAt での読み飛ばしはしない）。
+     * 失敗は呼び出し元に投げ、loaded を立てない
+     */
+    private void seed(TargetType type) {
+        Map<Long, Long> before = new HashMap<>();
+        counters.forEach((k, c) -> { if (k.type() == type) before.put(k.id(), c.value.sum()); });
+
+        Map<Long, Long> counted = new HashMap<>();
+        for (ContentCount c : reactionRepository.countGroupByTarget(type)) counted.put(c.getContentId(), c.getCount());
+
+        Set<Long> ids = new HashSet<>(counted.keySet());
+        ids.addAll(before.keySet());
+        for (Long id : ids) {
+            long diff = counted.getOrDefault(id, 0L) - before.getOrDefault(id, 0L);
+            if (diff == 0) continue;
+            Key key = new Key(type, id);
+            counters.computeIfAbsent(key, k -> new Counter()).value.add(diff);
+            dirty.add(key);
+        }
+    }
+
+    private int reconcile(TargetType type, List<ContentCount> source, long started) {
+        Map<Long, Long> truth = new HashMap<>();
+        for (ContentCount c : source) truth.put(c.getContentId(), c.getCount());
+
+        Set<Long> ids = new HashSet<>(truth.keySet());
+        counters.keySet().forEach(k -> { if (k.type() == type) ids.add(k.id()); });
+
+        int fixed = 0;
+        for (Long id : ids) {
+            Key key = new Key(type, id);
+            long expected = truth.getOrDefault(id, 0L);
+            Counter c = counters.get(key);
+            if (c == null) {
+                if (expected == 0) continue;
+                c = counters.computeIfAbsent(key, k -> new Counter());
+            }
+            if (c.touchedAt > started) continue;
+            long current = c.value.sum();
+            if (current != expected) {
+                c.value.add(expected - current);
+                dirty.add(key);
+                fixed++;
+            }
+        }
+        return fixed;
+    }
+
+    private void write(List<Key> batch) {
+        try {
+            tx.executeWithoutResult(status -> {
+                for (Key key : batch) {
+                    Counter c = counters.get(key);
+                    long value = c == null ? 0L : Math.max(0L, c.value.sum());
+                    likeCountRepository.upsert(ReactionService.column(key.type()), key.id(), value);
+                }
+            });
+        } catch (RuntimeException e) {
+            dirty.addAll(batch);
+            log.warn("like count flush failed for {} entries: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -1,75 +1,49 @@
 package com.example.tech.service;
 
 import com.example.tech.dto.ArticleDTO;
-import com.example.tech.entity.ArticleEntity;
-import com.example.tech.entity.LikeEntity;
-import com.example.tech.entity.UserEntity;
+import com.example.tech.enums.TargetType;
 import com.example.tech.repository.ArticleRepository;
-import com.example.tech.repository.LikeRepository;
-import com.example.tech.repository.UserRepository;
+import com.example.tech.repository.ReactionRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
+/** 記事のいいね。保存先は reactions（ReactionService）で、ここは記事用の API を保つ窓口 */
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class LikeService {
-    private final LikeRepository likeRepository;
-    private final UserRepository userRepository;
+    private final ReactionService reactionService;
+    private final ReactionRepository reactionRepository;
     private final ArticleRepository articleRepository;
 
-    public void registerLike(String userEmail, Long articleId) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-        ArticleEntity article = articleRepository.findById(articleId)
-                .orElseThrow(() -> new RuntimeException("記事が見つかりません。"));
-
-        // すでにLikeがあるかチェック
-        if (likeRepository.existsByUserIdAndArticleId(user.getId(), articleId)) {
-            // 既にLike済みなら何もしない
-            return;
+    public void registerLike(Long userId, Long articleId) {
+        if (!articleRepository.existsById(articleId)) {
+            throw new RuntimeException("記事が見つかりません。");
         }
-
-        LikeEntity like = new LikeEntity();
-
-        like.setUser(user);
-        like.setArticle(article);
-
-        likeRepository.save(like);
+        // 既にLike済みなら何もしない（1 文の upsert）
+        reactionService.like(userId, TargetType.ARTICLE, articleId);
     }
 
-    public boolean findByUserIdAndArticleId(String userEmail, Long articleId) {
-        UserEntity entity = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-
-        Long userId = entity.getId();
-
-        return likeRepository.existsByUserIdAndArticleId(userId, articleId);
+    public boolean findByUserIdAndArticleId(Long userId, Long articleId) {
+        return reactionService.isLiked(userId, TargetType.ARTICLE, articleId);
     }
 
     public Long countByArticleId(Long articleId) {
-        return likeRepository.countByArticleId(articleId);
+        return reactionService.count(TargetType.ARTICLE, articleId);
     }
 
-    public void deleteLike(String userEmail, Long articleId) {
-        UserEntity entity = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-
-        Long userId = entity.getId();
-        likeRepository.deleteByUserIdAndArticleId(userId,articleId);
+    public void deleteLike(Long userId, Long articleId) {
+        reactionService.unlike(userId, TargetType.ARTICLE, articleId);
     }
 
     public Long countOnlyByArticleId(Long articleId) {
-        return likeRepository.countByArticleId(articleId);
+        return reactionService.count(TargetType.ARTICLE, articleId);
     }
 
-    public List<ArticleDTO> likedArticles(String email) {
-        UserEntity user = userRepository.findByEmail(email)
-                .orElseThrow(() ->new RuntimeException("ユーザーが見つかりません"));
-        Long userId = user.getId();
-        return likeRepository.findLikedArticles(userId);
+    public List<ArticleDTO> likedArticles(Long userId) {
+        return reactionRepository.findLikedArticles(userId, TargetType.ARTICLE);
     }
 }
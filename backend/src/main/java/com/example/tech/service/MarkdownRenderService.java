@@ -0,0 +1,137 @@
+package com.example.tech.service;
+
+import com.example.tech.config.CacheConfig;
+import com.example.tech.dto.RenderedContent;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.Heading;
+import org.commonmark.node.Node;
+import org.commonmark.node.Text;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 本文 Markdown → サニタイズ済み HTML + 目次。結果は Markdown の内容ハッシュをキーにキャッシュするので、
+ * 同じ本文は何回読まれても 1 回しかレンダリングしない（保存時に ContentPreRenderer が先に作っておく）。
+ * - 生 HTML はエスケープ（escapeHtml）、javascript: 等の URL は落とす（sanitizeUrls）
+ * - 見出しには目次と同じ id を振る
+ */
+@Service
+public class MarkdownRenderService {
+
+    /** レンダリング設定を変えたら上げる（キャッシュキーと ETag に入る） */
+    public static final int RENDERER_VERSION = 1;
+
+    private static final List<Extension> EXTENSIONS = List.of(TablesExtension.create());
+
+    private final Parser parser = Parser.builder().extensions(EXTENSIONS).build();
+    private final Cache cache;
+
+    public MarkdownRenderService(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.RENDERED_HTML);
+    }
+
+    public RenderedContent render(String markdown) {
+        String source = markdown == null ? "" : markdown;
+        String hash = hash(source);
+        if (cache == null) return doRender(hash, source);
+        return cache.get(hash, () -> doRender(hash, source));
+    }
+
+    private RenderedContent doRender(String hash, String markdown) {
+        Node document = parser.parse(markdown);
+
+        Map<Node, String> anchors = new IdentityHashMap<>();
+        List<RenderedContent.TocEntry> toc = new ArrayList<>();
+        Set<String> used = new HashSet<>();
+        document.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Heading heading) {
+                String text = textOf(heading);
+                String anchor = uniqueAnchor(text, used);
+                anchors.put(heading, anchor);
+                toc.add(new RenderedContent.TocEntry(heading.getLevel(), text, anchor));
+            }
+        });
+
+        HtmlRenderer renderer = HtmlRenderer.builder()
+                .extensions(EXTENSIONS)
+                .escapeHtml(true)
+                .sanitizeUrls(true)
+                .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                    String anchor = anchors.get(node);
+                    if (anchor != null) attributes.put("id", anchor);
+                })
+                .build();
+        return new RenderedContent(hash, renderer.render(document), List.copyOf(toc));
+    }
+
+    private static String textOf(Node node) {
+        StringBuilder sb = new StringBuilder();
+        node.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Text text) {
+                sb.append(text.getLiteral());
+            }
+
+            @Override
+            public void visit(Code code) {
+                sb.append(code.getLiteral());
+            }
+        });
+        return sb.toString().trim();
+    }
+
+    /** 文字（日本語含む）と数字だけ残し、空白は '-'。重複は -1, -2 … を付ける */
+    private static String uniqueAnchor(String text, Set<String> used) {
+        StringBuilder sb = new StringBuilder();
+        boolean dash = false;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetterOrDigit(cp) || cp == '_') {
+                sb.appendCodePoint(Character.toLowerCase(cp));
+                dash = false;
+            } else if ((Character.isWhitespace(cp) || cp == '-') && !dash && !sb.isEmpty()) {
+                sb.append('-');
+                dash = true;
+            }
+        }
+        String base = dash ? sb.substring(0, sb.length() - 1) : sb.toString();
+        if (base.isEmpty()) base = "section";
+        base = base.toLowerCase(Locale.ROOT);
+
+        String anchor = base;
+        for (int n = 1; !used.add(anchor); n++) {
+            anchor = base + "-" + n;
+        }
+        return anchor;
+    }
+
+    private static String hash(String markdown) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(("v" + RENDERER_VERSION + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(md.digest(markdown.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
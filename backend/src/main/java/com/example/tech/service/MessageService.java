@@ -8,6 +8,7 @@ import com.example.tech.entity.ArticleEntity;
 import com.example.tech.entity.MessageEntity;
 import com.example.tech.entity.UserEntity;
 import com.example.tech.enums.TargetType;
+import com.example.tech.event.MessageChangedEvent;
 import com.example.tech.projection.ContentBrief;
 import com.example.tech.repository.ArticleRepository;
 import com.example.tech.repository.MessageRepository;
@@ -15,6 +16,7 @@ import com.example.tech.repository.ProcedureRepository;
 import com.example.tech.repository.SyntaxRepository;
 import com.example.tech.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -35,6 +37,7 @@ public class MessageService {
     private final ArticleRepository articleRepository;
     private final SyntaxRepository syntaxRepository;
     private final ProcedureRepository procedureRepository;
+    private final ApplicationEventPublisher events;
 
     // ========== 投稿 ==========
     public void postMessage(String userEmail, MessageRequest request) {
@@ -212,6 +215,7 @@ public class MessageService {
         m.setAdminEmail(adminEmail);
         m.setClosed(true);
         messageRepository.save(m);
+        events.publishEvent(new MessageChangedEvent(m.getId()));
     }
 
     // ========== 対象別一覧 ==========
@@ -239,14 +243,14 @@ public class MessageService {
         );
     }
 
-    public void add(TargetType type, Long refId, MessageRequest req, String userEmailOrNull) {
+    public void add(TargetType type, Long refId, MessageRequest req, Long userIdOrNull) {
         MessageEntity m = new MessageEntity();
         m.setTargetType(type);
         m.setTitle(req.getTitle());
         m.setQuestion(req.getQuestion());
 
-        if (userEmailOrNull != null) {
-            userRepository.findByEmail(userEmailOrNull).ifPresent(m::setUser);
+        if (userIdOrNull != null) {
+            m.setUser(userRepository.getReferenceById(userIdOrNull));
         }
 
         switch (type) {
@@ -255,7 +259,8 @@ public class MessageService {
             case PROCEDURE -> m.setProcedure(procedureRepository.getReferenceById(refId));
         }
 
-        messageRepository.save(m);
+        MessageEntity saved = messageRepository.save(m);
+        events.publishEvent(new MessageChangedEvent(saved.getId()));
     }
 
 }
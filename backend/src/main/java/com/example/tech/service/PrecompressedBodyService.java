@@ -0,0 +1,113 @@
+package com.example.tech.service;
+
+import com.example.tech.config.CacheConfig;
+import com.example.tech.dto.CompressedBody;
+import com.example.tech.enums.TargetType;
+import com.example.tech.utils.ContentETags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 記事/構文/手順の単体レスポンスを gzip 済みの JSON で返す。
+ * 圧縮結果は版（ETag）付きでキャッシュし、書き込み時に ContentCacheInvalidator が単体キャッシュと一緒に捨てるので、
+ * 圧縮の CPU は編集 1 回につき 1 回だけ（リクエストごとには払わない）。
+ * - Accept-Encoding に gzip がない / 小さい本文はそのまま返す（Jackson に任せる）
+ * - どちらの場合も Vary: Accept-Encoding を付ける（304 も ContentETags.notModified で同じ）。gzip 版の ETag は弱い ETag にする（同じ版の別表現なので）
+ * - 小さすぎて圧縮しなかった版もその印をキャッシュし、gzip を受け付けるリクエストのたびにシリアライズして捨てない
+ */
+@Service
+public class PrecompressedBodyService {
+
+    private final ObjectMapper objectMapper;
+    private final Cache cache;
+
+    @Value("${app.content.precompress.min-bytes:1024}")
+    int minBytes;
+
+    public PrecompressedBodyService(ObjectMapper objectMapper, CacheManager cacheManager) {
+        this.objectMapper = objectMapper;
+        this.cache = cacheManager.getCache(CacheConfig.COMPRESSED_BODY);
+    }
+
+    public static String key(TargetType type, Long id, boolean html) {
+        return type + ":" + id + (html ? ":html" : "");
+    }
+
+    /** 単体 GET の 200 応答。etag は現在の版（ContentETags.of） */
+    public ResponseEntity<?> detail(TargetType type, Long id, boolean html, String etag, Object body, WebRequest request) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .cacheControl(ContentETags.DETAIL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (cache == null || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return ok.eTag(etag).body(body);
+        }
+        String key = key(type, id, html);
+        CompressedBody cached = cache.get(key, CompressedBody.class);
+        if (cached == null || !cached.etag().equals(etag)) {
+            byte[] json = serialize(body);
+            cached = json.length < minBytes ? CompressedBody.tooSmall(etag) : new CompressedBody(etag, gzip(json));
+            cache.put(key, cached);
+        }
+        // 小さい版は覚えておいた印を見てそのまま返す（シリアライズし直さない）
+        if (!cached.compressed()) return ok.eTag(etag).body(body);
+        return ok.eTag("W/" + etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .contentLength(cached.gzip().length)
+                .body(cached.gzip());
+    }
+
+    /** "gzip" / "x-gzip" / "*" が q=0 以外で入っているか */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            if (!coding.equals("gzip") && !coding.equals("x-gzip") && !coding.equals("*")) continue;
+            boolean rejected = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().toLowerCase();
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) return true;
+        }
+        return false;
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("failed to serialize response body", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.tech.service;
+
+import com.example.tech.dto.response.NextUnreadResponse;
+import com.example.tech.entity.ReadStatus;
+import com.example.tech.enums.TargetType;
+import com.example.tech.event.ContentChangedEvent;
+import com.example.tech.projection.ProcedureStep;
+import com.example.tech.repository.ProcedureRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 公開中の手順を学習順（step_major, step_minor, id）に並べたものをメモリに持ち、ユーザーの既読集合と突き合わせて
+ * 「次に読む手順」を返す。リクエストごとに手順テーブルを読まない。
+ * 並びは起動時に読み、ProcedureService の書き込み（ContentChangedEvent）のたびに読み直す（手順は数百件程度なので丸ごと）。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProcedureSequenceService {
+
+    private final ProcedureRepository procedureRepository;
+    private final ReadStatusService readStatusService;
+
+    /** null なら未読み込み（読み込み失敗を含む）。次のリクエストで読む */
+    private volatile List<NextUnreadResponse.Step> steps;
+
+    public NextUnreadResponse nextUnread(Long userId) {
+        List<NextUnreadResponse.Step> seq = steps();
+        Predicate<Long> read = readStatusService.readChecker(userId, ReadStatus.Target.procedures);
+        NextUnreadResponse.Step next = null;
+        int readCount = 0;
+        for (NextUnreadResponse.Step s : seq) {
+            if (read.test(s.id())) readCount++;
+            else if (next == null) next = s;
+        }
+        return new NextUnreadResponse(next, readCount, seq.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("procedure sequence load failed: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.type() != TargetType.PROCEDURE) return;
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // 古い並びを返し続けないよう捨てておく
+            steps = null;
+            log.warn("procedure sequence reload failed after {} {}: {}", event.action(), event.id(), e.getMessage());
+        }
+    }
+
+    private List<NextUnreadResponse.Step> steps() {
+        List<NextUnreadResponse.Step> seq = steps;
+        return seq != null ? seq : reload();
+    }
+
+    private synchronized List<NextUnreadResponse.Step> reload() {
+        List<NextUnreadResponse.Step> seq = procedureRepository.findPublishedSteps().stream()
+                .map(ProcedureSequenceService::toStep)
+                .toList();
+        steps = seq;
+        return seq;
+    }
+
+    private static NextUnreadResponse.Step toStep(ProcedureStep p) {
+        return new NextUnreadResponse.Step(p.getId(), p.getSlug(), p.getTitle(), p.getStepNumber());
+    }
+}
@@ -1,18 +1,33 @@
 package com.example.tech.service;
 
+import com.example.tech.config.CacheConfig;
 import com.example.tech.dto.ProcedureDTO;
 import com.example.tech.dto.request.ProcedureRequest;
+import com.example.tech.dto.response.CursorPageResponse;
 import com.example.tech.entity.ProcedureEntity;
 import com.example.tech.entity.UserEntity;
+import com.example.tech.enums.ListView;
+import com.example.tech.enums.TargetType;
+import com.example.tech.event.ContentChangedEvent;
 import com.example.tech.repository.*;
+import com.example.tech.utils.ContentCursor;
+import com.example.tech.utils.StepNumber;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +37,7 @@ public class ProcedureService {
     private final UserRepository userRepository;
     private final ArticleRepository articleRepository;
     private final ProcedureRepository procedureRepository;
+    private final ApplicationEventPublisher events;
 
     public void postProcedure(String adminEmail, ProcedureRequest request, String imageUrl) {
         UserEntity user = userRepository.findUserByEmail(adminEmail)
@@ -42,11 +58,14 @@ public class ProcedureService {
         entity.setUpdatedAt(LocalDateTime.now());
 
 
-        procedureRepository.save(entity);
-
+        ProcedureEntity saved = procedureRepository.save(entity);
+        events.publishEvent(ContentChangedEvent.created(TargetType.PROCEDURE, saved.getId()));
     }
 
-    public Page<ProcedureDTO> getAllProcedure(String adminEmail, Pageable pageable) {
+    public Page<ProcedureDTO> getAllProcedure(String adminEmail, Pageable pageable, ListView view) {
+        if (view == ListView.SUMMARY) {
+            return procedureRepository.findAllSummaries(pageable);
+        }
         Page<ProcedureEntity> entities = procedureRepository.findAll(pageable);
         return entities.map(this::convertToProcedureDTO);
     }
@@ -81,6 +100,8 @@ public class ProcedureService {
 
         UserEntity editor = userRepository.findUserByEmail(adminEmail)
                         .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
+        // 一覧は手順番号順なので、番号が変わったときだけ並びが変わる
+        boolean listingChanged = !Objects.equals(entity.getStepNumber(), request.getStepNumber());
         entity.setStepNumber(request.getStepNumber());
         entity.setSlug(request.getSlug());
         entity.setTitle(request.getTitle());
@@ -93,8 +114,7 @@ public class ProcedureService {
         entity.setUpdatedAt(LocalDateTime.now());
 
         procedureRepository.save(entity);
-
-
+        events.publishEvent(ContentChangedEvent.updated(TargetType.PROCEDURE, id, listingChanged));
     }
 
     public void putToggle(Long id) {
@@ -104,16 +124,49 @@ public class ProcedureService {
         entity.setPublished(!entity.isPublished());
 
         procedureRepository.save(entity);
+        // 一覧は非公開も含めて返しているので並びは変わらない（載っているページだけ捨てる）
+        events.publishEvent(ContentChangedEvent.updated(TargetType.PROCEDURE, id, false));
     }
 
-    public Page<ProcedureDTO> findAllProcedures(Pageable pageable) {
+    @Cacheable(value = CacheConfig.PROCEDURE_LIST, key = "'page:' + #pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort + ':' + #view")
+    public Page<ProcedureDTO> findAllProcedures(Pageable pageable, ListView view) {
+        if (view == ListView.SUMMARY) {
+            return procedureRepository.findAllSummaries(pageable);
+        }
         Page<ProcedureEntity> entities = procedureRepository.findAll(pageable);
         return entities.map(this::convertToProcedureDTO);
     }
 
+    /** 手順順の一覧（キーセット）。総件数は withTotal のときだけ数える */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.PROCEDURE_LIST, key = "'cursor:' + #cursor + ':' + #size + ':' + #withTotal + ':' + #view")
+    public CursorPageResponse<ProcedureDTO> findProceduresByCursor(String cursor, int size, boolean withTotal, ListView view) {
+        ContentCursor.StepKey after = ContentCursor.decodeStep(cursor);
+        Limit limit = Limit.of(size + 1);
+        if (view == ListView.SUMMARY) {
+            List<ProcedureDTO> rows = after == null
+                    ? procedureRepository.findSummariesFirstByStep(limit)
+                    : procedureRepository.findSummariesAfterStep(after.stepMajor(), after.stepMinor(), after.id(), limit);
+            Long total = withTotal ? procedureRepository.count() : null;
+            // step_major/minor は stepNumber から @PrePersist/@PreUpdate で作られるので同じ解析で復元できる
+            return CursorPageResponse.of(rows, size, d -> {
+                int[] step = StepNumber.parse(d.getStepNumber());
+                return ContentCursor.encode(new ContentCursor.StepKey(step[0], step[1], d.getId()));
+            }, Function.identity(), total);
+        }
+        List<ProcedureEntity> rows = after == null
+                ? procedureRepository.findFirstByStep(limit)
+                : procedureRepository.findAfterStep(after.stepMajor(), after.stepMinor(), after.id(), limit);
+        Long total = withTotal ? procedureRepository.count() : null;
+        return CursorPageResponse.of(rows, size,
+                e -> ContentCursor.encode(new ContentCursor.StepKey(e.getStepMajor(), e.getStepMinor(), e.getId())),
+                this::convertToProcedureDTO, total);
+    }
+
+    @Cacheable(value = CacheConfig.PROCEDURE_ITEM, key = "#id")
     public ProcedureDTO getProcedureById(Long id) {
         ProcedureEntity entity = procedureRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("記事が見つかりません"));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "記事が見つかりません"));
 
         return convertToProcedureDTO(entity);
     }
@@ -123,5 +176,6 @@ public class ProcedureService {
                 .orElseThrow(() -> new RuntimeException("記事が見つかりません。"));
 
         procedureRepository.delete(entity);
+        events.publishEvent(ContentChangedEvent.deleted(TargetType.PROCEDURE, id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.example.tech.service;
+
+import com.example.tech.enums.TargetType;
+import com.example.tech.event.LikeChangedEvent;
+import com.example.tech.repository.ReactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 記事/構文/手順のいいね（reactions テーブル）の入口。
+ * いいね/取り消しは 1 文の upsert/delete なので二重送信や同時押しでも重複・例外にならない。
+ * 実際に行が増減したときだけ LikeChangedEvent を出し、いいね数はコミット後に LikeCounterService が数える。
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactionService {
+
+    private final ReactionRepository reactionRepository;
+    private final LikeCounterService likeCounterService;
+    private final ApplicationEventPublisher events;
+
+    /** @return 新たにいいねしたら true（既にいいね済みなら false） */
+    @Transactional
+    public boolean like(Long userId, TargetType type, Long targetId) {
+        if (userId == null || type == null || targetId == null) return false;
+        boolean inserted = reactionRepository.insertIfAbsent(userId, column(type), targetId) > 0;
+        if (inserted) events.publishEvent(new LikeChangedEvent(type, targetId, 1));
+        return inserted;
+    }
+
+    /** @return 取り消したら true（いいねしていなければ false） */
+    @Transactional
+    public boolean unlike(Long userId, TargetType type, Long targetId) {
+        if (userId == null || type == null || targetId == null) return false;
+        int deleted = reactionRepository.deleteIfPresent(userId, column(type), targetId);
+        if (deleted > 0) events.publishEvent(new LikeChangedEvent(type, targetId, -deleted));
+        return deleted > 0;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isLiked(Long userId, TargetType type, Long targetId) {
+        if (userId == null || type == null || targetId == null) return false;
+        return reactionRepository.existsByUserIdAndTargetAndTargetId(userId, type, targetId);
+    }
+
+    public long count(TargetType type, Long targetId) {
+        return likeCounterService.count(type, targetId);
+    }
+
+    /** ids のうち本人がいいねしているもの（IN 1 回） */
+    @Transactional(readOnly = true)
+    public Set<Long> likedIds(Long userId, TargetType type, Collection<Long> ids) {
+        if (userId == null || type == null || ids.isEmpty()) return Set.of();
+        return new HashSet<>(reactionRepository.findLikedTargetIdsIn(userId, type, ids));
+    }
+
+    /** id → いいね数（0 件の id は入らない） */
+    public Map<Long, Long> counts(TargetType type, Collection<Long> ids) {
+        return likeCounterService.counts(type, ids);
+    }
+
+    /** native クエリ用。TargetTypeConverter と同じく小文字 */
+    static String column(TargetType type) {
+        return type.name().toLowerCase();
+    }
+}
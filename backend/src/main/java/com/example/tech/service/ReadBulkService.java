@@ -0,0 +1,100 @@
+package com.example.tech.service;
+
+import com.example.tech.dto.request.ReadBulkRequest;
+import com.example.tech.dto.response.ReadBulkResponse;
+import com.example.tech.entity.ReadStatus;
+import com.example.tech.repository.ArticleRepository;
+import com.example.tech.repository.ProcedureRepository;
+import com.example.tech.repository.SyntaxRepository;
+import com.example.tech.utils.StepNumber;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 章ごとの「まとめて既読/未読」。id の列か手順番号の範囲を受け取り、複数行の upsert（既読）または 1 文の delete（未読）で書く。
+ * 既読にするときだけ公開中かを 1 回の問い合わせで確かめる（非公開になった・消えたものの既読も外せるよう、未読はそのまま消す）。
+ */
+@Service
+@RequiredArgsConstructor
+public class ReadBulkService {
+
+    public static final int MAX_IDS = 500;
+
+    private final ArticleRepository articleRepository;
+    private final SyntaxRepository syntaxRepository;
+    private final ProcedureRepository procedureRepository;
+    private final ReadStatusService readStatusService;
+
+    public ReadBulkResponse apply(Long userId, ReadStatus.Target target, ReadBulkRequest request) {
+        boolean read = !Boolean.FALSE.equals(request.getRead());
+        boolean byRange = request.getFromStep() != null || request.getToStep() != null;
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byRange == byIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "specify either ids or fromStep/toStep");
+        }
+
+        List<Long> valid;
+        List<Long> skipped = List.of();
+        if (byRange) {
+            valid = stepRange(target, request.getFromStep(), request.getToStep(), read);
+        } else {
+            LinkedHashSet<Long> wanted = new LinkedHashSet<>();
+            for (Long id : request.getIds()) {
+                if (id != null) wanted.add(id);
+            }
+            if (wanted.size() > MAX_IDS) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must be at most " + MAX_IDS);
+            }
+            if (!read) {
+                readStatusService.unmarkAll(userId, target, wanted);
+                return new ReadBulkResponse(false, List.copyOf(wanted), List.of());
+            }
+            Set<Long> published = new HashSet<>(switch (target) {
+                case articles -> articleRepository.findPublishedIdsIn(wanted);
+                case syntaxes -> syntaxRepository.findPublishedIdsIn(wanted);
+                case procedures -> procedureRepository.findPublishedIdsIn(wanted);
+            });
+            valid = new ArrayList<>(published.size());
+            skipped = new ArrayList<>();
+            for (Long id : wanted) {
+                (published.contains(id) ? valid : skipped).add(id);
+            }
+        }
+
+        if (read) readStatusService.markAll(userId, target, valid);
+        else readStatusService.unmarkAll(userId, target, valid);
+        return new ReadBulkResponse(read, List.copyOf(valid), List.copyOf(skipped));
+    }
+
+    private List<Long> stepRange(ReadStatus.Target target, String fromStep, String toStep, boolean publishedOnly) {
+        if (target != ReadStatus.Target.procedures) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "step range is only for procedures");
+        }
+        int[] from = StepNumber.parse(fromStep);
+        int[] to = StepNumber.parse(toStep);
+        // parse は解釈できない番号を末尾扱い（MAX_VALUE）にする
+        if (from[0] == Integer.MAX_VALUE || to[0] == Integer.MAX_VALUE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fromStep/toStep must look like \"3-1\"");
+        }
+        if (from[0] > to[0] || (from[0] == to[0] && from[1] > to[1])) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fromStep must not come after toStep");
+        }
+        Limit limit = Limit.of(MAX_IDS + 1);
+        List<Long> ids = publishedOnly
+                ? procedureRepository.findPublishedIdsBetweenSteps(from[0], from[1], to[0], to[1], limit)
+                : procedureRepository.findIdsBetweenSteps(from[0], from[1], to[0], to[1], limit);
+        if (ids.size() > MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "step range must cover at most " + MAX_IDS + " procedures");
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,339 @@
+package com.example.tech.service;
+
+import com.example.tech.entity.ReadStatus;
+import com.example.tech.event.ReadsDroppedEvent;
+import com.example.tech.event.ReadsWrittenEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 既読（article_reads / read_status）の書き込みを受け付けるだけのキュー。エンドポイントは積むだけで返り、
+ * 定期的に取り出して重複をまとめ、複数行の INSERT ... ON CONFLICT DO NOTHING で書く。
+ * - キューは上限付き。満杯なら積む側が待つ（捨てない）。待ちきれなければ 503
+ * - 書き込みに失敗したバッチは持ったまま次回に再試行する（その間キューは進まないので積む側が待たされる）
+ * - 取り消しは cancel で未書き込みの既読を取り除いてから削除する（削除後に古い既読が書かれて復活しないように）
+ * - 積んでから書けるまでの間も isPending で「既読」と答えられるようにする（本人が直後に状態を聞いても false にならないように）
+ * - 取り出しは専用のスレッドで回す（Spring の @Scheduled は 1 スレッドを共有するので、索引の再構築などの後ろで待たされないように）
+ * - 諦めた行は ReadsDroppedEvent で知らせる（先回りで既読集合に入れた分を捨てさせる）
+ * - reads.queue.depth（件数）と reads.queue.lag（最古の未書き込みの経過秒）を出す
+ */
+@Slf4j
+@Service
+public class ReadMarkQueue implements MeterBinder {
+
+    public enum Sink { ARTICLE_READS, READ_STATUS }
+
+    /** target は READ_STATUS のときだけ */
+    public record Mark(Sink sink, ReadStatus.Target target, Long userId, Long contentId) {
+        public static Mark articleRead(Long userId, Long articleId) {
+            return new Mark(Sink.ARTICLE_READS, null, userId, articleId);
+        }
+
+        public static Mark readStatus(Long userId, ReadStatus.Target target, Long contentId) {
+            return new Mark(Sink.READ_STATUS, target, userId, contentId);
+        }
+    }
+
+    private record Pending(Mark mark, LocalDateTime readAt, long enqueuedAt) {}
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final BlockingQueue<Pending> queue;
+    /** 積んだがまだ書けていない mark（キューと retry の中身と同じ集合。重複して積まれた分も 1 つ） */
+    private final Set<Mark> unwritten = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService drainer;
+    private final long drainIntervalMs;
+    /** 取り出し〜コミット と cancel を直列にする */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    /** 前回失敗して再試行待ちのもの（書き換えは writeLock の中だけ） */
+    private volatile List<Pending> retry = List.of();
+    private int attempts;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @Value("${app.reads.batch-size:500}")
+    int batchSize;
+
+    @Value("${app.reads.enqueue-timeout-ms:5000}")
+    long enqueueTimeoutMs;
+
+    @Value("${app.reads.max-attempts:5}")
+    int maxAttempts;
+
+    /** 1 回の drain を長引かせないよう、書くバッチ数の上限（残りは次の回に回す） */
+    @Value("${app.reads.max-batches-per-drain:20}")
+    int maxBatchesPerDrain;
+
+    public ReadMarkQueue(JdbcTemplate jdbc,
+                         PlatformTransactionManager transactionManager,
+                         ApplicationEventPublisher events,
+                         @Value("${app.reads.queue-capacity:10000}") int capacity,
+                         @Value("${app.reads.drain-interval-ms:100}") long drainIntervalMs) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.events = events;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.drainIntervalMs = drainIntervalMs;
+        this.drainer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "read-mark-drain");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        drainer.scheduleWithFixedDelay(() -> {
+            try {
+                drain();
+            } catch (RuntimeException e) {
+                // 例外で抜けると以降の実行が止まるので、ここで受け止めて次の回に回す
+                log.warn("read mark drain failed: {}", e.getMessage());
+            }
+        }, drainIntervalMs, drainIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void enqueue(Mark mark) {
+        Pending p = new Pending(mark, LocalDateTime.now(), System.nanoTime());
+        // キューに入れる前に載せる（書き終えて外した後に載せ直して残り続けることがないように）
+        boolean added = unwritten.add(mark);
+        try {
+            if (!queue.offer(p, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                if (added) unwritten.remove(mark);
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "既読の受付が混み合っています。");
+            }
+        } catch (InterruptedException e) {
+            if (added) unwritten.remove(mark);
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "既読の受付が中断されました。");
+        }
+    }
+
+    /** 積まれていてまだ書けていないか（書けた後は DB を見れば分かる） */
+    public boolean isPending(Mark mark) {
+        return unwritten.contains(mark);
+    }
+
+    /** 未書き込みの mark を取り除いてから delete を実行する。書き込み中のバッチがあればコミットを待つ */
+    public <T> T cancel(Mark mark, Supplier<T> delete) {
+        return cancel(Set.of(mark), delete);
+    }
+
+    public <T> T cancel(Collection<Mark> marks, Supplier<T> delete) {
+        Set<Mark> cancelled = Set.copyOf(marks);
+        writeLock.lock();
+        try {
+            queue.removeIf(p -> cancelled.contains(p.mark()));
+            retry = retry.stream().filter(p -> !cancelled.contains(p.mark())).toList();
+            unwritten.removeAll(cancelled);
+            return delete.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** キューを通さずにその場で書く（一括既読）。失敗は呼び出し元に返す */
+    public void writeNow(Collection<Mark> marks) {
+        if (marks.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        long enqueuedAt = System.nanoTime();
+        List<Pending> articleReads = new ArrayList<>();
+        List<Pending> readStatus = new ArrayList<>();
+        for (Mark m : new LinkedHashSet<>(marks)) {
+            (m.sink() == Sink.ARTICLE_READS ? articleReads : readStatus).add(new Pending(m, now, enqueuedAt));
+        }
+        writeLock.lock();
+        try {
+            tx.executeWithoutResult(status -> {
+                insertArticleReads(articleReads);
+                insertReadStatus(readStatus);
+            });
+            written.add(articleReads.size() + readStatus.size());
+            events.publishEvent(new ReadsWrittenEvent(List.copyOf(new LinkedHashSet<>(marks))));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void drain() {
+        for (int i = 0; i < maxBatchesPerDrain; i++) {
+            writeLock.lock();
+            try {
+                List<Pending> batch = new ArrayList<>(retry);
+                if (batch.size() < batchSize) queue.drainTo(batch, batchSize - batch.size());
+                if (batch.isEmpty()) return;
+                // 満杯でなかったバッチでキューは空になっている
+                if (!write(batch) || batch.size() < batchSize) return;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /** 停止時に定期実行を止めてから残りを書き切る */
+    @PreDestroy
+    public void shutdown() {
+        drainer.shutdown();
+        try {
+            if (!drainer.awaitTermination(5, TimeUnit.SECONDS)) drainer.shutdownNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        if (!queue.isEmpty() || !retry.isEmpty()) {
+            log.warn("read marks left unwritten at shutdown: {}", queue.size() + retry.size());
+        }
+    }
+
+    /** @return 書けたら true。失敗したら batch を retry に残して false */
+    private boolean write(List<Pending> batch) {
+        // 同じ (ユーザー, 対象) は最初の 1 件だけ（既読日時は最初に押したとき）
+        Map<Mark, Pending> unique = new LinkedHashMap<>();
+        for (Pending p : batch) unique.putIfAbsent(p.mark(), p);
+        coalesced.add(batch.size() - unique.size());
+
+        List<Pending> articleReads = new ArrayList<>();
+        List<Pending> readStatus = new ArrayList<>();
+        for (Pending p : unique.values()) {
+            (p.mark().sink() == Sink.ARTICLE_READS ? articleReads : readStatus).add(p);
+        }
+        List<Mark> done = new ArrayList<>(unique.keySet());
+        try {
+            tx.executeWithoutResult(status -> {
+                insertArticleReads(articleReads);
+                insertReadStatus(readStatus);
+            });
+        } catch (RuntimeException e) {
+            attempts++;
+            if (attempts < maxAttempts) {
+                retry = List.copyOf(unique.values());
+                log.warn("read mark write failed ({} rows, attempt {}): {}", unique.size(), attempts, e.getMessage());
+                return false;
+            }
+            // 何度やっても通らないバッチは 1 行ずつ書いて、通らない行だけを諦める
+            done.clear();
+            List<Mark> dropped = new ArrayList<>();
+            for (Pending p : articleReads) {
+                (writeOne(p, () -> insertArticleReads(List.of(p))) ? done : dropped).add(p.mark());
+            }
+            for (Pending p : readStatus) {
+                (writeOne(p, () -> insertReadStatus(List.of(p))) ? done : dropped).add(p.mark());
+            }
+            if (!dropped.isEmpty()) {
+                dropped.forEach(unwritten::remove);
+                events.publishEvent(new ReadsDroppedEvent(dropped));
+            }
+        }
+        attempts = 0;
+        retry = List.of();
+        written.add(done.size());
+        // コミット済みなので DB で答えられる。同じ mark がまだキューに残っていても、もう書けている
+        done.forEach(unwritten::remove);
+        // ロックを持ったまま通知するので、既読集合への反映は後続の cancel より必ず先になる
+        if (!done.isEmpty()) events.publishEvent(new ReadsWrittenEvent(done));
+        return true;
+    }
+
+    private boolean writeOne(Pending p, Runnable insert) {
+        try {
+            tx.executeWithoutResult(status -> insert.run());
+            return true;
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("read mark dropped after {} attempts: {} ({})", maxAttempts, p.mark(), e.getMessage());
+            return false;
+        }
+    }
+
+    // 件数が毎回変わるので native @Query ではなく JdbcTemplate で VALUES を組み立てる
+
+    private void insertArticleReads(List<Pending> rows) {
+        if (rows.isEmpty()) return;
+        // 受け付けた後に記事が消えていても外部キーで落ちないよう、存在する記事の分だけ入れる
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO article_reads(user_id, article_id, read_at)
+                SELECT v.user_id, v.article_id, v.read_at FROM (VALUES """);
+        List<Object> args = new ArrayList<>(rows.size() * 3);
+        for (int i = 0; i < rows.size(); i++) {
+            Pending p = rows.get(i);
+            sql.append(i == 0 ? "" : ", ").append("(CAST(? AS bigint), CAST(? AS bigint), CAST(? AS timestamp))");
+            args.add(p.mark().userId());
+            args.add(p.mark().contentId());
+            args.add(Timestamp.valueOf(p.readAt()));
+        }
+        sql.append("""
+                ) AS v(user_id, article_id, read_at)
+                JOIN articles a ON a.id = v.article_id
+                ON CONFLICT (user_id, article_id) DO NOTHING""");
+        jdbc.update(sql.toString(), args.toArray());
+    }
+
+    private void insertReadStatus(List<Pending> rows) {
+        if (rows.isEmpty()) return;
+        StringBuilder sql = new StringBuilder("INSERT INTO read_status(user_id, target, content_id) VALUES ");
+        List<Object> args = new ArrayList<>(rows.size() * 3);
+        for (int i = 0; i < rows.size(); i++) {
+            Pending p = rows.get(i);
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?)");
+            args.add(p.mark().userId());
+            args.add(p.mark().target().name());
+            args.add(p.mark().contentId());
+        }
+        sql.append(" ON CONFLICT (user_id, target, content_id) DO NOTHING");
+        jdbc.update(sql.toString(), args.toArray());
+    }
+
+    /** 最古の未書き込みが積まれてからの秒数（空なら 0） */
+    double lagSeconds() {
+        List<Pending> r = retry;
+        Pending head = r.isEmpty() ? queue.peek() : r.get(0);
+        return head == null ? 0.0 : (System.nanoTime() - head.enqueuedAt()) / 1e9;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reads.queue.depth", this, q -> q.queue.size() + q.retry.size())
+                .register(registry);
+        Gauge.builder("reads.queue.lag", this, ReadMarkQueue::lagSeconds)
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("reads.queue.written", written, LongAdder::sum).register(registry);
+        FunctionCounter.builder("reads.queue.coalesced", coalesced, LongAdder::sum).register(registry);
+        FunctionCounter.builder("reads.queue.failed", failed, LongAdder::sum).register(registry);
+    }
+}
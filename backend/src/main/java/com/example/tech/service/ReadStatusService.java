@@ -1,38 +1,228 @@
 package com.example.tech.service;
 
+import com.example.tech.config.CacheConfig;
 import com.example.tech.entity.ReadStatus;
+import com.example.tech.event.ReadsDroppedEvent;
+import com.example.tech.event.ReadsWrittenEvent;
 import com.example.tech.repository.ReadStatusRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
+/**
+ * ユーザーごと・種別ごとの既読 id 集合を圧縮ビットマップ（RoaringBitmap）で read:sets にキャッシュする。
+ * - 最初に参照したときに read_status から 1 回だけ読み、以降の既読判定と /read/all はメモリから返す
+ * - 既読は ReadMarkQueue に積むだけで返し、本人の直後の表示に間に合うよう先にビットマップへ入れる。書けた後にも入れ直す
+ *   （書けずに諦めた行があれば、そのユーザーの集合は捨てて次の参照で DB から読み直す）
+ * - 取り消しは DB から消した後でビットマップを直す（キャッシュに無ければ何もしない。次の参照で読み直す）
+ * - id が int に収まらないユーザーはキャッシュせず、従来どおり毎回 DB に聞く
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ReadStatusService {
+
     private final ReadStatusRepository repo;
+    private final ReadMarkQueue readMarkQueue;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> readSets;
+
+    public ReadStatusService(ReadStatusRepository repo, ReadMarkQueue readMarkQueue, CacheManager cacheManager) {
+        this.repo = repo;
+        this.readMarkQueue = readMarkQueue;
+        // 書き込み時に読み込み中のキーを待てるよう、Spring の Cache ではなく Caffeine を直接使う
+        this.readSets = cacheManager.getCache(CacheConfig.READ_SETS) instanceof CaffeineCache c ? c.getNativeCache() : null;
+    }
 
-    public List<Long> getAll(Long userId, ReadStatus.Target t)
-    { return repo.findContentIdsByUserAndTarget(userId,t); }
+    public static String key(Long userId, ReadStatus.Target t) {
+        return userId + ":" + t;
+    }
 
-    public void mark(Long userId, ReadStatus.Target t, Long contentId){
-        if(!repo.existsByUserIdAndTargetAndContentId(userId,t,contentId)){
-            ReadStatus rs=new ReadStatus(); rs.setUserId(userId); rs.setTarget(t); rs.setContentId(contentId); repo.save(rs);
+    public List<Long> getAll(Long userId, ReadStatus.Target t) {
+        RoaringBitmap set = readSet(userId, t);
+        if (set == null) return repo.findContentIdsByUserAndTarget(userId, t);
+        int[] ids;
+        synchronized (set) {
+            ids = set.toArray();
         }
+        List<Long> out = new ArrayList<>(ids.length);
+        for (int id : ids) out.add((long) id);
+        return out;
     }
-    public boolean isRead(Long userId, ReadStatus.Target t, Long contentId){
-        return repo.existsByUserIdAndTargetAndContentId(userId, t, contentId);
+
+    /** 既読集合を RoaringBitmap の portable 形式（Base64）で。数千件の既読でも数 KB で済む */
+    public String getAllEncoded(Long userId, ReadStatus.Target t) {
+        RoaringBitmap set = readSet(userId, t);
+        if (set == null) set = toBitmap(repo.findContentIdsByUserAndTarget(userId, t));
+        if (set == null) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "content id out of bitmap range");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            synchronized (set) {
+                set.runOptimize();
+                set.serialize(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
     }
-    // Service/Repo 追加
-    @Transactional
-    public void unmark(Long userId, ReadStatus.Target t, Long contentId){
-        repo.deleteByUserIdAndTargetAndContentId(userId, t, contentId);
+
+    public void mark(Long userId, ReadStatus.Target t, Long contentId) {
+        RoaringBitmap set = readSet(userId, t);
+        if (set != null && contains(set, contentId)) return;
+        readMarkQueue.enqueue(ReadMarkQueue.Mark.readStatus(userId, t, contentId));
+        writeThrough(userId, t, contentId, true);
     }
-    // repository
 
+    /** キューの書き込み後。先に入れた後で読み込まれた集合（書き込み前の DB を読んだもの）にも入れる */
+    @EventListener
+    public void onReadsWritten(ReadsWrittenEvent event) {
+        for (ReadMarkQueue.Mark m : event.marks()) {
+            if (m.sink() == ReadMarkQueue.Sink.READ_STATUS) writeThrough(m.userId(), m.target(), m.contentId(), true);
+        }
+    }
 
+    /** 諦めた既読は先に入れたビットマップにだけ残っているので、集合ごと捨てる */
+    @EventListener
+    public void onReadsDropped(ReadsDroppedEvent event) {
+        if (readSets == null) return;
+        for (ReadMarkQueue.Mark m : event.marks()) {
+            if (m.sink() == ReadMarkQueue.Sink.READ_STATUS) readSets.invalidate(key(m.userId(), m.target()));
+        }
+    }
 
+    public boolean isRead(Long userId, ReadStatus.Target t, Long contentId) {
+        RoaringBitmap set = readSet(userId, t);
+        if (set == null) return repo.existsByUserIdAndTargetAndContentId(userId, t, contentId);
+        return contains(set, contentId);
+    }
 
-}
+    /** 多数の id を順に調べる用。キャッシュがあればビットマップを、無ければ全既読 id を 1 回読んだ集合を引く */
+    public Predicate<Long> readChecker(Long userId, ReadStatus.Target t) {
+        RoaringBitmap set = readSet(userId, t);
+        if (set != null) return id -> contains(set, id);
+        Set<Long> ids = new HashSet<>(repo.findContentIdsByUserAndTarget(userId, t));
+        return ids::contains;
+    }
+
+    /** 既読集合の複製（集合演算用。呼び出し側で書き換えてよい）。int に収まらない id は含めない */
+    public RoaringBitmap readBitmap(Long userId, ReadStatus.Target t) {
+        RoaringBitmap set = readSet(userId, t);
+        if (set != null) {
+            synchronized (set) {
+                return set.clone();
+            }
+        }
+        RoaringBitmap out = new RoaringBitmap();
+        for (Long id : repo.findContentIdsByUserAndTarget(userId, t)) {
+            if (fits(id)) out.add(id.intValue());
+        }
+        return out;
+    }
+
+    /** ids のうち既読のもの（一覧ページの一括ステータス） */
+    public Set<Long> readIds(Long userId, ReadStatus.Target t, Collection<Long> ids) {
+        if (ids.isEmpty()) return new HashSet<>();
+        RoaringBitmap set = readSet(userId, t);
+        if (set == null) return new HashSet<>(repo.findReadContentIdsIn(userId, t, ids));
+        Set<Long> out = new HashSet<>();
+        for (Long id : ids) {
+            if (contains(set, id)) out.add(id);
+        }
+        return out;
+    }
+
+    // 未書き込みの既読を取り除き、削除をリポジトリ側のトランザクションでコミットしてからビットマップを直す
+    public void unmark(Long userId, ReadStatus.Target t, Long contentId) {
+        readMarkQueue.cancel(ReadMarkQueue.Mark.readStatus(userId, t, contentId), () -> {
+            repo.deleteByUserIdAndTargetAndContentId(userId, t, contentId);
+            return null;
+        });
+        writeThrough(userId, t, contentId, false);
+    }
 
+    /** 一括既読。キューを通さず複数行の upsert 1 回で書き、書けたらビットマップにも入る（ReadsWrittenEvent） */
+    public void markAll(Long userId, ReadStatus.Target t, Collection<Long> contentIds) {
+        readMarkQueue.writeNow(contentIds.stream().map(id -> ReadMarkQueue.Mark.readStatus(userId, t, id)).toList());
+    }
+
+    /** 一括未読。未書き込みの既読を取り除いて 1 文で消し、ビットマップから外す */
+    public void unmarkAll(Long userId, ReadStatus.Target t, Collection<Long> contentIds) {
+        if (contentIds.isEmpty()) return;
+        readMarkQueue.cancel(contentIds.stream().map(id -> ReadMarkQueue.Mark.readStatus(userId, t, id)).toList(),
+                () -> repo.deleteByUserIdAndTargetAndContentIdIn(userId, t, contentIds));
+        for (Long id : contentIds) writeThrough(userId, t, id, false);
+    }
+
+    /** キャッシュが無い・id が int に収まらないときは null（呼び出し側は DB に聞く） */
+    private RoaringBitmap readSet(Long userId, ReadStatus.Target t) {
+        if (readSets == null || userId == null) return null;
+        try {
+            return (RoaringBitmap) readSets.get(key(userId, t),
+                    k -> toBitmap(repo.findContentIdsByUserAndTarget(userId, t)));
+        } catch (RuntimeException e) {
+            log.warn("read set load failed for {}: {}", key(userId, t), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 書き込み後にキャッシュ上の集合を直す。computeIfPresent は同じキーの読み込みが終わるのを待つので、
+     * 書き込み前の DB を読んだ集合が後からキャッシュに入って古いまま残ることはない。
+     */
+    private void writeThrough(Long userId, ReadStatus.Target t, Long contentId, boolean add) {
+        if (readSets == null) return;
+        String key = key(userId, t);
+        if (!fits(contentId)) {
+            // ビットマップに載らない id が入ったので、このユーザーは以降 DB で判定する
+            readSets.invalidate(key);
+            return;
+        }
+        readSets.asMap().computeIfPresent(key, (k, v) -> {
+            RoaringBitmap set = (RoaringBitmap) v;
+            synchronized (set) {
+                if (add) set.add(contentId.intValue());
+                else set.remove(contentId.intValue());
+            }
+            return set;
+        });
+    }
+
+    private static RoaringBitmap toBitmap(List<Long> ids) {
+        RoaringBitmap set = new RoaringBitmap();
+        for (Long id : ids) {
+            if (!fits(id)) return null;
+            set.add(id.intValue());
+        }
+        set.runOptimize();
+        return set;
+    }
+
+    private static boolean contains(RoaringBitmap set, Long id) {
+        if (!fits(id)) return false;
+        synchronized (set) {
+            return set.contains(id.intValue());
+        }
+    }
+
+    private static boolean fits(Long id) {
+        return id != null && id >= 0 && id <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.tech.service;
+
+import com.example.tech.dto.response.ReadingProgressResponse;
+import com.example.tech.entity.ReadStatus;
+import com.example.tech.entity.ReadingProgressEntity;
+import com.example.tech.enums.TargetType;
+import com.example.tech.repository.ReadingProgressRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 読み進み具合（スクロール % と最後の見出し）。クライアントは数秒ごとに報告してくるので、
+ * 報告はメモリ上のバッファに (ユーザー, コンテンツ) ごとの最新値だけを残し、一定間隔でまとめて reading_progress に書く。
+ * DB への書き込み回数は報告の頻度ではなく、間隔内に動いた (ユーザー, コンテンツ) の数で決まる。
+ * - 読み取りはバッファを優先する（書き戻し前の値も返る）
+ * - 書き戻しに失敗した分はバッファに残り、次回に再試行する
+ * - 報告できるのは存在するコンテンツだけ（無ければ 404）。バッファは件数に上限があり、満杯なら新しい (ユーザー, コンテンツ) は 503
+ *   （既にバッファにあるものの更新は受け付ける）
+ */
+@Slf4j
+@Service
+public class ReadingProgressService implements MeterBinder {
+
+    private record Key(Long userId, TargetType type, Long contentId) {}
+
+    private record Progress(int percent, String heading, Instant updatedAt) {}
+
+    private final ReadingProgressRepository repository;
+    private final ContentVersionService contentVersionService;
+    private final TransactionTemplate tx;
+
+    private final Map<Key, Progress> buffer = new ConcurrentHashMap<>();
+    private final LongAdder reports = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    @Value("${app.progress.flush-batch-size:500}")
+    int flushBatchSize;
+
+    @Value("${app.progress.max-buffered:50000}")
+    int maxBuffered;
+
+    public ReadingProgressService(ReadingProgressRepository repository,
+                                  ContentVersionService contentVersionService,
+                                  PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.contentVersionService = contentVersionService;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    public void report(Long userId, ReadStatus.Target target, Long contentId, Integer percent, String heading) {
+        if (contentId == null || percent == null || percent < 0 || percent > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "percent must be between 0 and 100");
+        }
+        String h = heading == null || heading.isBlank() ? null : heading.strip();
+        if (h != null && h.length() > ReadingProgressEntity.HEADING_MAX) h = h.substring(0, ReadingProgressEntity.HEADING_MAX);
+        Key key = new Key(userId, ContentStatusService.typeOf(target), contentId);
+        // バッファにあるものは確認済み。新しいものだけ上限と存在を見る（単体キャッシュにあれば DB なし）
+        if (!buffer.containsKey(key)) {
+            if (buffer.size() >= maxBuffered) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "進み具合の受付が混み合っています。");
+            }
+            if (!contentVersionService.exists(key.type(), contentId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "コンテンツが見つかりません。");
+            }
+        }
+        buffer.put(key, new Progress(percent, h, Instant.now()));
+        reports.increment();
+    }
+
+    public Optional<ReadingProgressResponse> get(Long userId, ReadStatus.Target target, Long contentId) {
+        TargetType type = ContentStatusService.typeOf(target);
+        Progress p = buffer.get(new Key(userId, type, contentId));
+        if (p != null) return Optional.of(toResponse(contentId, p));
+        return repository.findByUserIdAndTargetAndContentId(userId, type, contentId).map(ReadingProgressService::toResponse);
+    }
+
+    /** 新しい順に最大 limit 件（「続きから読む」用）。書き戻し前の分も混ぜる */
+    public List<ReadingProgressResponse> recent(Long userId, ReadStatus.Target target, int limit) {
+        TargetType type = ContentStatusService.typeOf(target);
+        Map<Long, ReadingProgressResponse> merged = new HashMap<>();
+        for (ReadingProgressEntity e : repository.findByUserIdAndTargetOrderByUpdatedAtDesc(userId, type, PageRequest.of(0, limit))) {
+            merged.put(e.getContentId(), toResponse(e));
+        }
+        buffer.forEach((k, p) -> {
+            if (k.userId().equals(userId) && k.type() == type) merged.put(k.contentId(), toResponse(k.contentId(), p));
+        });
+        return merged.values().stream()
+                .sorted(Comparator.comparing(ReadingProgressResponse::updatedAt).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /** 溜まった最新値を書き戻す。書いている間に新しい報告が来たものはバッファに残して次回に回す */
+    @Scheduled(fixedDelayString = "${app.progress.flush-interval-ms:10000}",
+            initialDelayString = "${app.progress.flush-interval-ms:10000}")
+    public void flush() {
+        if (buffer.isEmpty()) return;
+        List<Map.Entry<Key, Progress>> batch = new ArrayList<>(Math.min(buffer.size(), flushBatchSize));
+        for (Map.Entry<Key, Progress> e : buffer.entrySet()) {
+            batch.add(Map.entry(e.getKey(), e.getValue()));
+            if (batch.size() >= flushBatchSize) {
+                if (!write(batch)) return;
+                batch = new ArrayList<>(flushBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) write(batch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        if (!buffer.isEmpty()) log.warn("reading progress left unwritten at shutdown: {}", buffer.size());
+    }
+
+    private boolean write(List<Map.Entry<Key, Progress>> batch) {
+        try {
+            tx.executeWithoutResult(status -> {
+                for (Map.Entry<Key, Progress> e : batch) {
+                    Key k = e.getKey();
+                    Progress p = e.getValue();
+                    repository.upsert(k.userId(), ReactionService.column(k.type()), k.contentId(), p.percent(), p.heading(), p.updatedAt());
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("reading progress flush failed for {} entries: {}", batch.size(), ex.getMessage());
+            return false;
+        }
+        // コミット後に外す。書いた値のまま変わっていないものだけ
+        for (Map.Entry<Key, Progress> e : batch) buffer.remove(e.getKey(), e.getValue());
+        written.add(batch.size());
+        return true;
+    }
+
+    private static ReadingProgressResponse toResponse(Long contentId, Progress p) {
+        return new ReadingProgressResponse(contentId, p.percent(), p.heading(), p.updatedAt());
+    }
+
+    private static ReadingProgressResponse toResponse(ReadingProgressEntity e) {
+        return new ReadingProgressResponse(e.getContentId(), e.getPercent(), e.getHeading(), e.getUpdatedAt());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reading.progress.buffered", buffer, Map::size).register(registry);
+        FunctionCounter.builder("reading.progress.reports", reports, LongAdder::sum).register(registry);
+        FunctionCounter.builder("reading.progress.written", written, LongAdder::sum).register(registry);
+    }
+}
@@ -16,6 +16,7 @@ import java.time.LocalDateTime;
 public class RegisterService {
     private final RegisterRepository registerRepository;
     private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
 
     public void registUser(RegisterRequest request) {
         // 1. すでに同じメールがあればエラー
@@ -29,5 +30,6 @@ public class RegisterService {
         newUser.setDisplayName(request.getDisplayName());
         newUser.setCreatedAt(LocalDateTime.now());
         userRepository.save(newUser);
+        userIdentityService.evict(newUser.getEmail());
     }
 }
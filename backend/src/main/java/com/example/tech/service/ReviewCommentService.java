@@ -4,10 +4,8 @@ import com.example.tech.dto.ReviewCommentDTO;
 import com.example.tech.dto.request.ReviewCommentRequest;
 import com.example.tech.entity.ArticleEntity;
 import com.example.tech.entity.ReviewCommentEntity;
-import com.example.tech.entity.UserEntity;
 import com.example.tech.repository.ArticleRepository;
 import com.example.tech.repository.ReviewCommentRepository;
-import com.example.tech.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -18,21 +16,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ReviewCommentService {
     private final ReviewCommentRepository reviewCommentRepository;
-    private final UserRepository userRepository;
     private final ArticleRepository articleRepository;
 
-    public void postComment(ReviewCommentRequest request, String userEmail) {
+    public void postComment(ReviewCommentRequest request, Long userId) {
         ReviewCommentEntity entity = new ReviewCommentEntity();
-        UserEntity userEntity = userRepository.findUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
 
         //TODO ReviewCommentEntity ManyToOne ArticleEntityリレーションにしたのでArticleEntityがあるかわからない
         //TODO Articleを下記でセットしなければならない。リレーションセット
         ArticleEntity article = articleRepository.findById(request.getArticleId())
                 .orElseThrow(() -> new RuntimeException("記事が見つかりません。"));
 
-        Long userId = userEntity.getId();
-
         //TODO　これはNPE
         //entity.getArticle().setId(request.getArticleId());
         entity.setArticle(article); //Idも含めてオブジェクトでarticleがセットされるのでリレーションを担保できた
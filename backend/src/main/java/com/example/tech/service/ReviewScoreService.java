@@ -22,12 +22,7 @@ public class ReviewScoreService {
     private final ProcedureRepository procedureRepository;
     private final ReviewScoreRepository reviewScoreRepository;
 
-    public void postReviewScore(ReviewScoreRequest request, String userEmail) {
-        UserEntity user = userRepository.findUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-
-        Long userId = user.getId();
-
+    public void postReviewScore(ReviewScoreRequest request, Long userId) {
         Optional<ReviewScoreEntity> existing = reviewScoreRepository.findByUserIdAndArticle_Id(userId, request.getRefId());
 
         if (existing.isPresent()) {
@@ -40,17 +35,13 @@ public class ReviewScoreService {
 
         ReviewScoreEntity entity = new ReviewScoreEntity();
         entity.setArticle(article);
-        entity.setUser(user);
+        entity.setUser(userRepository.getReferenceById(userId)); // 参照だけ（SELECTしない）
         entity.setScore(request.getScore());
 
         reviewScoreRepository.save(entity);
     }
 
-    public ReviewScoreDTO getMyScore(Long articleId, String userEmail) {
-        UserEntity user = userRepository.findUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-        Long userId = user.getId();
-
+    public ReviewScoreDTO getMyScore(Long articleId, Long userId) {
         Optional<ReviewScoreEntity> scoreOpt = reviewScoreRepository.findByUserIdAndArticle_Id(userId, articleId);
 
         return scoreOpt.map(this::convertToDTO).orElse(null);
@@ -77,11 +68,7 @@ public class ReviewScoreService {
                 .toList();
     }
 
-    public void putReviewScore(ReviewScoreRequest request, String userEmail) {
-        UserEntity userEntity = userRepository.findUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-
-        Long userId = userEntity.getId();
+    public void putReviewScore(ReviewScoreRequest request, Long userId) {
 
         Optional<ReviewScoreEntity> existingOpt = reviewScoreRepository.findByUserIdAndArticle_Id(userId, request.getRefId());
 
@@ -96,19 +83,18 @@ public class ReviewScoreService {
 
     }
 
-    public void postReviewScoreForTarget(TargetType type, Long refId, ReviewScoreRequest request, String userEmail) {
+    public void postReviewScoreForTarget(TargetType type, Long refId, ReviewScoreRequest request, Long userId) {
         // typeに応じて Article / Syntax / Procedure に分岐
         switch (type) {
-            case ARTICLE -> postArticleReviewScore(refId, request, userEmail);
-            case SYNTAX -> postSyntaxReviewScore(refId, request, userEmail);
-            case PROCEDURE -> postProcedureReviewScore(refId, request, userEmail);
+            case ARTICLE -> postArticleReviewScore(refId, request, userId);
+            case SYNTAX -> postSyntaxReviewScore(refId, request, userId);
+            case PROCEDURE -> postProcedureReviewScore(refId, request, userId);
         }
     }
 
     // Article
-    public void postArticleReviewScore(Long refId, ReviewScoreRequest request, String userEmail) {
-        UserEntity user = userRepository.findUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが存在しません"));
+    public void postArticleReviewScore(Long refId, ReviewScoreRequest request, Long userId) {
+        UserEntity user = userRepository.getReferenceById(userId); // 参照だけ（SELECTしない）
 
         ArticleEntity article = articleRepository.findById(refId)
                 .orElseThrow(() -> new RuntimeException("記事が存在しません"));
@@ -125,9 +111,8 @@ public class ReviewScoreService {
     }
 
     // Syntax
-    public void postSyntaxReviewScore(Long refId, ReviewScoreRequest request, String userEmail) {
-        UserEntity user = userRepository.findUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが存在しません"));
+    public void postSyntaxReviewScore(Long refId, ReviewScoreRequest request, Long userId) {
+        UserEntity user = userRepository.getReferenceById(userId); // 参照だけ（SELECTしない）
 
         SyntaxEntity syntax = syntaxRepository.findById(refId)
                 .orElseThrow(() -> new RuntimeException("構文記事が存在しません"));
@@ -145,9 +130,8 @@ public class ReviewScoreService {
     }
 
     // Procedure
-    public void postProcedureReviewScore(Long refId, ReviewScoreRequest request, String userEmail) {
-        UserEntity user = userRepository.findUserByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが存在しません"));
+    public void postProcedureReviewScore(Long refId, ReviewScoreRequest request, Long userId) {
+        UserEntity user = userRepository.getReferenceById(userId); // 参照だけ（SELECTしない）
 
         ProcedureEntity procedure = procedureRepository.findById(refId)
                 .orElseThrow(() -> new RuntimeException("手順記事が存在しません"));
@@ -188,40 +172,33 @@ public class ReviewScoreService {
     }
 
 
-    public void updateReviewScoreForTarget(TargetType targetType, Long refId, ReviewScoreRequest request, String userEmail) {
-        // 1. userEmail から user を特定
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        // 2. 既存レビュー取得
+    public void updateReviewScoreForTarget(TargetType targetType, Long refId, ReviewScoreRequest request, Long userId) {
+        // 1. 既存レビュー取得
         ReviewScoreEntity score = switch (targetType) {
             case ARTICLE -> reviewScoreRepository
-                    .findByTargetTypeAndArticle_IdAndUser_Id(targetType, refId, user.getId())
+                    .findByTargetTypeAndArticle_IdAndUser_Id(targetType, refId, userId)
                     .orElseThrow(() -> new RuntimeException("Review not found"));
             case SYNTAX -> reviewScoreRepository
-                    .findByTargetTypeAndSyntax_IdAndUser_Id(targetType, refId, user.getId())
+                    .findByTargetTypeAndSyntax_IdAndUser_Id(targetType, refId, userId)
                     .orElseThrow(() -> new RuntimeException("Review not found"));
             case PROCEDURE -> reviewScoreRepository
-                    .findByTargetTypeAndProcedure_IdAndUser_Id(targetType, refId, user.getId())
+                    .findByTargetTypeAndProcedure_IdAndUser_Id(targetType, refId, userId)
                     .orElseThrow(() -> new RuntimeException("Review not found"));
         };
 
-        // 3. 更新
+        // 2. 更新
         score.setScore(request.getScore());
         reviewScoreRepository.save(score);
     }
 
-    public Optional<ReviewScoreEntity> findMyScore(TargetType type, Long refId, String userEmail) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
+    public Optional<ReviewScoreEntity> findMyScore(TargetType type, Long refId, Long userId) {
         return switch (type) {
             case ARTICLE ->
-                    reviewScoreRepository.findByTargetTypeAndArticle_IdAndUser_Id(type, refId, user.getId());
+                    reviewScoreRepository.findByTargetTypeAndArticle_IdAndUser_Id(type, refId, userId);
             case SYNTAX ->
-                    reviewScoreRepository.findByTargetTypeAndSyntax_IdAndUser_Id(type, refId, user.getId());
+                    reviewScoreRepository.findByTargetTypeAndSyntax_IdAndUser_Id(type, refId, userId);
             case PROCEDURE ->
-                    reviewScoreRepository.findByTargetTypeAndProcedure_IdAndUser_Id(type, refId, user.getId());
+                    reviewScoreRepository.findByTargetTypeAndProcedure_IdAndUser_Id(type, refId, userId);
         };
     }
 
@@ -0,0 +1,139 @@
+package com.example.tech.service;
+
+import com.example.tech.enums.TargetType;
+import com.example.tech.event.ContentChangedEvent;
+import com.example.tech.projection.ContentSlug;
+import com.example.tech.repository.ArticleRepository;
+import com.example.tech.repository.ProcedureRepository;
+import com.example.tech.repository.SyntaxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 種別ごとの slug → (id, 公開状態, 更新時刻) の索引。起動時に全件読み、管理画面の保存（ContentChangedEvent）で 1 件ずつ直す。
+ * 読み取りはロックなしの ConcurrentHashMap 参照だけで、DB には行かない（読み込みが終わる前だけ DB に聞く）。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SlugIndexService {
+
+    public record SlugEntry(Long id, String slug, boolean published, LocalDateTime updatedAt) {}
+
+    private final ArticleRepository articleRepository;
+    private final SyntaxRepository syntaxRepository;
+    private final ProcedureRepository procedureRepository;
+
+    private final Map<TargetType, Map<String, SlugEntry>> bySlug = perType();
+    /** slug の付け替えで古い slug を外すための逆引き */
+    private final Map<TargetType, Map<Long, String>> slugById = perType();
+
+    private volatile boolean loaded;
+
+    /** 公開中のものだけ返す（非公開・存在しない slug は empty → 404） */
+    public Optional<SlugEntry> findPublished(TargetType type, String slug) {
+        if (slug == null || slug.isBlank()) return Optional.empty();
+        SlugEntry entry = loaded ? bySlug.get(type).get(slug) : fromDb(type, slug);
+        return Optional.ofNullable(entry).filter(SlugEntry::published);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        try {
+            int n = 0;
+            for (TargetType type : TargetType.values()) {
+                for (ContentSlug s : findAll(type)) {
+                    put(type, s);
+                    n++;
+                }
+            }
+            loaded = true;
+            log.info("slug index loaded: {} entries in {} ms", n, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            // 読み込めなければ DB 参照のまま動かす
+            log.warn("slug index load failed: {}", e.getMessage());
+        }
+    }
+
+    /** キャッシュ破棄より先に直しておく（直後の by-slug が古い版の ETag を返さないように） */
+    @Order(-10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        try {
+            if (event.action() == ContentChangedEvent.Action.DELETED) {
+                remove(event.type(), event.id());
+                return;
+            }
+            Optional<ContentSlug> current = switch (event.type()) {
+                case ARTICLE -> articleRepository.findSlugById(event.id());
+                case SYNTAX -> syntaxRepository.findSlugById(event.id());
+                case PROCEDURE -> procedureRepository.findSlugById(event.id());
+            };
+            current.ifPresentOrElse(s -> put(event.type(), s), () -> remove(event.type(), event.id()));
+        } catch (RuntimeException e) {
+            log.warn("slug index update failed for {} {}: {}", event.type(), event.id(), e.getMessage());
+        }
+    }
+
+    private synchronized void put(TargetType type, ContentSlug s) {
+        String previous = slugById.get(type).get(s.getId());
+        if (previous != null && !previous.equals(s.getSlug())) {
+            bySlug.get(type).remove(previous);
+        }
+        if (s.getSlug() == null || s.getSlug().isBlank()) {
+            slugById.get(type).remove(s.getId());
+            return;
+        }
+        SlugEntry entry = new SlugEntry(s.getId(), s.getSlug(), Boolean.TRUE.equals(s.getPublished()), s.getUpdatedAt());
+        SlugEntry existing = bySlug.get(type).get(entry.slug());
+        // slug が重複していたら（一意制約のない種別）公開中のものを優先する
+        if (existing != null && !existing.id().equals(entry.id()) && existing.published() && !entry.published()) return;
+        bySlug.get(type).put(entry.slug(), entry);
+        slugById.get(type).put(entry.id(), entry.slug());
+    }
+
+    private synchronized void remove(TargetType type, Long id) {
+        String slug = slugById.get(type).remove(id);
+        if (slug != null) bySlug.get(type).computeIfPresent(slug, (k, v) -> v.id().equals(id) ? null : v);
+    }
+
+    private List<ContentSlug> findAll(TargetType type) {
+        return switch (type) {
+            case ARTICLE -> articleRepository.findAllSlugs();
+            case SYNTAX -> syntaxRepository.findAllSlugs();
+            case PROCEDURE -> procedureRepository.findAllSlugs();
+        };
+    }
+
+    private SlugEntry fromDb(TargetType type, String slug) {
+        List<ContentSlug> rows = switch (type) {
+            case ARTICLE -> articleRepository.findSlugsBySlug(slug);
+            case SYNTAX -> syntaxRepository.findSlugsBySlug(slug);
+            case PROCEDURE -> procedureRepository.findSlugsBySlug(slug);
+        };
+        return rows.stream()
+                .filter(s -> Boolean.TRUE.equals(s.getPublished()))
+                .findFirst()
+                .map(s -> new SlugEntry(s.getId(), s.getSlug(), true, s.getUpdatedAt()))
+                .orElse(null);
+    }
+
+    private static <K, V> Map<TargetType, Map<K, V>> perType() {
+        Map<TargetType, Map<K, V>> map = new EnumMap<>(TargetType.class);
+        for (TargetType type : TargetType.values()) map.put(type, new ConcurrentHashMap<>());
+        return map;
+    }
+}
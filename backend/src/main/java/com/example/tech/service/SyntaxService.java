@@ -1,21 +1,62 @@
 package com.example.tech.service;
 
+import com.example.tech.config.CacheConfig;
 import com.example.tech.dto.SyntaxDTO;
+import com.example.tech.dto.response.CursorPageResponse;
 import com.example.tech.entity.SyntaxEntity;
+import com.example.tech.enums.ListView;
 import com.example.tech.repository.SyntaxRepository;
+import com.example.tech.utils.ContentCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class SyntaxService {
     private final SyntaxRepository syntaxRepository;
-    public Page<SyntaxDTO> getAllArticles(Pageable pageable) {
+    @Cacheable(value = CacheConfig.SYNTAX_LIST, key = "'page:' + #pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort + ':' + #view")
+    public Page<SyntaxDTO> getAllArticles(Pageable pageable, ListView view) {
+        if (view == ListView.SUMMARY) {
+            return syntaxRepository.findAllSummaries(pageable);
+        }
         Page<SyntaxEntity> entities = syntaxRepository.findAll(pageable);
         return entities.map(this::convertToDTO);
     }
+
+    /** 新着一覧（キーセット）。総件数は withTotal のときだけ数える */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.SYNTAX_LIST, key = "'cursor:' + #cursor + ':' + #size + ':' + #withTotal + ':' + #view")
+    public CursorPageResponse<SyntaxDTO> getSyntaxesByCursor(String cursor, int size, boolean withTotal, ListView view) {
+        ContentCursor.CreatedAtKey after = ContentCursor.decodeCreatedAt(cursor);
+        Limit limit = Limit.of(size + 1);
+        if (view == ListView.SUMMARY) {
+            List<SyntaxDTO> rows = after == null
+                    ? syntaxRepository.findSummariesFirstByCreatedAt(limit)
+                    : syntaxRepository.findSummariesAfterCreatedAt(after.createdAt(), after.id(), limit);
+            Long total = withTotal ? syntaxRepository.count() : null;
+            return CursorPageResponse.of(rows, size,
+                    d -> ContentCursor.encode(new ContentCursor.CreatedAtKey(d.getCreatedAt(), d.getId())),
+                    Function.identity(), total);
+        }
+        List<SyntaxEntity> rows = after == null
+                ? syntaxRepository.findFirstByCreatedAt(limit)
+                : syntaxRepository.findAfterCreatedAt(after.createdAt(), after.id(), limit);
+        Long total = withTotal ? syntaxRepository.count() : null;
+        return CursorPageResponse.of(rows, size,
+                e -> ContentCursor.encode(new ContentCursor.CreatedAtKey(e.getCreatedAt(), e.getId())),
+                this::convertToDTO, total);
+    }
+
     private SyntaxDTO convertToDTO(SyntaxEntity entity) {
         return new SyntaxDTO(
                 entity.getId(),
@@ -33,9 +74,10 @@ public class SyntaxService {
         );
     }
 
+    @Cacheable(value = CacheConfig.SYNTAX_ITEM, key = "#id")
     public SyntaxDTO findById(Long id) {
         SyntaxEntity syntax = syntaxRepository.findByIdWithUser(id)
-                .orElseThrow(() -> new RuntimeException("記事が見つかりません。"));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "記事が見つかりません。"));
 
         return convertToDTO(syntax);
     }
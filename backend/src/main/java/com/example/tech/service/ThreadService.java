@@ -1,19 +1,25 @@
 package com.example.tech.service;
 
+import com.example.tech.api.MessageDto;
+import com.example.tech.api.ThreadDto;
+import com.example.tech.api.ThreadWithMessagesDto;
 import com.example.tech.domain.Category;
 import com.example.tech.domain.TargetType;
 import com.example.tech.domain.ThreadEntity;
+import com.example.tech.repository.ThreadMessageRepository;
 import com.example.tech.repository.ThreadRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class ThreadService {
     private final ThreadRepository threadRepository;
+    private final ThreadMessageRepository threadMessageRepository;
 
     public ThreadEntity getOrCreate(TargetType type, Long refId, Category category)
     {
@@ -37,4 +43,39 @@ public class ThreadService {
     public Optional<ThreadEntity> find(TargetType targetType, Long refId, Category categoryEnum) {
         return threadRepository.findByTargetTypeAndRefIdAndCategory(targetType,refId,categoryEnum);
     }
+
+    /** スレッド（なければ id=null の空スレッド）+ メッセージ一覧（新しい順） */
+    public ThreadWithMessagesDto getWithMessages(TargetType targetType, Long refId, Category category) {
+        var threadOpt = find(targetType, refId, category);
+        if (threadOpt.isEmpty()) {
+            return new ThreadWithMessagesDto(
+                    new ThreadDto(null, targetType, refId, category),
+                    List.of()
+            );
+        }
+        var thread = threadOpt.get();
+
+        List<MessageDto> messages = threadMessageRepository
+                .findByThread_IdOrderByIdDesc(thread.getId())
+                .stream()
+                .map(m -> new MessageDto(
+                        m.getId(),
+                        thread.getId(),
+                        m.getUserId(),          // email 文字列
+                        m.getBody(),
+                        m.getCreatedAt(),
+                        m.getUpdatedAt()
+                ))
+                .toList();
+
+        ThreadDto threadDto = new ThreadDto(
+                thread.getId(),
+                thread.getTargetType(),
+                thread.getRefId(),
+                thread.getCategory()
+        );
+
+        // ThreadWithMessagesDto は { thread, messages } の形
+        return new ThreadWithMessagesDto(threadDto, messages);
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.tech.service;
+
+import com.example.tech.dto.UserIdentity;
+import com.example.tech.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * email → (id, email, displayName) のキャッシュ。email は大文字小文字を区別せず引く（キーは前後空白を除いた小文字）。
+ * 登録・表示名変更のたびに {@link #evict(String)} で破棄する。
+ * 未登録ユーザーはキャッシュしない（登録直後に即反映させるため）。
+ */
+@Service
+@RequiredArgsConstructor
+public class UserIdentityService {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserIdentity> cache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(30))
+            .build();
+
+    public Optional<UserIdentity> find(String email) {
+        if (email == null || email.isBlank()) return Optional.empty();
+        String key = norm(email);
+        UserIdentity cached = cache.getIfPresent(key);
+        if (cached != null) return Optional.of(cached);
+
+        Optional<UserIdentity> loaded = userRepository.findByEmailIgnoreCase(key)
+                .map(u -> new UserIdentity(u.getId(), u.getEmail(), u.getDisplayName()));
+        loaded.ifPresent(identity -> cache.put(key, identity));
+        return loaded;
+    }
+
+    public void evict(String email) {
+        if (email != null) cache.invalidate(norm(email));
+    }
+
+    private static String norm(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
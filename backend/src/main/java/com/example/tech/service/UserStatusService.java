@@ -7,7 +7,7 @@ import com.example.tech.dto.UserStatusDTO;
 import com.example.tech.dto.request.ArticleReadRequest;
 import com.example.tech.entity.ArticleReadEntity;
 import com.example.tech.entity.ReviewCommentEntity;
-import com.example.tech.entity.UserEntity;
+import com.example.tech.enums.TargetType;
 import com.example.tech.repository.*;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -24,9 +24,8 @@ import java.util.stream.Stream;
 public class UserStatusService {
     private final ArticleRepository articleRepository;
     private final ReviewScoreRepository reviewScoreRepository;
-    private final LikeRepository likeRepository;
+    private final ReactionRepository reactionRepository;
     private final ReviewCommentRepository reviewCommentRepository;
-    private final UserRepository userRepository;
     private final ArticleReadRepository articleReadRepository;
     private final ThreadMessageRepository threadMessageRepository;
 
@@ -34,7 +33,7 @@ public class UserStatusService {
         // 1. 各種累計取得
         long articlesRead = articleReadRepository.countByUserId(userId);
         long reviews = reviewScoreRepository.countByUserId(userId);
-        long likes = likeRepository.countByUserId(userId);
+        long likes = reactionRepository.countByUserIdAndTarget(userId, TargetType.ARTICLE);
         long comments = threadMessageRepository.countByUserId(userId);
 
         // 2. レベル・経験値計算例（超シンプルver）
@@ -42,19 +41,14 @@ public class UserStatusService {
         long level = exp / 100 + 1;
         long expPercent = exp % 100;
 
-        List<ArticleDTO> likedArticles = articleRepository.findLikedArticlesByUserId(userId);
+        List<ArticleDTO> likedArticles = articleRepository.findLikedArticlesByUserId(userId, TargetType.ARTICLE);
 
         // 3. TODO DTOにまとめて返す
         return new UserStatusDTO(articlesRead, reviews, likes, comments, level, expPercent,likedArticles);
 
     }
 
-    public List<CalendarActionDTO> getCalendarActions(String userEmail, int year, int month) {
-        UserEntity entity = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません。"));
-
-        Long userId = entity.getId();
-
+    public List<CalendarActionDTO> getCalendarActions(Long userId, int year, int month) {
         // 例: year=2024, month=7 なら 2024-07-01 となる
         LocalDate start = LocalDate.of(year, month, 1);
         // 例: start=2024-07-01 なら start.lengthOfMonth() は31 -> 2024-07-31
@@ -65,8 +59,8 @@ public class UserStatusService {
                 .findDailyReviewScoreActions(userId,start.atStartOfDay(),end.atTime(23,59,59));
         List<CalendarActionDTO> reviewComments = reviewCommentRepository
                 .findDailyReviewCommentActions(userId, start.atStartOfDay(), end.atTime(23,59,59));
-        List<CalendarActionDTO> likes = likeRepository
-                .findDailyLikesActions(userId,start.atStartOfDay(), end.atTime(23,59,59));
+        List<CalendarActionDTO> likes = reactionRepository
+                .findDailyActions(userId, TargetType.ARTICLE, start.atStartOfDay(), end.atTime(23,59,59));
 
         // ③ 日付ごとに合算（Mapで(Map<LocalDate, Integer>)日付単位に足し合わせ）
         Map<LocalDate, Integer> dateActionMap = new HashMap<>();
@@ -83,10 +77,7 @@ public class UserStatusService {
         return result;
     }
 
-    public List<ActionHistoryDTO> getActionHistories(String userEmail, int limit) {
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("ユーザーがいません。"));
-        Long userId = user.getId();
+    public List<ActionHistoryDTO> getActionHistories(Long userId, int limit) {
 
         PageRequest pageRequest = PageRequest.of(0, limit); // limit件だけ
         List<ReviewCommentEntity> reviewCommentEntities = reviewCommentRepository
@@ -0,0 +1,75 @@
+package com.example.tech.utils;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 一覧のキーセット（カーソル）ページング用の不透明カーソル。
+ * 中身は base64url("c|createdAt|id") または base64url("s|stepMajor|stepMinor|id")。
+ * クライアントは中身を解釈せずそのまま次のリクエストに渡す。
+ */
+public final class ContentCursor {
+
+    /** 新着順（createdAt DESC, id DESC）の位置 */
+    public record CreatedAtKey(LocalDateTime createdAt, long id) {}
+
+    /** 手順順（stepMajor, stepMinor, id の昇順）の位置 */
+    public record StepKey(int stepMajor, int stepMinor, long id) {}
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ContentCursor() {}
+
+    public static String encode(CreatedAtKey key) {
+        return encode("c|" + key.createdAt() + "|" + key.id());
+    }
+
+    public static String encode(StepKey key) {
+        return encode("s|" + key.stepMajor() + "|" + key.stepMinor() + "|" + key.id());
+    }
+
+    /** null/空なら先頭ページ（null を返す）。壊れたカーソルは 400 */
+    public static CreatedAtKey decodeCreatedAt(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        String[] p = decode(cursor);
+        if (p.length != 3 || !"c".equals(p[0])) throw invalid();
+        try {
+            return new CreatedAtKey(LocalDateTime.parse(p[1]), Long.parseLong(p[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    public static StepKey decodeStep(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        String[] p = decode(cursor);
+        if (p.length != 4 || !"s".equals(p[0])) throw invalid();
+        try {
+            return new StepKey(Integer.parseInt(p[1]), Integer.parseInt(p[2]), Long.parseLong(p[3]));
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    private static String encode(String raw) {
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            return new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor");
+    }
+}
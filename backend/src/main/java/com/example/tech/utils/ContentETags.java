@@ -0,0 +1,125 @@
+package com.example.tech.utils;
+
+import com.example.tech.dto.response.CursorPageResponse;
+import com.example.tech.enums.TargetType;
+import com.example.tech.service.MarkdownRenderService;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 公開コンテンツ GET の ETag と Cache-Control。
+ * - 単体: 種別 + id + updatedAt（@UpdateTimestamp なので公開切替を含むどの更新でも変わる）
+ * - 一覧: 各行の id + updatedAt とページ情報の SHA-256
+ * どちらも本文を読まずに（一覧はキャッシュ済みの DTO から）作れるので、304 のときは DB もシリアライズも省ける。
+ */
+public final class ContentETags {
+
+    /** 単体: ブラウザは毎回再検証（304 で済む）、CDN は 60 秒まで使い回してよい */
+    public static final CacheControl DETAIL = CacheControl.maxAge(Duration.ZERO)
+            .cachePublic()
+            .mustRevalidate()
+            .sMaxAge(Duration.ofSeconds(60));
+
+    /** 一覧: 新着は多少遅れてよいので短く持たせ、期限切れ後も裏で取り直す間は古いものを返してよい */
+    public static final CacheControl LIST = CacheControl.maxAge(Duration.ofSeconds(30))
+            .cachePublic()
+            .sMaxAge(Duration.ofSeconds(60))
+            .staleWhileRevalidate(Duration.ofSeconds(120));
+
+    /** ページ用バンドル（匿名）: いいね数やコメントを含むので一覧より短く（サーバー側のキャッシュと同じ 15 秒） */
+    public static final CacheControl BUNDLE = CacheControl.maxAge(Duration.ofSeconds(15))
+            .cachePublic()
+            .sMaxAge(Duration.ofSeconds(15));
+
+    /** 本人の状態を含む応答は共有キャッシュに載せない */
+    public static final CacheControl PERSONAL = CacheControl.noCache().cachePrivate();
+
+    private ContentETags() {}
+
+    public static String of(TargetType type, Long id, LocalDateTime updatedAt) {
+        return of(type, id, updatedAt, false);
+    }
+
+    /** html=true は format=html の表現（同じ版でも Markdown 版とは別の ETag。描画設定の版も含める） */
+    public static String of(TargetType type, Long id, LocalDateTime updatedAt, boolean html) {
+        String variant = html ? "-h" + MarkdownRenderService.RENDERER_VERSION : "";
+        return "\"" + prefix(type) + id + "-" + version(updatedAt) + variant + "\"";
+    }
+
+    /** 一覧の ETag。extra にはページ番号/次カーソル/総件数など本文に出るページ情報を渡す */
+    public static <T> String ofRows(TargetType type, List<T> rows,
+                                    Function<T, Long> id, Function<T, LocalDateTime> updatedAt,
+                                    Object... extra) {
+        StringBuilder sb = new StringBuilder();
+        for (T row : rows) {
+            sb.append(id.apply(row)).append(':').append(version(updatedAt.apply(row))).append(',');
+        }
+        for (Object e : extra) {
+            sb.append('|').append(e);
+        }
+        return "\"" + prefix(type) + "l-" + hash(sb.toString()) + "\"";
+    }
+
+    /** variant には view=summary|full など、同じ行でも本文の形が変わるパラメータを渡す */
+    public static <T> String ofPage(TargetType type, Page<T> page,
+                                    Function<T, Long> id, Function<T, LocalDateTime> updatedAt,
+                                    Object variant) {
+        return ofRows(type, page.getContent(), id, updatedAt,
+                page.getNumber(), page.getSize(), page.getTotalElements(), variant);
+    }
+
+    public static <T> String ofCursorPage(TargetType type, CursorPageResponse<T> page,
+                                          Function<T, Long> id, Function<T, LocalDateTime> updatedAt,
+                                          Object variant) {
+        return ofRows(type, page.content(), id, updatedAt,
+                page.nextCursor(), page.hasNext(), page.size(), page.totalElements(), variant);
+    }
+
+    /**
+     * 単体 GET で If-None-Match が一致したときの応答（本文なし）。
+     * 200 は PrecompressedBodyService が gzip/非圧縮で出し分けるので、304 にも同じ Vary を付ける（キャッシュが表現を取り違えないように）
+     */
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(DETAIL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    private static String prefix(TargetType type) {
+        return switch (type) {
+            case ARTICLE -> "a";
+            case SYNTAX -> "s";
+            case PROCEDURE -> "p";
+        };
+    }
+
+    private static String version(LocalDateTime updatedAt) {
+        if (updatedAt == null) return "0";
+        return Long.toString(updatedAt.toEpochSecond(ZoneOffset.UTC), 36)
+                + "." + Integer.toString(updatedAt.getNano() / 1000, 36);
+    }
+
+    private static String hash(String s) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.tech.utils;
+
+import com.example.tech.repository.ReactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/** 旧 likes / like_syntaxes を reactions に写す。ON CONFLICT DO NOTHING なので何度流してもよい */
+@Slf4j
+@Component
+@Profile("migrate-reactions") // プロファイルで一度だけ起動
+@RequiredArgsConstructor
+public class ReactionBackfillRunner implements CommandLineRunner {
+    private final ReactionRepository repo;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        int articles = repo.backfillFromArticleLikes();
+        int syntaxes = repo.backfillFromSyntaxLikes();
+        log.info("reactions backfilled: articles={}, syntaxes={}", articles, syntaxes);
+    }
+}
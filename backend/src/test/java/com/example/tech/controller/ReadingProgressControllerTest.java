@@ -0,0 +1,106 @@
+package com.example.tech.controller;
+
+import com.example.tech.dto.response.ReadingProgressResponse;
+import com.example.tech.entity.ReadStatus;
+import com.example.tech.security.AuthUser;
+import com.example.tech.security.AuthUserArgumentResolver;
+import com.example.tech.service.ContentBatchService;
+import com.example.tech.service.ContentBundleService;
+import com.example.tech.service.ContentVersionService;
+import com.example.tech.service.MarkdownRenderService;
+import com.example.tech.service.PrecompressedBodyService;
+import com.example.tech.service.ProcedureSequenceService;
+import com.example.tech.service.ProcedureService;
+import com.example.tech.service.ReadingProgressService;
+import com.example.tech.service.SlugIndexService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** 進み具合のルートが /api/procedures/{id} などの詳細ルートとぶつからず、実際にこのコントローラに届くこと */
+class ReadingProgressControllerTest {
+
+    private static final AuthUser USER = new AuthUser(7L, "reader@example.com", "reader", false);
+
+    private final ReadingProgressService readingProgressService = mock(ReadingProgressService.class);
+    private final ContentVersionService contentVersionService = mock(ContentVersionService.class);
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        // 同じ /api/procedures/* の形を持つ詳細ルートも載せ、ハンドラの選択がぶつからないことを見る
+        ProcedureController procedureController = new ProcedureController(
+                mock(ProcedureService.class), contentVersionService, mock(MarkdownRenderService.class),
+                mock(SlugIndexService.class), mock(PrecompressedBodyService.class), mock(ContentBatchService.class),
+                mock(ContentBundleService.class), mock(ProcedureSequenceService.class));
+        mvc = MockMvcBuilders.standaloneSetup(new ReadingProgressController(readingProgressService), procedureController)
+                .setCustomArgumentResolvers(new AuthUserArgumentResolver())
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USER, null, List.of()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void recentListIsServedByProgressController() throws Exception {
+        when(readingProgressService.recent(7L, ReadStatus.Target.procedures, 5))
+                .thenReturn(List.of(new ReadingProgressResponse(12L, 40, "インストール", Instant.parse("2026-01-01T00:00:00Z"))));
+
+        mvc.perform(get("/api/progress/procedures").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].contentId").value(12))
+                .andExpect(jsonPath("$[0].percent").value(40));
+
+        verify(readingProgressService).recent(7L, ReadStatus.Target.procedures, 5);
+        verifyNoInteractions(contentVersionService);
+    }
+
+    @Test
+    void recentListClampsLimit() throws Exception {
+        mvc.perform(get("/api/progress/articles").param("limit", "1000"))
+                .andExpect(status().isOk());
+
+        verify(readingProgressService).recent(7L, ReadStatus.Target.articles, 100);
+    }
+
+    @Test
+    void singleProgressIsServedByProgressController() throws Exception {
+        when(readingProgressService.get(7L, ReadStatus.Target.procedures, 12L)).thenReturn(Optional.empty());
+
+        mvc.perform(get("/api/procedures/progress/12"))
+                .andExpect(status().isNoContent());
+
+        verify(readingProgressService).get(7L, ReadStatus.Target.procedures, 12L);
+        verifyNoInteractions(contentVersionService);
+    }
+
+    @Test
+    void anonymousRequestIsRejected() throws Exception {
+        SecurityContextHolder.clearContext();
+
+        mvc.perform(get("/api/progress/syntaxes"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(readingProgressService);
+    }
+}
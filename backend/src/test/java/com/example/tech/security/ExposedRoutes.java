@@ -0,0 +1,99 @@
+package com.example.tech.security;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * アプリが公開している全ルート（@RestController のマッピング）を具体的な (method, path) に展開する。
+ * パス変数はサンプル値に置き換える（{type} などは取りうる綴りを全部展開）。
+ */
+final class ExposedRoutes {
+
+    record Route(String method, String path) {}
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{([^}/]+)}");
+
+    private static final Map<String, List<String>> SAMPLES = Map.of(
+            "type", List.of("articles", "syntaxes", "procedures", "article", "syntax", "procedure"),
+            "target", List.of("articles", "syntaxes", "procedures"),
+            "category", List.of("comments", "qas", "comment", "qa")
+    );
+
+    private ExposedRoutes() {}
+
+    /** 各マッピングの宣言メソッドに加えて HEAD/OPTIONS、末尾スラッシュ付きも含める */
+    static List<Route> all() {
+        Set<Route> routes = new LinkedHashSet<>();
+        for (Route mapped : mapped()) {
+            for (String path : List.of(mapped.path(), mapped.path() + "/")) {
+                routes.add(new Route(mapped.method(), path));
+                routes.add(new Route("HEAD", path));
+                routes.add(new Route("OPTIONS", path));
+            }
+        }
+        return new ArrayList<>(routes);
+    }
+
+    /** コントローラに宣言されているとおりの (method, path) */
+    static List<Route> mapped() {
+        Set<Route> routes = new LinkedHashSet<>();
+        var scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
+        for (BeanDefinition bd : scanner.findCandidateComponents("com.example.tech")) {
+            Class<?> type = ClassUtils.resolveClassName(bd.getBeanClassName(), ExposedRoutes.class.getClassLoader());
+            RequestMapping classMapping = AnnotatedElementUtils.findMergedAnnotation(type, RequestMapping.class);
+            String[] prefixes = classMapping == null || classMapping.path().length == 0
+                    ? new String[]{""} : classMapping.path();
+
+            for (Method m : type.getDeclaredMethods()) {
+                RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(m, RequestMapping.class);
+                if (mapping == null) continue;
+                String[] paths = mapping.path().length == 0 ? new String[]{""} : mapping.path();
+                RequestMethod[] methods = mapping.method().length == 0
+                        ? new RequestMethod[]{RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE}
+                        : mapping.method();
+                for (String prefix : prefixes) {
+                    for (String path : paths) {
+                        for (String concrete : expand(join(prefix, path))) {
+                            for (RequestMethod method : methods) {
+                                routes.add(new Route(method.name(), concrete));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(routes);
+    }
+
+    private static String join(String prefix, String path) {
+        if (path.isEmpty()) return prefix.isEmpty() ? "/" : prefix;
+        if (prefix.endsWith("/") || path.startsWith("/")) return prefix + path;
+        return prefix + "/" + path;
+    }
+
+    private static List<String> expand(String template) {
+        Matcher m = VARIABLE.matcher(template);
+        if (!m.find()) return List.of(template);
+        List<String> out = new ArrayList<>();
+        for (String value : SAMPLES.getOrDefault(m.group(1), List.of("1"))) {
+            out.addAll(expand(template.substring(0, m.start()) + value + template.substring(m.end())));
+        }
+        return out;
+    }
+}
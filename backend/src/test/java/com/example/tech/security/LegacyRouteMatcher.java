@@ -0,0 +1,100 @@
+package com.example.tech.security;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * RouteTable 導入前の判定をそのまま再現したもの（比較テスト・ベンチマーク用）。
+ * - skipsTokenVerification: 旧 FirebaseTokenFilter#shouldNotFilter のパス判定部分
+ * - authorize: 旧 SecurityConfig の requestMatchers を上から順に AntPathMatcher で評価したもの
+ */
+final class LegacyRouteMatcher {
+
+    enum Decision { PERMIT, AUTHENTICATED, ADMIN }
+
+    private static final AntPathMatcher PM = new AntPathMatcher();
+
+    private static final String[] PUBLIC_GETS = {
+            "/api/articles/**",
+            "/api/syntaxes/**",
+            "/api/procedures/**",
+            "/api/procedure/**",            // RouteTable では引き継いでいない（RouteTableTest#singularProcedurePrefixIsAuthenticated）
+            "/api/*/*/*/messages",
+            "/api/*/*/*/messages/**",
+            "/api/review-scores/**",
+            "/api/review-comments/**",
+            "/api/likes/count",
+            "/api/register"
+    };
+
+    private static final String[] IDENTIFIED_GETS = {
+            "/api/articles/read",
+            "/api/articles/read/status",
+            "/api/articles/liked",
+            "/api/*/read/all",
+            "/api/*/read/status",
+            "/api/syntaxes/likes/status",
+            "/api/review-scores",
+            "/api/review-scores/my/**"
+    };
+
+    private record SecurityRule(String method, String pattern, Decision decision) {}
+
+    private static final List<SecurityRule> SECURITY_RULES = List.of(
+            new SecurityRule("OPTIONS", "/**", Decision.PERMIT),
+            new SecurityRule("HEAD", "/api/**", Decision.PERMIT),
+            new SecurityRule(null, "/api/articles/**", Decision.PERMIT),
+            new SecurityRule(null, "/api/syntaxes/**", Decision.PERMIT),
+            new SecurityRule(null, "/api/procedures/**", Decision.PERMIT),
+            new SecurityRule("GET", "/api/*/*/*/messages", Decision.PERMIT),
+            new SecurityRule("GET", "/api/*/*/*/messages/**", Decision.PERMIT),
+            new SecurityRule("GET", "/api/review-scores/**", Decision.PERMIT),
+            new SecurityRule("GET", "/api/review-comments/**", Decision.PERMIT),
+            new SecurityRule("GET", "/api/likes/count", Decision.PERMIT),
+            new SecurityRule(null, "/api/register", Decision.PERMIT),
+            new SecurityRule(null, "/api/admin/**", Decision.ADMIN),
+            new SecurityRule(null, "/api/messages/admin/**", Decision.ADMIN),
+            new SecurityRule("GET", "/api/*/read/all", Decision.AUTHENTICATED),
+            new SecurityRule("GET", "/api/*/read/status", Decision.AUTHENTICATED),
+            new SecurityRule("POST", "/api/*/*/read", Decision.AUTHENTICATED),
+            new SecurityRule("GET", "/api/likes/status", Decision.AUTHENTICATED),
+            new SecurityRule(null, "/api/**", Decision.AUTHENTICATED)
+    );
+
+    private LegacyRouteMatcher() {}
+
+    static boolean skipsTokenVerification(String method, String path) {
+        if ("OPTIONS".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method)) return true;
+        if ("GET".equalsIgnoreCase(method)) {
+            boolean isPublic = false;
+            for (String p : PUBLIC_GETS) {
+                if (PM.match(p, path)) { isPublic = true; break; }
+            }
+            if (isPublic) {
+                for (String p : IDENTIFIED_GETS) {
+                    if (PM.match(p, path)) return false;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Decision authorize(String method, String path) {
+        for (SecurityRule rule : SECURITY_RULES) {
+            if ((rule.method() == null || rule.method().equals(method)) && PM.match(rule.pattern(), path)) {
+                return rule.decision();
+            }
+        }
+        return Decision.PERMIT; // anyRequest().permitAll()
+    }
+
+    static Decision toDecision(RouteAccess access) {
+        return switch (access) {
+            case ADMIN -> Decision.ADMIN;
+            case AUTHENTICATED -> Decision.AUTHENTICATED;
+            case PUBLIC, IDENTIFIED, OPEN -> Decision.PERMIT;
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.tech.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1 リクエストあたりのルート判定コスト（旧: AntPathMatcher ループ / 新: コンパイル済みトライ）。
+ * 対象は ExposedRoutes が展開した全ルート（HEAD/OPTIONS・末尾スラッシュ含む）を順に流したもの。
+ *
+ * 実行: mvn test-compile 後に main を起動（IDE から、または test クラスパスで java 実行）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteClassificationBenchmark {
+
+    /** ExposedRoutes.all() の件数より小さくしておく（OperationsPerInvocation と揃える） */
+    private static final int ROUTES = 512;
+
+    private String[] methods;
+    private String[] paths;
+    private RouteTable routeTable;
+
+    @Setup
+    public void setUp() {
+        List<ExposedRoutes.Route> all = ExposedRoutes.all();
+        methods = new String[ROUTES];
+        paths = new String[ROUTES];
+        for (int i = 0; i < ROUTES; i++) {
+            ExposedRoutes.Route r = all.get(i % all.size());
+            methods[i] = r.method();
+            paths[i] = r.path();
+        }
+        routeTable = new RouteTable();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUTES)
+    public void legacyFilter(Blackhole bh) {
+        for (int i = 0; i < ROUTES; i++) {
+            bh.consume(LegacyRouteMatcher.skipsTokenVerification(methods[i], paths[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUTES)
+    public void compiledFilter(Blackhole bh) {
+        for (int i = 0; i < ROUTES; i++) {
+            bh.consume(routeTable.skipsTokenVerification(methods[i], paths[i]));
+        }
+    }
+
+    /** フィルタ + 認可ルールの両方（旧実装はそれぞれ別にパターン照合していた） */
+    @Benchmark
+    @OperationsPerInvocation(ROUTES)
+    public void legacyFilterAndAuthorization(Blackhole bh) {
+        for (int i = 0; i < ROUTES; i++) {
+            bh.consume(LegacyRouteMatcher.skipsTokenVerification(methods[i], paths[i]));
+            bh.consume(LegacyRouteMatcher.authorize(methods[i], paths[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUTES)
+    public void compiledFilterAndAuthorization(Blackhole bh) {
+        for (int i = 0; i < ROUTES; i++) {
+            bh.consume(routeTable.skipsTokenVerification(methods[i], paths[i]));
+            bh.consume(routeTable.classify(methods[i], paths[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteClassificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
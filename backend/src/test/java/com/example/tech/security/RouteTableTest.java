@@ -0,0 +1,201 @@
+package com.example.tech.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteTableTest {
+
+    private final RouteTable routeTable = new RouteTable();
+
+    /** RouteTable 導入後に追加したルート。旧判定との比較からは外し、ここで期待する扱いを固定する */
+    private static final Map<ExposedRoutes.Route, RouteAccess> ADDED_ROUTES = Map.ofEntries(
+            Map.entry(new ExposedRoutes.Route("GET", "/api/search"), RouteAccess.PUBLIC),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/suggest"), RouteAccess.PUBLIC),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/articles/1/bundle"), RouteAccess.IDENTIFIED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/syntaxes/1/bundle"), RouteAccess.IDENTIFIED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/procedures/1/bundle"), RouteAccess.IDENTIFIED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/procedures/likes/status"), RouteAccess.IDENTIFIED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/articles/status/bulk"), RouteAccess.IDENTIFIED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/syntaxes/status/bulk"), RouteAccess.IDENTIFIED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/procedures/status/bulk"), RouteAccess.IDENTIFIED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/progress/articles"), RouteAccess.AUTHENTICATED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/progress/syntaxes"), RouteAccess.AUTHENTICATED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/progress/procedures"), RouteAccess.AUTHENTICATED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/articles/progress/1"), RouteAccess.IDENTIFIED),
+            Map.entry(new ExposedRoutes.Route("PUT", "/api/articles/progress/1"), RouteAccess.PUBLIC),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/syntaxes/progress/1"), RouteAccess.IDENTIFIED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/procedures/progress/1"), RouteAccess.IDENTIFIED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/procedures/next-unread"), RouteAccess.IDENTIFIED),
+            Map.entry(new ExposedRoutes.Route("GET", "/api/status/completion"), RouteAccess.AUTHENTICATED),
+            Map.entry(new ExposedRoutes.Route("POST", "/api/articles/read/bulk"), RouteAccess.PUBLIC),
+            Map.entry(new ExposedRoutes.Route("POST", "/api/syntaxes/read/bulk"), RouteAccess.PUBLIC),
+            Map.entry(new ExposedRoutes.Route("POST", "/api/procedures/read/bulk"), RouteAccess.PUBLIC)
+    );
+
+    private static boolean addedAfterLegacy(ExposedRoutes.Route r) {
+        String path = r.path().length() > 1 && r.path().endsWith("/")
+                ? r.path().substring(0, r.path().length() - 1) : r.path();
+        return ADDED_ROUTES.keySet().stream().anyMatch(added -> added.path().equals(path));
+    }
+
+    @Test
+    void exposedRoutesAreDiscovered() {
+        assertThat(ExposedRoutes.mapped())
+                .contains(new ExposedRoutes.Route("GET", "/api/articles/read/status"),
+                        new ExposedRoutes.Route("POST", "/api/admin/add-article"),
+                        new ExposedRoutes.Route("GET", "/api/procedure/1/comments/messages"))
+                .hasSizeGreaterThan(100);
+    }
+
+    @Test
+    void filterSkipMatchesLegacyOnEveryExposedRoute() {
+        for (ExposedRoutes.Route r : ExposedRoutes.all()) {
+            if (addedAfterLegacy(r)) continue;
+            assertThat(routeTable.skipsTokenVerification(r.method(), r.path()))
+                    .as("%s %s", r.method(), r.path())
+                    .isEqualTo(LegacyRouteMatcher.skipsTokenVerification(r.method(), r.path()));
+        }
+    }
+
+    @Test
+    void authorizationMatchesLegacyOnEveryExposedRoute() {
+        for (ExposedRoutes.Route r : ExposedRoutes.all()) {
+            if (addedAfterLegacy(r)) continue;
+            assertThat(LegacyRouteMatcher.toDecision(routeTable.classify(r.method(), r.path())))
+                    .as("%s %s", r.method(), r.path())
+                    .isEqualTo(LegacyRouteMatcher.authorize(r.method(), r.path()));
+        }
+    }
+
+    @Test
+    void addedRoutesHaveTheirIntendedAccess() {
+        ADDED_ROUTES.forEach((route, access) -> {
+            assertThat(routeTable.classify(route.method(), route.path())).as("%s", route).isEqualTo(access);
+            assertThat(routeTable.skipsTokenVerification(route.method(), route.path()))
+                    .as("%s", route)
+                    .isEqualTo("GET".equals(route.method()) && access == RouteAccess.PUBLIC);
+        });
+    }
+
+    @Test
+    void identifiedRoutesAreVerifiedButPermitted() {
+        assertThat(routeTable.classify("GET", "/api/articles/read/status")).isEqualTo(RouteAccess.IDENTIFIED);
+        assertThat(routeTable.skipsTokenVerification("GET", "/api/articles/read/status")).isFalse();
+        assertThat(routeTable.classify("GET", "/api/articles/1")).isEqualTo(RouteAccess.PUBLIC);
+        assertThat(routeTable.skipsTokenVerification("GET", "/api/articles/1")).isTrue();
+        assertThat(routeTable.skipsTokenVerification("POST", "/api/articles/read")).isFalse();
+        assertThat(routeTable.classify("GET", "/")).isEqualTo(RouteAccess.OPEN);
+    }
+
+    /**
+     * 旧フィルタは GET /api/procedure/** の検証を飛ばしていたが、旧 SecurityConfig は同じパスに認証を求めていたので
+     * messages 以外は常に 401 だった。RouteTable は単数形のスキップを持たず、messages 以外は検証したうえで認証必須にする
+     */
+    @Test
+    void singularProcedurePrefixIsAuthenticated() {
+        assertThat(LegacyRouteMatcher.skipsTokenVerification("GET", "/api/procedure/1")).isTrue();
+        assertThat(LegacyRouteMatcher.authorize("GET", "/api/procedure/1")).isEqualTo(LegacyRouteMatcher.Decision.AUTHENTICATED);
+
+        assertThat(routeTable.classify("GET", "/api/procedure/1")).isEqualTo(RouteAccess.AUTHENTICATED);
+        assertThat(routeTable.skipsTokenVerification("GET", "/api/procedure/1")).isFalse();
+        // 単数形で公開しているのはコメント/Q&A のスレッドだけで、こちらは従来どおり公開
+        assertThat(routeTable.classify("GET", "/api/procedure/45/comment/messages")).isEqualTo(RouteAccess.PUBLIC);
+        assertThat(routeTable.skipsTokenVerification("GET", "/api/procedure/45/comment/messages")).isTrue();
+    }
+
+    /** リクエストからは MVC と同じくデコード済み・コンテキストパス抜きのパスで判定する */
+    @Test
+    void requestsAreClassifiedOnDecodedPathWithinApplication() {
+        MockHttpServletRequest encoded = request("DELETE", "", "/api/%61dmin/articles/5");
+        assertThat(routeTable.classify(encoded)).isEqualTo(RouteAccess.ADMIN);
+
+        MockHttpServletRequest encodedList = request("GET", "", "/api/%61dmin/articles");
+        assertThat(routeTable.classify(encodedList)).isEqualTo(RouteAccess.ADMIN);
+        assertThat(routeTable.skipsTokenVerification(encodedList)).isFalse();
+
+        MockHttpServletRequest underContext = request("DELETE", "/tech", "/tech/api/admin/articles/5");
+        assertThat(routeTable.classify(underContext)).isEqualTo(RouteAccess.ADMIN);
+
+        MockHttpServletRequest encodedUnderContext = request("GET", "/tech", "/tech/api/%61dmin/syntaxes");
+        assertThat(routeTable.classify(encodedUnderContext)).isEqualTo(RouteAccess.ADMIN);
+
+        MockHttpServletRequest publicUnderContext = request("GET", "/tech", "/tech/api/articles/1");
+        assertThat(routeTable.classify(publicUnderContext)).isEqualTo(RouteAccess.PUBLIC);
+        assertThat(routeTable.skipsTokenVerification(publicUnderContext)).isTrue();
+
+        MockHttpServletRequest pathParam = request("GET", "", "/api/admin;x=1/articles");
+        assertThat(routeTable.classify(pathParam)).isEqualTo(RouteAccess.ADMIN);
+    }
+
+    private static MockHttpServletRequest request(String method, String contextPath, String requestUri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, requestUri);
+        request.setContextPath(contextPath);
+        return request;
+    }
+
+    /** トライの照合が「ルールを上から AntPathMatcher で照合して最初に当たったもの」と一致すること */
+    @Test
+    void trieAgreesWithFirstMatchAntPathMatcher() {
+        AntPathMatcher pm = new AntPathMatcher();
+        List<RouteClassifier.Rule<RouteAccess>> rules = routeTable.rules();
+
+        for (ExposedRoutes.Route r : samplePaths()) {
+            RouteAccess expected = RouteAccess.OPEN;
+            for (RouteClassifier.Rule<RouteAccess> rule : rules) {
+                if ((rule.method() == null || rule.method().equals(r.method())) && pm.match(rule.pattern(), r.path())) {
+                    expected = rule.value();
+                    break;
+                }
+            }
+            assertThat(routeTable.classify(r.method(), r.path()))
+                    .as("%s %s", r.method(), r.path())
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void unsupportedPatternsAreRejected() {
+        assertThatThrownBy(() -> new RouteClassifier<>(
+                List.of(new RouteClassifier.Rule<>(null, "/api/**/read", "x")), "y"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RouteClassifier<>(
+                List.of(new RouteClassifier.Rule<>(null, "/api/read*", "x")), "y"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** ルールに出てくるセグメント + 任意値を組み合わせたパス（末尾スラッシュ・連続スラッシュ含む） */
+    private List<ExposedRoutes.Route> samplePaths() {
+        Set<String> vocabulary = new LinkedHashSet<>(List.of("1", "x", "messages", "read", "all"));
+        for (RouteClassifier.Rule<RouteAccess> rule : routeTable.rules()) {
+            for (String segment : rule.pattern().split("/")) {
+                if (!segment.isEmpty() && !segment.contains("*")) vocabulary.add(segment);
+            }
+        }
+        List<String> words = new ArrayList<>(vocabulary);
+        String[] methods = {"GET", "POST", "PUT", "DELETE", "HEAD", "OPTIONS"};
+
+        Random random = new Random(42);
+        List<ExposedRoutes.Route> out = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder path = new StringBuilder(i % 3 == 0 ? "/api" : "");
+            int depth = random.nextInt(6);
+            for (int d = 0; d < depth; d++) {
+                path.append(random.nextInt(20) == 0 ? "//" : "/").append(words.get(random.nextInt(words.size())));
+            }
+            if (path.isEmpty() || random.nextInt(4) == 0) path.append('/');
+            out.add(new ExposedRoutes.Route(methods[random.nextInt(methods.length)], path.toString()));
+        }
+        return out;
+    }
+}
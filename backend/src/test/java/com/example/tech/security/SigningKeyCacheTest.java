@@ -0,0 +1,104 @@
+package com.example.tech.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SigningKeyCacheTest {
+
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+
+    {
+        // cancel した予約をキューから外し、予約の数をそのまま数えられるようにする
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void onDemandRefreshReplacesTheScheduledRefreshInsteadOfAddingOne() throws Exception {
+        StubSource source = new StubSource();
+        SigningKeyCache cache = new SigningKeyCache(source, scheduler, Duration.ZERO);
+        cache.start();
+
+        for (int i = 0; i < 5; i++) {
+            cache.requestRefresh();
+            awaitQueuedTasks();
+        }
+
+        assertThat(source.fetches.get()).isEqualTo(6);
+        assertThat(scheduler.getQueue()).hasSize(1);
+    }
+
+    @Test
+    void unknownKidDoesNotRefetchWithinTheMinimumInterval() throws Exception {
+        StubSource source = new StubSource();
+        SigningKeyCache cache = new SigningKeyCache(source, scheduler, Duration.ofHours(1));
+        cache.start();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(cache.get("unknown")).isNull();
+        }
+        awaitQueuedTasks();
+
+        assertThat(source.fetches.get()).isEqualTo(1);
+        assertThat(cache.get("k1")).isSameAs(source.key);
+        assertThat(scheduler.getQueue()).hasSize(1);
+    }
+
+    @Test
+    void failedFetchKeepsKeysAndSchedulesOneRetry() throws Exception {
+        StubSource source = new StubSource();
+        SigningKeyCache cache = new SigningKeyCache(source, scheduler, Duration.ZERO);
+        cache.start();
+
+        source.failing = true;
+        cache.requestRefresh();
+        awaitQueuedTasks();
+
+        assertThat(source.fetches.get()).isEqualTo(2);
+        assertThat(cache.get("k1")).isSameAs(source.key);
+        assertThat(scheduler.getQueue()).hasSize(1);
+    }
+
+    /** 単一スレッドなので、後から積んだ即時タスクが終わればそれより前の即時タスクも終わっている */
+    private void awaitQueuedTasks() throws Exception {
+        scheduler.submit(() -> {}).get();
+    }
+
+    private static class StubSource implements SigningKeySource {
+        final AtomicInteger fetches = new AtomicInteger();
+        final RSAPublicKey key = newKey();
+        volatile boolean failing;
+
+        @Override
+        public SigningKeys fetch() throws IOException {
+            fetches.incrementAndGet();
+            if (failing) throw new IOException("stub failure");
+            return new SigningKeys(Map.of("k1", key), Duration.ofHours(1));
+        }
+
+        private static RSAPublicKey newKey() {
+            try {
+                KeyPairGenerator gen = KeyPairGenerator.getInstance("RSA");
+                gen.initialize(2048);
+                return (RSAPublicKey) gen.generateKeyPair().getPublic();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}